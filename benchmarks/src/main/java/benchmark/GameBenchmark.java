@@ -0,0 +1,53 @@
+package benchmark;
+
+import logic.GameEngine;
+import logic.RandomStrategy;
+import logic.Strategy;
+import model.CellState;
+import model.Difficulty;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partidas completas por segundo: colocación al azar y RandomStrategy contra RandomStrategy
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"EASY", "NORMAL", "EXPERT", "GENIUS"})
+    public Difficulty difficulty;
+
+    private GameEngine engine;
+    private SplittableRandom random;
+    private final Strategy strategy = new RandomStrategy();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new GameEngine();
+        engine.setDifficulty(difficulty);
+        random = new SplittableRandom(Matches.SEED);
+        engine.setRandom(random);
+    }
+
+    @Benchmark
+    public int fullGame() {
+        Matches.placeFleets(engine, difficulty, random);
+        int shots = 0;
+        while (engine.getWinner() < 0) {
+            var enemy = engine.getBoard(engine.getEnemySeat());
+            int cell = strategy.nextShot(enemy.getMissMask(), enemy.getHitMask(), enemy.getSunkMask(), random);
+            if (engine.shoot(cell >>> 3, cell & 7).getState() == CellState.MISS) {
+                engine.nextTurn();
+            }
+            shots++;
+        }
+        return shots;
+    }
+}
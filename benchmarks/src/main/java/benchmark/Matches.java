@@ -0,0 +1,54 @@
+package benchmark;
+
+import logic.BattleShip;
+import logic.GameEngine;
+import logic.Tournament;
+import model.Difficulty;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Partidas preparadas para los benchmarks: dos cuentas registradas y flotas al azar con semilla fija
+ */
+final class Matches {
+
+    static final long SEED = 42L;
+
+    private Matches() {
+    }
+
+    /**
+     * Inicia una partida entre dos cuentas de prueba con la dificultad indicada
+     */
+    static BattleShip start(Difficulty difficulty) {
+        BattleShip game = new BattleShip();
+        if (!game.login("bench1", "bench")) {
+            game.register("bench1", "bench");
+        }
+        if (!game.playerExists("bench2")) {
+            game.register("bench2", "bench");
+            game.login("bench1", "bench");
+        }
+        game.setDifficulty(difficulty);
+        if (!game.startMatch("bench2")) {
+            throw new IllegalStateException("No se pudo iniciar la partida de prueba");
+        }
+        return game;
+    }
+
+    /**
+     * Reinicia el motor y coloca la flota de ambos jugadores; al terminar empieza la batalla
+     */
+    static void placeFleets(GameEngine engine, Difficulty difficulty, RandomGenerator rand) {
+        // Misma flota que el torneo
+        String[] codes = Tournament.fleetCodes(difficulty);
+        int[] sizes = Tournament.fleetSizes(difficulty);
+        engine.reset();
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            for (int i = 0; i < codes.length; i++) {
+                engine.addRandomShip(seat, codes[i], sizes[i], rand);
+            }
+            engine.continueToNextTurn();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package benchmark;
+
+import logic.BattleShip;
+import logic.GameEngine;
+import model.Difficulty;
+import model.Ship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas que la interfaz hace en cada disparo: findShipAtPosition y areAllEnemyShipsSunk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+
+    @Param({"EASY", "GENIUS"})
+    public Difficulty difficulty;
+
+    private BattleShip game;
+    private ArrayList<Ship> enemyShips;
+    private int cell;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = Matches.start(difficulty);
+        GameEngine engine = game.getEngine();
+        Matches.placeFleets(engine, difficulty, new SplittableRandom(Matches.SEED));
+        enemyShips = engine.getShips(engine.getEnemySeat());
+    }
+
+    @Benchmark
+    public Ship findShipAtPosition() {
+        // Recorre todas las celdas, con y sin barco
+        cell = (cell + 1) & 63;
+        return game.findShipAtPosition(enemyShips, cell >>> 3, cell & 7);
+    }
+
+    @Benchmark
+    public boolean areAllEnemyShipsSunk() {
+        return game.areAllEnemyShipsSunk();
+    }
+}
@@ -0,0 +1,50 @@
+package benchmark;
+
+import logic.Tournament;
+import model.BitBoard;
+import model.Difficulty;
+import model.Ship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BitBoard.regenerate (lo que hace el motor después de cada HIT) con la flota de cada dificultad
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegenerateBenchmark {
+
+    @Param({"EASY", "NORMAL", "EXPERT", "GENIUS"})
+    public Difficulty difficulty;
+
+    private BitBoard board;
+    private ArrayList<Ship> fleet;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        board = new BitBoard();
+        fleet = new ArrayList<>();
+        random = new SplittableRandom(Matches.SEED);
+        String[] codes = Tournament.fleetCodes(difficulty);
+        int[] sizes = Tournament.fleetSizes(difficulty);
+        for (int i = 0; i < codes.length; i++) {
+            Ship ship = new Ship(codes[i], sizes[i]);
+            board.placeRandom(ship, random);
+            fleet.add(ship);
+        }
+    }
+
+    @Benchmark
+    public long regenerate() {
+        board.regenerate(fleet, random);
+        return board.getOccupied();
+    }
+}
@@ -0,0 +1,136 @@
+package benchmark;
+
+import logic.BattleShip;
+import logic.GameEngine;
+import model.BitBoard;
+import model.Difficulty;
+import model.Ship;
+import model.ShotResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BattleShip.shoot en cada caso: MISS, HIT (regenera), SUNK, parte ya golpeada y celda repetida.
+ *
+ * Cada disparo cambia el tablero, así que el objetivo se prepara antes de cada invocación
+ * (Level.Invocation) con una partida nueva; la preparación no entra en la medición.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShootBenchmark {
+
+    @State(Scope.Thread)
+    public static class MatchState {
+        @Param({"EASY", "NORMAL", "EXPERT", "GENIUS"})
+        public Difficulty difficulty;
+
+        BattleShip game;
+        GameEngine engine;
+        SplittableRandom random;
+        int row;
+        int col;
+
+        @Setup(Level.Trial)
+        public void start() {
+            game = Matches.start(difficulty);
+            engine = game.getEngine();
+            random = new SplittableRandom(Matches.SEED);
+            engine.setRandom(random);
+        }
+
+        /**
+         * Partida nueva; devuelve el barco más grande del enemigo
+         */
+        Ship newMatch() {
+            Matches.placeFleets(engine, difficulty, random);
+            return engine.getShips(engine.getEnemySeat()).get(0);
+        }
+
+        BitBoard enemyBoard() {
+            return engine.getBoard(engine.getEnemySeat());
+        }
+
+        void aim(int cell) {
+            row = cell >>> 3;
+            col = cell & 7;
+        }
+    }
+
+    public static class MissState extends MatchState {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            newMatch();
+            aim(Long.numberOfTrailingZeros(~enemyBoard().getOccupied()));
+        }
+    }
+
+    public static class HitState extends MatchState {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            Ship ship = newMatch();
+            aim(ship.getRow() * 8 + ship.getCol());
+        }
+    }
+
+    public static class SunkState extends MatchState {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            Ship ship = newMatch();
+            // Solo falta la primera parte
+            for (int part = 1; part < ship.getSize(); part++) {
+                ship.hitPart(part);
+            }
+            aim(ship.getRow() * 8 + ship.getCol());
+        }
+    }
+
+    public static class RepeatedHitState extends MatchState {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            Ship ship = newMatch();
+            // La parte ya tiene daño de antes de una regeneración: no se vuelve a regenerar
+            ship.hitPart(0);
+            aim(ship.getRow() * 8 + ship.getCol());
+        }
+    }
+
+    public static class RepeatedCellState extends MatchState {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            newMatch();
+            int cell = Long.numberOfTrailingZeros(~enemyBoard().getOccupied());
+            enemyBoard().markMiss(1L << cell);
+            aim(cell);
+        }
+    }
+
+    @Benchmark
+    public ShotResult miss(MissState state) {
+        return state.game.shoot(state.row, state.col);
+    }
+
+    @Benchmark
+    public ShotResult hit(HitState state) {
+        return state.game.shoot(state.row, state.col);
+    }
+
+    @Benchmark
+    public ShotResult sunk(SunkState state) {
+        return state.game.shoot(state.row, state.col);
+    }
+
+    @Benchmark
+    public ShotResult repeatedHit(RepeatedHitState state) {
+        return state.game.shoot(state.row, state.col);
+    }
+
+    @Benchmark
+    public ShotResult repeatedCell(RepeatedCellState state) {
+        return state.game.shoot(state.row, state.col);
+    }
+}
@@ -1,11 +1,190 @@
 import logic.BattleShip;
+import logic.DensityStrategy;
+import logic.Log;
+import logic.LogLevel;
+import logic.MonteCarloStrategy;
+import logic.RandomStrategy;
+import logic.Strategy;
+import logic.MatchManager;
+import logic.Tournament;
+import model.Difficulty;
+import net.BotPlayer;
+import net.GameServer;
+import net.NioServer;
+import net.Protocol;
+import replay.ReplayStore;
 import ui.MainFrame;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
 public class Main {
     public static void main(String[] args) {
+        // Modo sin interfaz: --tournament <partidas> [dificultad] [semilla] [estrategiaA] [estrategiaB]
+        // (estrategias: random, density o montecarlo)
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            runTournament(args);
+            return;
+        }
+        // Servidor de partidas: --server [puerto]
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+        // Servidor de partidas sobre selectores NIO: --nio-server [puerto] [selectores]
+        if (args.length > 0 && args[0].equals("--nio-server")) {
+            runNioServer(args);
+            return;
+        }
+        // Bots contra un servidor local: --bots <pares> [puerto] [dificultad]
+        if (args.length > 0 && args[0].equals("--bots")) {
+            runBots(args);
+            return;
+        }
+
+        openStore();
         BattleShip game = new BattleShip();
         javax.swing.SwingUtilities.invokeLater(() -> {
             new MainFrame(game).setVisible(true);
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Carga las cuentas guardadas (carpeta -Dbattleship.data, por defecto data) y las cierra al salir
+     */
+    private static void openStore() {
+        try {
+            BattleShip.openStore(dataDir());
+        } catch (IOException e) {
+            Log.error("No se pudieron cargar las cuentas guardadas: {}", e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                BattleShip.closeStore();
+            } catch (IOException e) {
+                Log.error("No se pudieron guardar las cuentas: {}", e.getMessage());
+            }
+        }, "store-close"));
+    }
+
+    /**
+     * Abre la carpeta donde se guardan los replays de las partidas del servidor (data/replays);
+     * al salir se terminan de escribir los pendientes
+     * @return null si no se pudo abrir; el servidor sigue sin guardar replays
+     */
+    private static ReplayStore openReplays() {
+        ReplayStore replays;
+        try {
+            replays = ReplayStore.open(dataDir().resolve("replays"));
+        } catch (IOException e) {
+            Log.error("No se pudo abrir la carpeta de replays: {}", e.getMessage());
+            return null;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(replays::close, "replays-close"));
+        return replays;
+    }
+
+    private static Path dataDir() {
+        return Path.of(System.getProperty("battleship.data", "data"));
+    }
+
+    private static void runTournament(String[] args) {
+        int matches = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Difficulty difficulty = args.length > 2 ? Difficulty.valueOf(args[2].toUpperCase()) : Difficulty.NORMAL;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        // En el torneo solo se muestran advertencias, salvo que se pida otro nivel con -Dbattleship.log
+        if (System.getProperty("battleship.log") == null) {
+            Log.setLevel(LogLevel.WARN);
+        }
+
+        Supplier<Strategy> strategyA = strategy(args.length > 4 ? args[4] : "random", difficulty);
+        Supplier<Strategy> strategyB = strategy(args.length > 5 ? args[5] : "random", difficulty);
+        Tournament tournament = new Tournament(strategyA, strategyB, difficulty);
+        long start = System.nanoTime();
+        Tournament.Result result = tournament.run(matches, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(result);
+        System.out.printf("%.0f partidas/s%n", matches / seconds);
+    }
+
+    private static Supplier<Strategy> strategy(String name, Difficulty difficulty) {
+        if (name.equalsIgnoreCase("density")) {
+            int[] fleet = Tournament.fleetSizes(difficulty);
+            return () -> new DensityStrategy(fleet);
+        }
+        if (name.equalsIgnoreCase("montecarlo")) {
+            int[] fleet = Tournament.fleetSizes(difficulty);
+            return () -> new MonteCarloStrategy(fleet);
+        }
+        return RandomStrategy::new;
+    }
+
+    private static void runServer(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.DEFAULT_PORT;
+        openStore();
+        try (ReplayStore replays = openReplays();
+             GameServer server = new GameServer(port, new MatchManager(replays))) {
+            server.start();
+            server.join();
+        } catch (IOException e) {
+            Log.error("No se pudo iniciar el servidor: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void runNioServer(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.DEFAULT_PORT;
+        openStore();
+        try (ReplayStore replays = openReplays();
+             NioServer server = args.length > 2
+                     ? new NioServer(port, new MatchManager(replays), Integer.parseInt(args[2]), NioServer.DEFAULT_MAX_CONNECTIONS)
+                     : new NioServer(port, new MatchManager(replays))) {
+            server.start();
+            server.join();
+        } catch (IOException e) {
+            Log.error("No se pudo iniciar el servidor: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void runBots(String[] args) {
+        int pairs = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : Protocol.DEFAULT_PORT;
+        Difficulty difficulty = args.length > 3 ? Difficulty.valueOf(args[3].toUpperCase()) : Difficulty.NORMAL;
+
+        List<BotPlayer> bots = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < pairs; i++) {
+            BotPlayer waiting = new BotPlayer(port, "bot-b" + i, null, difficulty, 2L * i + 1);
+            BotPlayer challenger = new BotPlayer(port, "bot-a" + i, "bot-b" + i, difficulty, 2L * i);
+            bots.add(waiting);
+            bots.add(challenger);
+            threads.add(Thread.ofVirtual().start(waiting));
+            threads.add(Thread.ofVirtual().start(challenger));
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int finished = 0;
+        long shots = 0;
+        for (BotPlayer bot : bots) {
+            if (bot.isFinished() && bot.hasWon()) finished++;
+            shots += bot.getShots();
+        }
+        System.out.printf("Partidas terminadas: %d de %d | disparos: %d | %.2f s%n", finished, pairs, shots, seconds);
+    }
+}
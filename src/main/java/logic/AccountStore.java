@@ -0,0 +1,192 @@
+package logic;
+
+import model.Player;
+import model.PlayerListener;
+import store.JournalHandler;
+import store.PlayerStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cuentas de jugadores: el registro por username, el ranking y, si se abrió, la carpeta de datos
+ * (snapshot + journal).
+ *
+ * Todos los cambios de cuentas pasan por aquí (o por Player.addPoints / addGameToHistory, que
+ * avisan a esta clase) para que el índice, el ranking y lo guardado en disco no se desincronicen.
+ * Sin open() todo queda solo en memoria, como en los benchmarks o el torneo.
+ *
+ * Los eventos de un jugador se escriben en el journal con el monitor del jugador tomado, el mismo
+ * que toman addPoints y addGameToHistory al avisar. Así, un renombre (cambio en el registro más su
+ * evento) no se intercala con los puntos o partidas del mismo jugador: el journal nunca tiene un
+ * evento con el nombre nuevo antes del RENAME, que al reproducirse se perdería.
+ */
+public class AccountStore implements PlayerListener {
+
+    private final PlayerRegistry registry = new PlayerRegistry();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private volatile PlayerStore store;
+
+    /**
+     * Carga el último snapshot y el journal posterior para reconstruir las cuentas, empieza a
+     * registrar los cambios y a compactar en segundo plano
+     */
+    public synchronized void open(Path dataDir) throws IOException {
+        if (store != null) return;
+        // Durante la carga store sigue en null, así que los eventos no se vuelven a escribir
+        PlayerStore opened = PlayerStore.open(dataDir, new Replay());
+        opened.startCompaction();
+        store = opened;
+    }
+
+    /**
+     * Espera a que los cambios queden en disco y cierra la carpeta de datos
+     */
+    public synchronized void close() throws IOException {
+        PlayerStore current = store;
+        store = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public PlayerStore getStore() {
+        return store;
+    }
+
+    // ---- Consultas ----
+
+    public Player find(String username) {
+        return registry.find(username);
+    }
+
+    public Collection<Player> all() {
+        return registry.all();
+    }
+
+    public int size() {
+        return registry.size();
+    }
+
+    public List<Player> top(int k) {
+        return leaderboard.top(k);
+    }
+
+    public int rankOf(Player player) {
+        return leaderboard.rankOf(player);
+    }
+
+    // ---- Cambios ----
+
+    /**
+     * Agrega una cuenta nueva; false si el username ya está en uso
+     */
+    public boolean register(Player player) {
+        synchronized (player) {
+            if (!registry.add(player)) return false;
+            leaderboard.add(player);
+            player.setListener(this);
+            PlayerStore current = store;
+            if (current != null) {
+                current.registered(player.getUsername(), player.getPassword());
+            }
+            return true;
+        }
+    }
+
+    public boolean rename(Player player, String newUsername) {
+        synchronized (player) {
+            String oldUsername = player.getUsername();
+            if (!registry.rename(player, newUsername)) return false;
+            PlayerStore current = store;
+            if (current != null && !oldUsername.equals(newUsername)) {
+                current.renamed(oldUsername, newUsername);
+            }
+            return true;
+        }
+    }
+
+    public void changePassword(Player player, String newPassword) {
+        synchronized (player) {
+            player.setPassword(newPassword);
+            PlayerStore current = store;
+            if (current != null) {
+                current.passwordChanged(player.getUsername(), newPassword);
+            }
+        }
+    }
+
+    public boolean remove(Player player) {
+        synchronized (player) {
+            if (!registry.remove(player)) return false;
+            leaderboard.remove(player);
+            player.setListener(null);
+            PlayerStore current = store;
+            if (current != null) {
+                current.deleted(player.getUsername());
+            }
+            return true;
+        }
+    }
+
+    // Los dos avisos llegan con el monitor del jugador tomado (ver Player)
+
+    @Override
+    public void pointsChanged(Player player, int oldPoints) {
+        leaderboard.pointsChanged(player);
+        PlayerStore current = store;
+        if (current != null) {
+            current.pointsChanged(player.getUsername(), player.getPoints());
+        }
+    }
+
+    @Override
+    public void gameAdded(Player player, String gameResult) {
+        PlayerStore current = store;
+        if (current != null) {
+            current.gameAdded(player.getUsername(), gameResult);
+        }
+    }
+
+    /**
+     * Aplica los eventos del journal con las mismas operaciones que usa el juego
+     */
+    private class Replay implements JournalHandler {
+        @Override
+        public void registered(String username, String password) {
+            register(new Player(username, password));
+        }
+
+        @Override
+        public void renamed(String oldUsername, String newUsername) {
+            Player player = registry.find(oldUsername);
+            if (player != null) rename(player, newUsername);
+        }
+
+        @Override
+        public void passwordChanged(String username, String password) {
+            Player player = registry.find(username);
+            if (player != null) changePassword(player, password);
+        }
+
+        @Override
+        public void deleted(String username) {
+            Player player = registry.find(username);
+            if (player != null) remove(player);
+        }
+
+        @Override
+        public void pointsChanged(String username, int points) {
+            Player player = registry.find(username);
+            if (player != null) player.addPoints(points - player.getPoints());
+        }
+
+        @Override
+        public void gameAdded(String username, String gameResult) {
+            Player player = registry.find(username);
+            if (player != null) player.addGameToHistory(gameResult);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package logic;
 
 import model.*;
+import replay.ReplayRecorder;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class BattleShip {
-    private static ArrayList<Player> players = new ArrayList<>();
+    // Cuentas: registro por username, ranking y datos en disco (si se abrió con openStore)
+    private static final AccountStore accounts = new AccountStore();
     private Player currentUser;
 
     private Player player1;
@@ -13,17 +20,33 @@ public class BattleShip {
 
     private Difficulty difficulty = Difficulty.NORMAL; // Por defecto NORMAL según instrucciones
     private Mode gameMode = Mode.TUTORIAL; // Modo tutorial por defecto según instrucciones
-    private Player currentTurn;
-    private ArrayList<Ship> shipsP1;
-    private ArrayList<Ship> shipsP2;
-    private boolean placementPhase = true;
-    private boolean player1Ready = false;
-    private boolean player2Ready = false;
-    private boolean lastShotRegenerated = false; // Indica si el último disparo regeneró el tablero
-    private Ship lastHitShip = null; // Barco que fue golpeado en el último disparo
-    private boolean lastShipWasSunk = false; // Indica si el último barco golpeado se hundió
+    // Partida actual: las reglas viven en el motor, aquí solo se asocian los asientos a las cuentas
+    private GameEngine engine;
+    // Graba cada batalla en formato replay; conserva la última hasta que empieza la siguiente
+    private final ReplayRecorder recorder = new ReplayRecorder();
 
 
+    /**
+     * Cuentas compartidas por todas las instancias (y por MatchManager)
+     */
+    public static AccountStore getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * Carga las cuentas guardadas en la carpeta indicada y empieza a registrar cada cambio
+     */
+    public static void openStore(Path dataDir) throws IOException {
+        accounts.open(dataDir);
+    }
+
+    /**
+     * Espera a que los cambios de cuentas queden en disco y cierra el journal
+     */
+    public static void closeStore() throws IOException {
+        accounts.close();
+    }
+
     public boolean login(String username, String password) {
         if (username == null || username.trim().isEmpty()) {
             return false;
@@ -66,7 +89,9 @@ public class BattleShip {
         }
         
         Player newPlayer = new Player(username.trim(), password.trim());
-        players.add(newPlayer);
+        if (!accounts.register(newPlayer)) {
+            return false; // Otro registro tomó el username al mismo tiempo
+        }
         currentUser = newPlayer;
         return true;
     }
@@ -77,10 +102,7 @@ public class BattleShip {
     }
 
     private Player findPlayer(String username) {
-        for (Player p : players) {
-            if (p.getUsername().equals(username)) return p;
-        }
-        return null;
+        return accounts.find(username);
     }
 
     public Difficulty getDifficulty() {
@@ -89,6 +111,31 @@ public class BattleShip {
 
     public void setDifficulty(Difficulty difficulty) {
         this.difficulty = difficulty;
+        if (engine != null) {
+            engine.setDifficulty(difficulty);
+        }
+    }
+
+    /**
+     * Motor de la partida actual (null si no hay partida)
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    private static String nameOf(Player player) {
+        return player != null ? player.getUsername() : "null";
+    }
+
+    private Player seatPlayer(int seat) {
+        return seat == GameEngine.PLAYER_ONE ? player1 : player2;
+    }
+
+    /**
+     * Jugador del turno actual en la partida (null si no hay partida)
+     */
+    private Player currentTurn() {
+        return engine != null ? seatPlayer(engine.getCurrentTurn()) : null;
     }
 
     public Mode getMode() {
@@ -99,159 +146,25 @@ public class BattleShip {
         this.gameMode = mode;
     }
 
-    public CellState shoot(int row, int col) {
-        if (placementPhase) {
-            System.out.println("No puedes disparar durante la fase de colocación.");
+    public ShotResult shoot(int row, int col) {
+        if (engine == null) {
+            Log.warn("No hay una partida en curso.");
             return null;
         }
-        
-        Player enemy = getEnemyPlayer();
-        CellState currentView = enemy.getEnemyView()[row][col];
-
-        if (currentView != CellState.WATER && currentView != CellState.SHIP) {
-            System.out.println("Celda (" + row + "," + col + ") ya fue disparada.");
-            return currentView;
-        }
-
-        Ship[][] enemyBoard = enemy.getBoard();
-        Ship shipAtPosition = enemyBoard[row][col];
-
-        if (shipAtPosition == null) {
-            enemy.setEnemyViewCell(row, col, CellState.MISS);
-            System.out.println("Disparo en (" + row + "," + col + ") FALLASTE!");
-            lastShotRegenerated = false; // No se regenera en un MISS
-            lastHitShip = null; // No hay barco en un MISS
-            lastShipWasSunk = false;
-            return CellState.MISS;
-        }
-
-        // Calcular qué parte del barco fue golpeada
-        int shipRow = shipAtPosition.getRow();
-        int shipCol = shipAtPosition.getCol();
-        boolean vertical = shipAtPosition.isVertical();
-        int partIndex;
-        
-        if (vertical) {
-            partIndex = row - shipRow;
-        } else {
-            partIndex = col - shipCol;
-        }
-        
-        // Verificar si esta parte ya fue golpeada antes
-        if (shipAtPosition.isPartHit(partIndex)) {
-            System.out.println("Disparo en (" + row + "," + col + ") - Esta parte del barco " + shipAtPosition.getCode() + " ya fue golpeada antes. No se regenera el tablero.");
-            // Marcar como HIT (ya está golpeado) pero NO regenerar
-            enemy.setEnemyViewCell(row, col, CellState.HIT);
-            lastShotRegenerated = false; // No se regeneró porque ya estaba golpeado
-            lastHitShip = shipAtPosition; // Guardar el barco para mostrar el mensaje
-            lastShipWasSunk = shipAtPosition.isSunk(); // Verificar si ya estaba hundido
-            // No contar como nuevo hit, no regenerar tablero
-            return CellState.HIT;
-        }
-
-        // Marcar HIT temporalmente (se limpiará después de regenerar)
-        enemy.setEnemyViewCell(row, col, CellState.HIT);
-        System.out.println("Disparo en (" + row + "," + col + ") ¡HIT en parte " + partIndex + " del barco " + shipAtPosition.getCode() + "!");
-        
-        // Guardar el barco golpeado antes de regenerar
-        lastHitShip = shipAtPosition;
-        
-        // Marcar esta parte específica como golpeada
-        boolean newHit = shipAtPosition.hitPart(partIndex);
-        if (!newHit) {
-            System.out.println("ADVERTENCIA: La parte ya estaba golpeada, pero se intentó golpear de nuevo.");
-        }
-        
-        boolean wasSunk = shipAtPosition.isSunk();
-        lastShipWasSunk = wasSunk;
-        
-        if (wasSunk) {
-            System.out.println("Barco hundido: " + shipAtPosition.getCode());
-            for (int i = 0; i < shipAtPosition.getSize(); i++) {
-                int r = shipAtPosition.getRow() + (shipAtPosition.isVertical() ? i : 0);
-                int c = shipAtPosition.getCol() + (shipAtPosition.isVertical() ? 0 : i);
-                enemy.setEnemyViewCell(r, c, CellState.SUNK);
-            }
-        }
-        
-        // Regenerar tablero después de HIT (Battleship Dinámico)
-        // Esto limpiará el HIT temporal y reposicionará los barcos
-        regenerateEnemyBoardAfterHit(enemy);
-        lastShotRegenerated = true; // Se regeneró porque fue un hit nuevo
-        
-        // Verificar si el juego terminó (todos los barcos del enemigo hundidos)
-        if (areAllEnemyShipsSunk()) {
-            System.out.println("¡" + currentTurn.getUsername() + " ha ganado! Todos los barcos enemigos hundidos.");
-            return CellState.SUNK; // Retornar SUNK para indicar que el juego terminó
-        }
-        
-        if (wasSunk) {
-            return CellState.SUNK;
-        }
-        return CellState.HIT;
-    }
-    
-    /**
-     * Regenera el tablero del enemigo después de un HIT, preservando el daño persistente.
-     * Los barcos se reposicionan aleatoriamente, pero mantienen sus hits.
-     * Solo se preservan los SUNK (barcos hundidos). Los MISS se regeneran porque los barcos cambian de posición.
-     */
-    private void regenerateEnemyBoardAfterHit(Player enemy) {
-        // Obtener lista de barcos del enemigo
-        ArrayList<Ship> enemyShips = (currentTurn == player1) ? shipsP2 : shipsP1;
-        
-        // Guardar solo los SUNK (barcos hundidos) - estos NO se regeneran
-        CellState[][] savedEnemyView = new CellState[8][8];
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (enemy.getEnemyViewCell(i, j) == CellState.SUNK) {
-                    savedEnemyView[i][j] = CellState.SUNK;
-                }
-            }
-        }
-        
-        // Limpiar TODO el enemyView (incluyendo MISS y HIT)
-        // Los MISS se regeneran porque los barcos cambian de posición
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                enemy.setEnemyViewCell(i, j, CellState.WATER);
-            }
-        }
-        
-        // Restaurar solo los SUNK (barcos hundidos)
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (savedEnemyView[i][j] == CellState.SUNK) {
-                    enemy.setEnemyViewCell(i, j, CellState.SUNK);
-                }
-            }
-        }
-        
-        // Regenerar el tablero físico (esto reposiciona los barcos que no están hundidos)
-        // Los barcos mantienen sus hits (daño persistente) pero cambian de posición
-        enemy.regenerateBoard(enemyShips);
-        
-        // IMPORTANTE: NO marcar las casillas HIT después de regenerar
-        // Esto revelaría la posición de los barcos. Solo mantener:
-        // - SUNK: barcos hundidos (ya preservados arriba)
-        // Los MISS se regeneran (vuelven a WATER) porque los barcos ya no están en esas posiciones
-        // Los barcos mantienen sus hits (daño persistente) pero NO se muestran en el enemyView
-        // El jugador solo verá los SUNK, los MISS anteriores desaparecen
-        
-        System.out.println("Tablero regenerado después de HIT. Daño persistente aplicado (oculto al jugador).");
-        System.out.println("MISS regenerados (limpiados). Solo SUNK preservados.");
+        return engine.shoot(row, col);
     }
 
     public void nextTurn(){
-        currentTurn = (currentTurn == player1) ? player2 : player1;
         // NO cambiar currentUser aquí - currentUser es la sesión del usuario logueado
         // currentTurn es solo para el turno del juego
-        System.out.println("Turno de: " + currentTurn.getUsername());
+        if (engine != null) {
+            engine.nextTurn();
+        }
     }
 
 
     private Player getEnemyPlayer() {
-        return (currentTurn == player1) ? player2 : player1;
+        return engine != null ? seatPlayer(engine.getEnemySeat()) : null;
     }
     
     /**
@@ -265,24 +178,22 @@ public class BattleShip {
      * Obtiene los barcos del enemigo para mostrar en modo tutorial
      */
     public Ship[][] getEnemyShipsBoard() {
-        Player enemy = getEnemyPlayer();
-        return enemy != null ? enemy.getBoard() : null;
+        return engine != null ? engine.getBoard(engine.getEnemySeat()).getGridView() : null;
     }
     
     /**
      * Obtiene la lista de barcos del enemigo
      */
     public ArrayList<Ship> getEnemyShipsList() {
-        return (currentTurn == player1) ? shipsP2 : shipsP1;
+        return engine != null ? engine.getShips(engine.getEnemySeat()) : null;
     }
     
     /**
      * Obtiene la lista de barcos del jugador actual (currentTurn)
      */
     public ArrayList<Ship> getCurrentTurnShips() {
-        if (currentTurn == null) return new ArrayList<>();
-        ArrayList<Ship> ships = (currentTurn == player1) ? shipsP1 : shipsP2;
-        return ships != null ? ships : new ArrayList<>();
+        if (engine == null) return new ArrayList<>();
+        return engine.getShips(engine.getCurrentTurn());
     }
     
     /**
@@ -293,27 +204,6 @@ public class BattleShip {
         return ships != null ? ships.size() : 0;
     }
     
-    /**
-     * Indica si el último disparo regeneró el tablero
-     */
-    public boolean wasLastShotRegenerated() {
-        return lastShotRegenerated;
-    }
-
-    /**
-     * Obtiene el barco que fue golpeado en el último disparo
-     */
-    public Ship getLastHitShip() {
-        return lastHitShip;
-    }
-
-    /**
-     * Indica si el último barco golpeado se hundió
-     */
-    public boolean wasLastShipSunk() {
-        return lastShipWasSunk;
-    }
-
     /**
      * Convierte el código del barco a su nombre completo
      */
@@ -330,17 +220,26 @@ public class BattleShip {
 
     public CellState[][] getEnemyBoard() {
         Player enemy = getEnemyPlayer();
-        System.out.println("DEBUG getEnemyBoard: currentTurn=" + (currentTurn != null ? currentTurn.getUsername() : "null"));
-        System.out.println("DEBUG getEnemyBoard: enemy=" + (enemy != null ? enemy.getUsername() : "null"));
-        return enemy != null ? enemy.getEnemyView() : null;
+        Player currentTurn = currentTurn();
+        Log.debug("getEnemyBoard: currentTurn={}", nameOf(currentTurn));
+        Log.debug("getEnemyBoard: enemy={}", nameOf(enemy));
+        return engine != null ? engine.getEnemyView() : null;
+    }
+
+    /**
+     * Cambios en el tablero enemigo desde la última vez (para actualizar solo esas celdas)
+     */
+    public BoardDelta takeEnemyDelta() {
+        return engine != null ? engine.takeEnemyDelta() : BoardDelta.NONE;
     }
 
     public String getCurrentTurnUsername() {
+        Player currentTurn = currentTurn();
         return currentTurn != null ? currentTurn.getUsername() : "";
     }
 
     public String getNextTurnUsername() {
-        Player nextTurn = (currentTurn == player1) ? player2 : player1;
+        Player nextTurn = getEnemyPlayer();
         return nextTurn != null ? nextTurn.getUsername() : "";
     }
     public Player getCurrentUser() {
@@ -348,175 +247,145 @@ public class BattleShip {
     }
     
     /**
-     * Obtiene todos los jugadores registrados (para ranking)
+     * Todos los jugadores registrados (vista de solo lectura, no una copia)
+     */
+    public Collection<Player> getAllPlayers() {
+        return accounts.all();
+    }
+
+    public int getPlayerCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Los primeros k jugadores del ranking (más puntos primero)
      */
-    public ArrayList<Player> getAllPlayers() {
-        return new ArrayList<>(players);
+    public List<Player> getTopPlayers(int k) {
+        return accounts.top(k);
+    }
+
+    /**
+     * Posición del jugador en el ranking (1 = primero), o -1 si no está registrado
+     */
+    public int getRank(Player player) {
+        return accounts.rankOf(player);
     }
 
     public boolean isMyTurn() {
-        return currentTurn == currentUser;
+        return currentTurn() == currentUser;
     }
 
     public boolean isPlacementPhase() {
-        return placementPhase;
+        return engine == null || engine.isPlacementPhase();
     }
 
     public boolean areBothPlayersReady() {
-        return player1Ready && player2Ready;
+        return engine != null && engine.areBothPlayersReady();
     }
 
     public void setPlayerReady(boolean ready) {
-        System.out.println("DEBUG setPlayerReady: currentTurn=" + (currentTurn != null ? currentTurn.getUsername() : "null"));
-        System.out.println("DEBUG setPlayerReady: player1=" + (player1 != null ? player1.getUsername() : "null"));
-        System.out.println("DEBUG setPlayerReady: player2=" + (player2 != null ? player2.getUsername() : "null"));
+        Player currentTurn = currentTurn();
+        Log.debug("setPlayerReady: currentTurn={}", nameOf(currentTurn));
+        Log.debug("setPlayerReady: player1={}", nameOf(player1));
+        Log.debug("setPlayerReady: player2={}", nameOf(player2));
         
-        if (currentTurn == player1) {
-            player1Ready = ready;
-            System.out.println("DEBUG setPlayerReady: Marcando player1 como ready=" + ready);
-        } else if (currentTurn == player2) {
-            player2Ready = ready;
-            System.out.println("DEBUG setPlayerReady: Marcando player2 como ready=" + ready);
-        } else {
-            System.out.println("DEBUG setPlayerReady: currentTurn no coincide con player1 ni player2!");
+        if (engine == null) {
+            Log.warn("setPlayerReady: currentTurn no coincide con player1 ni player2!");
+            return;
         }
         
-        System.out.println("DEBUG setPlayerReady: player1Ready=" + player1Ready + ", player2Ready=" + player2Ready);
-        
-        if (player1Ready && player2Ready) {
-            placementPhase = false;
-            currentTurn = player1;
-            System.out.println("Fase de colocación terminada. Comienza la batalla!");
-            System.out.println("Turno de: " + currentTurn.getUsername());
-        }
+        engine.setPlayerReady(ready);
+        Log.debug("setPlayerReady: Marcando {} como ready={}", currentTurn == player1 ? "player1" : "player2", ready);
     }
 
     /**
      * Verifica si todos los barcos del enemigo están hundidos
      */
     public boolean areAllEnemyShipsSunk() {
-        if (placementPhase) {
-            return false;
-        }
-        
-        ArrayList<Ship> enemyShips = (currentTurn == player1) ? shipsP2 : shipsP1;
-        
-        for (Ship ship : enemyShips) {
-            if (ship != null && !ship.isSunk()) {
-                return false;
-            }
-        }
-        return true;
+        return engine != null && engine.areAllEnemyShipsSunk();
     }
     
     /**
      * Obtiene el ganador del juego (el jugador que hundió todos los barcos del enemigo)
      */
     public Player getWinner() {
-        if (placementPhase) {
+        if (engine == null) {
             return null;
         }
-        
-        // Si todos los barcos del enemigo están hundidos, el jugador actual es el ganador
-        if (areAllEnemyShipsSunk()) {
-            return currentTurn;
-        }
-        
-        return null;
+        int winner = engine.getWinner();
+        return winner >= 0 ? seatPlayer(winner) : null;
     }
 
     public boolean areAllShipsPlaced() {
         // Usar currentTurn para la lógica del juego, no currentUser (sesión)
-        if (currentTurn == null) {
-            System.out.println("DEBUG areAllShipsPlaced: currentTurn es null!");
+        if (engine == null) {
+            Log.warn("areAllShipsPlaced: currentTurn es null!");
             return false;
         }
         
-        // Contar barcos colocados según la lista de barcos, no las celdas del tablero
-        ArrayList<Ship> ships = (currentTurn == player1) ? shipsP1 : shipsP2;
-        int shipsPlaced = ships != null ? ships.size() : 0;
-        
-        // Obtener el número requerido según la dificultad
-        int requiredShips = difficulty != null ? difficulty.getShipsAllowed() : 4; // Por defecto NORMAL
-        
-        System.out.println("DEBUG areAllShipsPlaced: shipsPlaced=" + shipsPlaced + ", requiredShips=" + requiredShips + ", difficulty=" + (difficulty != null ? difficulty.name() : "null"));
+        Log.debug("areAllShipsPlaced: shipsPlaced={}, requiredShips={}, difficulty={}", getCurrentTurnShipsCount(), difficulty != null ? difficulty.getShipsAllowed() : 4, difficulty);
         
-        return shipsPlaced >= requiredShips;
+        return engine.areAllShipsPlaced();
     }
 
     public Player surrender() {
-        System.out.println("=== INICIO SURRENDER ===");
-        System.out.println("currentUser (sesión)=" + (currentUser != null ? currentUser.getUsername() : "null"));
-        System.out.println("player1=" + (player1 != null ? player1.getUsername() : "null"));
-        System.out.println("player2=" + (player2 != null ? player2.getUsername() : "null"));
-        System.out.println("currentTurn=" + (currentTurn != null ? currentTurn.getUsername() : "null"));
+        Log.debug("=== INICIO SURRENDER ===");
+        Log.debug("currentUser (sesión)={}", nameOf(currentUser));
+        Log.debug("player1={}", nameOf(player1));
+        Log.debug("player2={}", nameOf(player2));
+        Player currentTurn = currentTurn();
+        Log.debug("currentTurn={}", nameOf(currentTurn));
         
         // Usar currentTurn para determinar quién se rinde (no currentUser que es la sesión)
         if (currentTurn == null) {
-            System.out.println("ERROR: currentTurn es null, no se puede rendir");
+            Log.error("currentTurn es null, no se puede rendir");
             return null;
         }
         
-        System.out.println(currentTurn.getUsername() + " se ha rendido.");
+        Log.info("{} se ha rendido.", currentTurn.getUsername());
         Player loser = currentTurn;
         
         // Determinar el ganador basándose en quién es el oponente del currentTurn
         Player winner = getEnemyPlayer();
-        System.out.println("DEBUG: currentTurn es " + (currentTurn == player1 ? "player1" : "player2") + ", ganador es " + (winner == player1 ? "player1" : "player2"));
+        Log.debug("currentTurn es {}, ganador es {}", currentTurn == player1 ? "player1" : "player2", winner == player1 ? "player1" : "player2");
         
         // Verificar que winner y loser sean diferentes (no null)
         if (winner == null || loser == null) {
-            System.out.println("ERROR: winner o loser es null en surrender()");
-            System.out.println("DEBUG: winner=" + (winner != null ? winner.getUsername() : "null"));
-            System.out.println("DEBUG: loser=" + (loser != null ? loser.getUsername() : "null"));
+            Log.error("winner o loser es null en surrender()");
+            Log.debug("winner={}", nameOf(winner));
+            Log.debug("loser={}", nameOf(loser));
             return winner;
         }
         
         if (winner == loser) {
-            System.out.println("ERROR: winner y loser son el mismo jugador!");
-            System.out.println("DEBUG: winner=" + winner.getUsername());
-            System.out.println("DEBUG: loser=" + loser.getUsername());
+            Log.error("winner y loser son el mismo jugador!");
+            Log.debug("winner={}", winner.getUsername());
+            Log.debug("loser={}", loser.getUsername());
             return winner;
         }
         
         String gameResult = model.GameLog.retiro(loser.getUsername(), winner.getUsername());
-        System.out.println("DEBUG: gameResult=" + gameResult);
+        Log.debug("gameResult={}", gameResult);
         
-        System.out.println("DEBUG: Guardando historial para winner: " + winner.getUsername());
+        Log.debug("Guardando historial para winner: {}", winner.getUsername());
         winner.addGameToHistory(gameResult);
-        System.out.println("DEBUG: Guardando historial para loser: " + loser.getUsername());
+        Log.debug("Guardando historial para loser: {}", loser.getUsername());
         loser.addGameToHistory(gameResult);
         
-        System.out.println("DEBUG: Puntos de winner antes: " + winner.getPoints());
+        Log.debug("Puntos de winner antes: {}", winner.getPoints());
         // El ganador recibe 3 puntos según las especificaciones (no 10)
         winner.addPoints(3);
-        System.out.println("DEBUG: Puntos de winner después: " + winner.getPoints());
+        Log.debug("Puntos de winner después: {}", winner.getPoints());
         
-        System.out.println("DEBUG surrender: " + loser.getUsername() + " se rindió, ganador: " + winner.getUsername());
-        System.out.println("=== FIN SURRENDER ===");
+        Log.info("surrender: {} se rindió, ganador: {}", loser.getUsername(), winner.getUsername());
+        Log.debug("=== FIN SURRENDER ===");
         
         return winner;
     }
 
     public void continueToNextTurn() {
-        if (placementPhase) {
-            if (areAllShipsPlaced()) {
-                boolean bothReadyBefore = player1Ready && player2Ready;
-                setPlayerReady(true);
-                boolean bothReadyAfter = player1Ready && player2Ready;
-                
-                if (bothReadyAfter && !bothReadyBefore) {
-                    return;
-                }
-                
-                if (placementPhase && !bothReadyAfter) {
-                    nextTurn();
-                }
-            } else {
-                System.out.println("Debes colocar todos los barcos antes de continuar.");
-            }
-        } else {
-            nextTurn();
+        if (engine != null) {
+            engine.continueToNextTurn();
         }
     }
 
@@ -526,33 +395,33 @@ public class BattleShip {
      * @return true si la partida se inició correctamente, false si hubo un error
      */
     public boolean startMatch(String enemyUsername) {
-        System.out.println("=== INICIO startMatch ===");
-        System.out.println("currentUser=" + (currentUser != null ? currentUser.getUsername() : "null"));
-        System.out.println("enemyUsername=" + enemyUsername);
+        Log.debug("=== INICIO startMatch ===");
+        Log.debug("currentUser={}", nameOf(currentUser));
+        Log.debug("enemyUsername={}", enemyUsername);
         
         // Validar que haya un usuario logueado
         if (currentUser == null) {
-            System.out.println("ERROR: No hay usuario logueado");
+            Log.error("No hay usuario logueado");
             return false;
         }
         
         // Validar que se proporcionó un username
         if (enemyUsername == null || enemyUsername.trim().isEmpty()) {
-            System.out.println("ERROR: Username del enemigo vacío");
+            Log.error("Username del enemigo vacío");
             return false;
         }
         
         Player enemy = findPlayer(enemyUsername.trim());
         if (enemy == null) {
-            System.out.println("El jugador enemigo no existe");
+            Log.warn("El jugador enemigo no existe");
             return false;
         }
         
-        System.out.println("enemy encontrado=" + enemy.getUsername());
+        Log.debug("enemy encontrado={}", enemy.getUsername());
         
         // Validar que el enemigo no sea el mismo que el jugador actual
         if (enemy == currentUser) {
-            System.out.println("ERROR: No puedes jugar contra ti mismo!");
+            Log.error("No puedes jugar contra ti mismo!");
             return false;
         }
 
@@ -563,84 +432,51 @@ public class BattleShip {
 
         this.player1 = currentUser;
         this.player2 = enemy;
-        this.currentTurn = player1;
-        this.placementPhase = true;
-        this.player1Ready = false;
-        this.player2Ready = false;
-        this.shipsP1 = new ArrayList<>();
-        this.shipsP2 = new ArrayList<>();
         
-        // Limpiar los tableros y enemyViews de ambos jugadores para empezar fresh
-        player1.clearBoard();
-        player1.clearEnemyView();
-        player2.clearBoard();
-        player2.clearEnemyView();
+        // Tableros propios de la partida: las cuentas se comparten entre sesiones, los tableros no
+        this.engine = new GameEngine(player1.getUsername(), new BitBoard(), player2.getUsername(), new BitBoard());
+        engine.setDifficulty(difficulty);
+        engine.setSeed(ThreadLocalRandom.current().nextLong());
+        engine.setListener(recorder);
         
-        System.out.println("player1 asignado=" + (player1 != null ? player1.getUsername() : "null"));
-        System.out.println("player2 asignado=" + (player2 != null ? player2.getUsername() : "null"));
-        System.out.println("=== FIN startMatch ===");
+        Log.debug("player1 asignado={}", nameOf(player1));
+        Log.debug("player2 asignado={}", nameOf(player2));
+        Log.debug("=== FIN startMatch ===");
         return true;
     }
 
+    /**
+     * Replay de la batalla actual o de la última jugada
+     * @return null si todavía no empezó ninguna batalla
+     */
+    public byte[] getReplay() {
+        return recorder.size() > 0 ? recorder.toByteArray() : null;
+    }
+
     public void resetGame() {
         // Limpiar tableros de jugadores
-        if (player1 != null) {
-            player1.clearBoard();
-            player1.clearEnemyView();
-        }
-        if (player2 != null) {
-            player2.clearBoard();
-            player2.clearEnemyView();
+        if (engine != null) {
+            engine.reset();
         }
         
         // Resetear todas las variables de estado
         this.player1 = null;
         this.player2 = null;
-        this.currentTurn = null;
-        this.placementPhase = true; // Volver a fase de colocación
-        this.player1Ready = false;
-        this.player2Ready = false;
-        this.shipsP1 = null;
-        this.shipsP2 = null;
-        this.lastShotRegenerated = false;
-        this.lastHitShip = null;
-        this.lastShipWasSunk = false;
+        this.engine = null;
     }
 
     public void addShip(String shipCode, int size, int row, int col, boolean vertical) {
-        Ship ship = new Ship(shipCode, size, null);
-        
         // Usar currentTurn para la lógica del juego, no currentUser (sesión)
-        if (currentTurn == player1) {
-            shipsP1.add(ship);
-            currentTurn.placeShip(ship, row, col, vertical);
-        } else if (currentTurn == player2) {
-            shipsP2.add(ship);
-            currentTurn.placeShip(ship, row, col, vertical);
+        if (engine != null) {
+            engine.addShip(shipCode, size, row, col, vertical);
         }
     }
 
     public void removeShip(String shipCode) {
         // Usar currentTurn para la lógica del juego, no currentUser (sesión)
         // Remueve el PRIMER barco del tipo encontrado (para compatibilidad)
-        if (currentTurn == player1) {
-            Ship shipToRemove = shipsP1.stream()
-                .filter(s -> s.getCode().equals(shipCode))
-                .findFirst()
-                .orElse(null);
-            if (shipToRemove != null) {
-                currentTurn.removeShip(shipToRemove);
-                shipsP1.remove(shipToRemove);
-            }
-        } else if (currentTurn == player2) {
-            Ship shipToRemove = shipsP2.stream()
-                .filter(s -> s.getCode().equals(shipCode))
-                .findFirst()
-                .orElse(null);
-            if (shipToRemove != null) {
-                currentTurn.removeShip(shipToRemove);
-                shipsP2.remove(shipToRemove);
-            }
+        if (engine != null) {
+            engine.removeShip(shipCode);
         }
     }
     
@@ -648,39 +484,13 @@ public class BattleShip {
      * Remueve un barco específico de la lista (para mover barcos sin afectar duplicados)
      */
     public void removeSpecificShip(Ship shipToRemove) {
-        if (shipToRemove == null) return;
-        
-        if (currentTurn == player1) {
-            if (shipsP1 != null && shipsP1.contains(shipToRemove)) {
-                currentTurn.removeShip(shipToRemove);
-                shipsP1.remove(shipToRemove);
-            }
-        } else if (currentTurn == player2) {
-            if (shipsP2 != null && shipsP2.contains(shipToRemove)) {
-                currentTurn.removeShip(shipToRemove);
-                shipsP2.remove(shipToRemove);
-            }
+        if (engine != null) {
+            engine.removeSpecificShip(shipToRemove);
         }
     }
 
     public Ship findShipAtPosition(ArrayList<Ship> enemyShips, int row, int col) {
-
-        for (Ship ship : enemyShips) {
-            if(ship.isVertical()) {
-                for (int i = 0; i < ship.getSize(); i++) {
-                    if (ship.getRow() + i == row && ship.getCol() == col) {
-                        return ship;
-                    }
-                }
-            } else {
-                for (int i = 0; i < ship.getSize(); i++) {
-                    if (ship.getRow() == row && ship.getCol() + i == col) {
-                        return ship;
-                    }
-                }
-            }
-        }
-        return null;
+        return GameEngine.findShipAtPosition(enemyShips, row, col);
     }
 
     /**
@@ -696,17 +506,15 @@ public class BattleShip {
 
         // Si se quiere cambiar el username, verificar que no esté en uso
         if (newUsername != null && !newUsername.trim().isEmpty()) {
-            // Verificar que el nuevo username no esté en uso por otro jugador
-            Player existingPlayer = findPlayer(newUsername.trim());
-            if (existingPlayer != null && existingPlayer != currentUser) {
+            // El registro verifica que el nuevo username no esté en uso y actualiza el índice
+            if (!accounts.rename(currentUser, newUsername.trim())) {
                 return false; // El username ya está en uso
             }
-            currentUser.setUsername(newUsername.trim());
         }
 
         // Si se quiere cambiar el password
         if (newPassword != null && !newPassword.trim().isEmpty()) {
-            currentUser.setPassword(newPassword.trim());
+            accounts.changePassword(currentUser, newPassword.trim());
         }
 
         return true;
@@ -722,7 +530,7 @@ public class BattleShip {
         }
 
         // Remover el jugador de la colección
-        boolean removed = players.remove(currentUser);
+        boolean removed = accounts.remove(currentUser);
         
         // Limpiar la sesión
         currentUser = null;
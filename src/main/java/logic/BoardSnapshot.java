@@ -0,0 +1,135 @@
+package logic;
+
+import model.BoardDelta;
+import model.CellState;
+import model.Difficulty;
+import model.Mode;
+import model.Ship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copia inmutable de lo que la pantalla de juego muestra de la partida (fase, turno, flota en
+ * colocación y tablero enemigo), tomada en el hilo del motor (ver {@link EngineExecutor}) para
+ * usarla en el EDT sin tocar el BattleShip.
+ */
+public final class BoardSnapshot {
+
+    /**
+     * Foto sin partida, para antes de la primera acción del motor
+     */
+    public static final BoardSnapshot NONE = new BoardSnapshot(
+            "", true, null, null, Collections.emptyList(), false, null, Collections.emptyList(), BoardDelta.NONE);
+
+    private final String turnUsername;
+    private final boolean placementPhase;
+    private final Mode mode;
+    private final Difficulty difficulty;
+    private final List<Ship> placedShips;
+    private final boolean allShipsPlaced;
+    private final CellState[][] enemyBoard;
+    private final List<Ship> enemyShips;
+    private final BoardDelta delta;
+
+    private BoardSnapshot(String turnUsername, boolean placementPhase, Mode mode, Difficulty difficulty,
+                          List<Ship> placedShips, boolean allShipsPlaced,
+                          CellState[][] enemyBoard, List<Ship> enemyShips, BoardDelta delta) {
+        this.turnUsername = turnUsername;
+        this.placementPhase = placementPhase;
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.placedShips = placedShips;
+        this.allShipsPlaced = allShipsPlaced;
+        this.enemyBoard = enemyBoard;
+        this.enemyShips = enemyShips;
+        this.delta = delta;
+    }
+
+    /**
+     * Toma la foto del estado actual. Solo desde el hilo del motor.
+     * @param withShips copiar también los barcos enemigos (para el modo tutorial)
+     */
+    public static BoardSnapshot capture(BattleShip game, boolean withShips) {
+        CellState[][] view = game.getEnemyBoard();
+        CellState[][] board = null;
+        if (view != null) {
+            board = new CellState[view.length][];
+            for (int i = 0; i < view.length; i++) {
+                board[i] = view[i].clone();
+            }
+        }
+
+        boolean placement = game.isPlacementPhase();
+        List<Ship> placed = placement ? copies(game.getCurrentTurnShips()) : Collections.emptyList();
+        List<Ship> ships = withShips ? copies(game.getEnemyShipsList()) : Collections.emptyList();
+        return new BoardSnapshot(game.getCurrentTurnUsername(), placement, game.getMode(), game.getDifficulty(),
+                placed, placement && game.areAllShipsPlaced(), board, ships, game.takeEnemyDelta());
+    }
+
+    private static List<Ship> copies(List<Ship> ships) {
+        if (ships == null || ships.isEmpty()) return Collections.emptyList();
+        List<Ship> copies = new ArrayList<>(ships.size());
+        for (Ship ship : ships) {
+            copies.add(ship.copy());
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    public String getTurnUsername() {
+        return turnUsername;
+    }
+
+    public boolean isPlacementPhase() {
+        return placementPhase;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Barcos que ya colocó el jugador del turno (copias, vacía fuera de la colocación). No se deben modificar.
+     */
+    public List<Ship> getPlacedShips() {
+        return placedShips;
+    }
+
+    /**
+     * Ya colocó los barcos que pide la dificultad
+     */
+    public boolean areAllShipsPlaced() {
+        return allShipsPlaced;
+    }
+
+    /**
+     * Vista del tablero enemigo (copia nueva en cada llamada), o null si no hay partida
+     */
+    public CellState[][] getEnemyBoard() {
+        if (enemyBoard == null) return null;
+        CellState[][] copy = new CellState[enemyBoard.length][];
+        for (int i = 0; i < enemyBoard.length; i++) {
+            copy[i] = enemyBoard[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Barcos enemigos (copias, vacía si no se pidieron). No se deben modificar.
+     */
+    public List<Ship> getEnemyShips() {
+        return enemyShips;
+    }
+
+    /**
+     * Cambios en el tablero enemigo desde la foto anterior
+     */
+    public BoardDelta getDelta() {
+        return delta;
+    }
+}
@@ -0,0 +1,190 @@
+package logic;
+
+import model.Placements;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Dispara a la celda con más probabilidad de tener un barco a flote.
+ *
+ * Con la regeneración dinámica cada HIT nuevo borra los MISS y HIT y deja solo los SUNK, así que
+ * lo que el jugador sabe del tablero enemigo es poco: las celdas bloqueadas (SUNK y los MISS desde
+ * la última regeneración), los HIT que siguen a la vista y los tamaños de los barcos a flote. El
+ * mapa de densidad (cuántas colocaciones de cada barco pasan por cada celda) depende solo de eso,
+ * así que se guarda en un caché compartido por todas las instancias con ese estado como clave.
+ * Como el mismo estado se repite en cada regeneración y en cada partida, casi todas las jugadas
+ * son una consulta al caché.
+ *
+ * Los barcos se cuentan por separado (sin descartar solapes entre ellos), que es lo habitual en
+ * este tipo de IA y mantiene el cálculo en microsegundos cuando el estado es nuevo.
+ */
+public class DensityStrategy implements Strategy {
+
+    // Peso extra de una colocación por cada HIT visible que cubre (barco dañado ya encontrado)
+    private static final int HIT_WEIGHT = 50;
+    // Tamaño máximo del caché antes de vaciarlo
+    private static final int MAX_MAPS = 1 << 16;
+
+    private static final ConcurrentHashMap<Knowledge, int[]> MAPS = new ConcurrentHashMap<>();
+
+    private final int[] fleet;
+    // Tamaños de los barcos a flote, de mayor a menor
+    private final int[] alive;
+    private int aliveCount;
+    private long knownSunk;
+
+    /**
+     * @param fleet tamaños de la flota enemiga completa
+     */
+    public DensityStrategy(int[] fleet) {
+        this.fleet = fleet.clone();
+        this.alive = new int[fleet.length];
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        System.arraycopy(fleet, 0, alive, 0, fleet.length);
+        Arrays.sort(alive);
+        for (int i = 0, j = alive.length - 1; i < j; i++, j--) {
+            int tmp = alive[i];
+            alive[i] = alive[j];
+            alive[j] = tmp;
+        }
+        aliveCount = alive.length;
+        knownSunk = 0L;
+    }
+
+    @Override
+    public int nextShot(long missMask, long hitMask, long sunkMask, RandomGenerator rand) {
+        updateFleet(sunkMask);
+        long shot = missMask | hitMask | sunkMask;
+        int[] map = densityMap(missMask | sunkMask, hitMask);
+
+        // Celdas con la densidad máxima; se elige una al azar para no ser predecible
+        long best = 0L;
+        int max = 0;
+        for (int cell = 0; cell < 64; cell++) {
+            if ((shot >>> cell & 1) != 0) continue;
+            int value = map[cell];
+            if (value > max) {
+                max = value;
+                best = 1L << cell;
+            } else if (value == max && value > 0) {
+                best |= 1L << cell;
+            }
+        }
+        if (best == 0L) {
+            // Ninguna colocación cabe (la flota no coincide con la esperada): cualquier celda libre
+            best = ~shot != 0 ? ~shot : -1L;
+        }
+        for (int k = rand.nextInt(Long.bitCount(best)); k > 0; k--) {
+            best &= best - 1;
+        }
+        return Long.numberOfTrailingZeros(best);
+    }
+
+    /**
+     * Quita de la flota a flote el barco que se hundió desde la jugada anterior. Entre dos jugadas
+     * propias se hunde como mucho un barco: sus celdas nuevas en SUNK dan el tamaño.
+     */
+    protected void updateFleet(long sunkMask) {
+        long newlySunk = sunkMask & ~knownSunk;
+        if (newlySunk != 0) {
+            removeAlive(Long.bitCount(newlySunk));
+            knownSunk = sunkMask;
+        }
+    }
+
+    /**
+     * Tamaños de los barcos a flote, de mayor a menor
+     */
+    protected int[] aliveSizes() {
+        return Arrays.copyOf(alive, aliveCount);
+    }
+
+    /**
+     * Mapa de densidad para el estado actual, del caché o calculado (no se debe modificar)
+     */
+    protected int[] densityMap(long blocked, long hits) {
+        Knowledge key = new Knowledge(blocked, hits, fleetKey());
+        int[] map = MAPS.get(key);
+        if (map == null) {
+            map = computeMap(blocked, hits, alive, aliveCount);
+            if (MAPS.size() >= MAX_MAPS) {
+                MAPS.clear();
+            }
+            MAPS.putIfAbsent(key, map);
+        }
+        return map;
+    }
+
+    /**
+     * Cuántas colocaciones libres de cada barco pasan por cada celda
+     */
+    static int[] computeMap(long blocked, long hits, int[] sizes, int count) {
+        int[] map = new int[64];
+        for (int k = 0; k < count; k++) {
+            int size = sizes[k];
+            for (int i = 0; i < Placements.count(size); i++) {
+                long mask = Placements.mask(size, i);
+                if ((mask & blocked) != 0) continue;
+                int weight = 1 + HIT_WEIGHT * Long.bitCount(mask & hits);
+                for (long cells = mask & ~hits; cells != 0; cells &= cells - 1) {
+                    map[Long.numberOfTrailingZeros(cells)] += weight;
+                }
+            }
+        }
+        return map;
+    }
+
+    private void removeAlive(int size) {
+        for (int i = 0; i < aliveCount; i++) {
+            if (alive[i] == size) {
+                System.arraycopy(alive, i + 1, alive, i, aliveCount - i - 1);
+                aliveCount--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tamaños a flote empaquetados de a 4 bits (ya están ordenados)
+     */
+    private int fleetKey() {
+        int key = aliveCount;
+        for (int i = 0; i < aliveCount && i < 7; i++) {
+            key |= alive[i] << (4 * (i + 1));
+        }
+        return key;
+    }
+
+    /**
+     * Lo que el jugador sabe del tablero enemigo (clave del caché de mapas)
+     */
+    private static final class Knowledge {
+        private final long blocked;
+        private final long hits;
+        private final int fleet;
+
+        Knowledge(long blocked, long hits, int fleet) {
+            this.blocked = blocked;
+            this.hits = hits;
+            this.fleet = fleet;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Knowledge other
+                    && blocked == other.blocked && hits == other.hits && fleet == other.fleet;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = blocked * 0x9E3779B97F4A7C15L ^ hits * 0xC2B2AE3D27D4EB4FL ^ fleet;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package logic;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hilo propio para la lógica de la partida, fuera del EDT.
+ *
+ * Las acciones de la interfaz se mandan como tareas que corren de a una, en orden, en un único
+ * hilo dueño del BattleShip; el resultado (una foto inmutable, ver {@link BoardSnapshot} y
+ * {@link ShotSnapshot}) vuelve por el executor de callbacks (en la interfaz,
+ * SwingUtilities::invokeLater). Así un disparo con regeneración cara no congela la ventana.
+ *
+ * Desde que empieza la partida hasta que se resetea, el hilo del motor es el único que lee o
+ * modifica el BattleShip: la interfaz manda cada acción (colocar o quitar barcos, continuar,
+ * disparar, rendirse, salir) como tarea y solo dibuja las fotos que le vuelven.
+ */
+public class EngineExecutor implements AutoCloseable {
+
+    private final BattleShip game;
+    private final Executor callbacks;
+    private final ExecutorService engineThread = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param callbacks dónde se entregan los resultados
+     */
+    public EngineExecutor(BattleShip game, Executor callbacks) {
+        this.game = game;
+        this.callbacks = callbacks;
+    }
+
+    /**
+     * Corre la acción en el hilo del motor y entrega su resultado por el executor de callbacks.
+     * Si la acción falla se registra el error y se entrega null.
+     */
+    public <T> void submit(Function<BattleShip, T> action, Consumer<T> onResult) {
+        try {
+            engineThread.execute(() -> {
+                T result = null;
+                try {
+                    result = action.apply(game);
+                } catch (RuntimeException e) {
+                    Log.error("Error en el hilo del motor: {}", e.toString());
+                }
+                T delivered = result;
+                callbacks.execute(() -> onResult.accept(delivered));
+            });
+        } catch (RejectedExecutionException e) {
+            Log.warn("El hilo del motor está cerrado, se ignora la acción");
+        }
+    }
+
+    @Override
+    public void close() {
+        engineThread.shutdown();
+    }
+}
@@ -0,0 +1,28 @@
+package logic;
+
+import model.CellState;
+
+/**
+ * Avisos del motor durante una partida (grabación de replays, actualizaciones a clientes, etc.).
+ * Se llaman en el hilo que usa el motor, así que deben ser rápidos.
+ */
+public interface EngineListener {
+
+    /**
+     * Terminó la fase de colocación: las flotas de ambos asientos ya son las iniciales
+     */
+    default void battleStarted(GameEngine engine) {
+    }
+
+    /**
+     * Se regeneró el tablero del asiento (antes de avisar el disparo que lo provocó)
+     */
+    default void boardRegenerated(GameEngine engine, int seat) {
+    }
+
+    /**
+     * El asiento disparó a (row, col) con ese resultado
+     */
+    default void shotFired(GameEngine engine, int seat, int row, int col, CellState result) {
+    }
+}
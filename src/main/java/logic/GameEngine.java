@@ -0,0 +1,449 @@
+package logic;
+
+import model.*;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Motor de una partida sin interfaz gráfica (no usa java.awt ni javax.swing).
+ * Maneja la colocación de barcos, los disparos con regeneración dinámica, los turnos y la
+ * detección del ganador. Los jugadores se identifican por asiento: {@link #PLAYER_ONE} y
+ * {@link #PLAYER_TWO}. BattleShip lo usa para la partida de la UI y las simulaciones lo usan
+ * directamente, creando un motor por partida.
+ */
+public class GameEngine {
+
+    public static final int PLAYER_ONE = 0;
+    public static final int PLAYER_TWO = 1;
+
+    private final String[] names = new String[2];
+    private final BitBoard[] boards = new BitBoard[2];
+    private final ArrayList<Ship> shipsP1 = new ArrayList<>();
+    private final ArrayList<Ship> shipsP2 = new ArrayList<>();
+
+    private Difficulty difficulty = Difficulty.NORMAL;
+    private RandomGenerator random = ThreadLocalRandom.current();
+    // Modo determinista (setSeed): cada regeneración sale de un flujo propio de la semilla
+    private boolean seeded = false;
+    private long seed;
+    private int currentTurn = PLAYER_ONE;
+    private boolean placementPhase = true;
+    private boolean player1Ready = false;
+    private boolean player2Ready = false;
+    private int regenerations = 0;
+    private EngineListener listener;
+
+    /**
+     * Crea un motor con tableros propios (simulaciones)
+     */
+    public GameEngine() {
+        this("Jugador 1", new BitBoard(), "Jugador 2", new BitBoard());
+    }
+
+    /**
+     * Crea un motor sobre los tableros dados (la partida de la UI usa los tableros de cada Player)
+     */
+    public GameEngine(String nameP1, BitBoard boardP1, String nameP2, BitBoard boardP2) {
+        names[PLAYER_ONE] = nameP1;
+        names[PLAYER_TWO] = nameP2;
+        boards[PLAYER_ONE] = boardP1;
+        boards[PLAYER_TWO] = boardP2;
+        reset();
+    }
+
+    /**
+     * Deja el motor listo para una partida nueva: tableros vacíos y fase de colocación
+     */
+    public void reset() {
+        for (BitBoard board : boards) {
+            board.clearShips();
+            board.clearShots();
+        }
+        shipsP1.clear();
+        shipsP2.clear();
+        currentTurn = PLAYER_ONE;
+        placementPhase = true;
+        player1Ready = false;
+        player2Ready = false;
+        regenerations = 0;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Generador usado para regenerar los tableros (por defecto ThreadLocalRandom)
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Modo determinista para la partida: la regeneración número k usa un SplittableRandom propio
+     * derivado de la semilla y de k, en lugar del generador compartido. Con la semilla y la lista
+     * de disparos se recalcula cada regeneración, también a mitad de partida (no hay estado del
+     * generador que guardar, alcanza con el contador de regeneraciones).
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Recibe los avisos de la partida (null para ninguno)
+     */
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    // ---- Colocación ----
+
+    /**
+     * Agrega un barco al jugador del turno actual
+     */
+    public Ship addShip(String shipCode, int size, int row, int col, boolean vertical) {
+        return addShip(currentTurn, shipCode, size, row, col, vertical);
+    }
+
+    /**
+     * Agrega un barco al jugador indicado
+     */
+    public Ship addShip(int seat, String shipCode, int size, int row, int col, boolean vertical) {
+        Ship ship = new Ship(shipCode, size);
+        getShips(seat).add(ship);
+        boards[seat].placeShip(ship, row, col, vertical);
+        return ship;
+    }
+
+    /**
+     * Agrega un barco al jugador indicado en una posición libre al azar
+     * @return el barco, o null si ya no cabe
+     */
+    public Ship addRandomShip(int seat, String shipCode, int size, RandomGenerator rand) {
+        Ship ship = new Ship(shipCode, size);
+        if (!boards[seat].placeRandom(ship, rand)) {
+            return null;
+        }
+        getShips(seat).add(ship);
+        return ship;
+    }
+
+    /**
+     * Remueve el PRIMER barco del tipo encontrado del jugador del turno actual
+     */
+    public void removeShip(String shipCode) {
+        ArrayList<Ship> ships = getShips(currentTurn);
+        for (Ship ship : ships) {
+            if (ship.getCode().equals(shipCode)) {
+                boards[currentTurn].removeShip(ship);
+                ships.remove(ship);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remueve un barco específico del jugador del turno actual
+     */
+    public void removeSpecificShip(Ship shipToRemove) {
+        if (shipToRemove == null) return;
+        ArrayList<Ship> ships = getShips(currentTurn);
+        if (ships.remove(shipToRemove)) {
+            boards[currentTurn].removeShip(shipToRemove);
+        }
+    }
+
+    public boolean areAllShipsPlaced() {
+        return areAllShipsPlaced(currentTurn);
+    }
+
+    public boolean areAllShipsPlaced(int seat) {
+        int requiredShips = difficulty != null ? difficulty.getShipsAllowed() : 4; // Por defecto NORMAL
+        return getShips(seat).size() >= requiredShips;
+    }
+
+    public boolean isPlacementPhase() {
+        return placementPhase;
+    }
+
+    public boolean areBothPlayersReady() {
+        return player1Ready && player2Ready;
+    }
+
+    public void setPlayerReady(boolean ready) {
+        setPlayerReady(currentTurn, ready);
+    }
+
+    /**
+     * Marca listo al jugador indicado (las sesiones de MatchManager colocan los dos a la vez)
+     */
+    public void setPlayerReady(int seat, boolean ready) {
+        if (seat == PLAYER_ONE) {
+            player1Ready = ready;
+        } else {
+            player2Ready = ready;
+        }
+
+        if (player1Ready && player2Ready) {
+            placementPhase = false;
+            currentTurn = PLAYER_ONE;
+            Log.info("Fase de colocación terminada. Comienza la batalla!");
+            Log.info("Turno de: {}", names[currentTurn]);
+            if (listener != null) {
+                listener.battleStarted(this);
+            }
+        }
+    }
+
+    /**
+     * Marca listo al jugador actual y pasa al siguiente; en batalla solo cambia el turno
+     */
+    public void continueToNextTurn() {
+        if (placementPhase) {
+            if (areAllShipsPlaced()) {
+                boolean bothReadyBefore = player1Ready && player2Ready;
+                setPlayerReady(true);
+                boolean bothReadyAfter = player1Ready && player2Ready;
+
+                if (bothReadyAfter && !bothReadyBefore) {
+                    return;
+                }
+
+                if (placementPhase && !bothReadyAfter) {
+                    nextTurn();
+                }
+            } else {
+                Log.warn("Debes colocar todos los barcos antes de continuar.");
+            }
+        } else {
+            nextTurn();
+        }
+    }
+
+    // ---- Batalla ----
+
+    /**
+     * Dispara a la celda del enemigo del jugador actual
+     * @return el resultado, o null durante la fase de colocación
+     */
+    public ShotResult shoot(int row, int col) {
+        if (placementPhase) {
+            Log.warn("No puedes disparar durante la fase de colocación.");
+            return null;
+        }
+
+        int enemy = getEnemySeat();
+        BitBoard enemyBoard = boards[enemy];
+        long cell = BitBoard.bit(row, col);
+
+        if ((enemyBoard.getShotMask() & cell) != 0) {
+            Log.debug("Celda ({},{}) ya fue disparada.", row, col);
+            return fired(row, col, ShotResult.of(enemyBoard.viewAt(cell)));
+        }
+
+        Ship shipAtPosition = enemyBoard.shipAt(cell);
+
+        if (shipAtPosition == null) {
+            enemyBoard.markMiss(cell);
+            Log.debug("Disparo en ({},{}) FALLASTE!", row, col);
+            // No se regenera en un MISS y no hay barco
+            return fired(row, col, ShotResult.MISS);
+        }
+
+        // Calcular qué parte del barco fue golpeada
+        int partIndex = shipAtPosition.isVertical()
+                ? row - shipAtPosition.getRow()
+                : col - shipAtPosition.getCol();
+
+        // Verificar si esta parte ya fue golpeada antes
+        if (shipAtPosition.isPartHit(partIndex)) {
+            Log.debug("Disparo en ({},{}) - Esta parte del barco {} ya fue golpeada antes. No se regenera el tablero.", row, col, shipAtPosition.getCode());
+            // Marcar como HIT (ya está golpeado) pero NO regenerar
+            enemyBoard.markHit(cell);
+            // No contar como nuevo hit, no regenerar tablero (el barco va en el resultado para el mensaje)
+            return fired(row, col, new ShotResult(CellState.HIT, shipAtPosition.getCode(), partIndex,
+                    shipAtPosition.isSunk(), false, false));
+        }
+
+        // Marcar HIT temporalmente (se limpiará después de regenerar)
+        enemyBoard.markHit(cell);
+        Log.debug("Disparo en ({},{}) ¡HIT en parte {} del barco {}!", row, col, partIndex, shipAtPosition.getCode());
+
+        // Marcar esta parte específica como golpeada
+        boolean newHit = shipAtPosition.hitPart(partIndex);
+        if (!newHit) {
+            Log.warn("La parte ya estaba golpeada, pero se intentó golpear de nuevo.");
+        }
+
+        boolean wasSunk = shipAtPosition.isSunk();
+
+        if (wasSunk) {
+            Log.debug("Barco hundido: {}", shipAtPosition.getCode());
+            enemyBoard.markSunk(shipAtPosition);
+        }
+
+        // Regenerar tablero después de HIT (Battleship Dinámico)
+        // Esto limpiará el HIT temporal y reposicionará los barcos
+        // Se regeneró porque fue un hit nuevo
+        regenerateEnemyBoardAfterHit(enemy);
+
+        // Verificar si el juego terminó (todos los barcos del enemigo hundidos)
+        boolean gameOver = areAllEnemyShipsSunk();
+        if (gameOver) {
+            Log.info("¡{} ha ganado! Todos los barcos enemigos hundidos.", names[currentTurn]);
+        }
+        // El último barco hundido también es SUNK; gameOver indica que el juego terminó
+        CellState state = wasSunk ? CellState.SUNK : CellState.HIT;
+        return fired(row, col, new ShotResult(state, shipAtPosition.getCode(), partIndex, wasSunk, true, gameOver));
+    }
+
+    private ShotResult fired(int row, int col, ShotResult result) {
+        if (listener != null) {
+            listener.shotFired(this, currentTurn, row, col, result.getState());
+        }
+        return result;
+    }
+
+    /**
+     * Regenera el tablero del enemigo después de un HIT, preservando el daño persistente.
+     * Los barcos se reposicionan aleatoriamente, pero mantienen sus hits.
+     * Solo se preservan los SUNK (barcos hundidos). Los MISS se regeneran porque los barcos cambian de posición.
+     */
+    private void regenerateEnemyBoardAfterHit(int enemy) {
+        BitBoard enemyBoard = boards[enemy];
+
+        // Limpiar los MISS y HIT del enemyView; los SUNK quedan en su máscara (no se regeneran)
+        enemyBoard.clearShotsExceptSunk();
+
+        // Regenerar el tablero físico (esto reposiciona los barcos que no están hundidos)
+        // Los barcos mantienen sus hits (daño persistente) pero cambian de posición
+        regenerateBoard(enemy);
+        regenerations++;
+        if (listener != null) {
+            listener.boardRegenerated(this, enemy);
+        }
+
+        Log.debug("Tablero regenerado después de HIT. Daño persistente aplicado (oculto al jugador).");
+        Log.debug("MISS regenerados (limpiados). Solo SUNK preservados.");
+    }
+
+    /**
+     * Reposiciona los barcos activos del asiento; la reproducción de replays lo reemplaza por las
+     * posiciones grabadas
+     */
+    protected void regenerateBoard(int seat) {
+        boards[seat].regenerate(getShips(seat), seeded ? regenerationRandom(seed, regenerations) : random);
+    }
+
+    /**
+     * Flujo de la regeneración número index de una partida con semilla. La semilla del flujo se
+     * mezcla (finalizador de SplitMix64) para que flujos de índices vecinos no se solapen.
+     */
+    private static RandomGenerator regenerationRandom(long seed, int index) {
+        long z = seed + (index + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    /**
+     * Restaura el turno y el contador de regeneraciones de una partida en curso; la reproducción
+     * de replays lo usa al saltar a un keyframe
+     */
+    protected void restoreProgress(int currentTurn, int regenerations) {
+        this.currentTurn = currentTurn;
+        this.regenerations = regenerations;
+    }
+
+    public void nextTurn() {
+        currentTurn = getEnemySeat();
+        Log.debug("Turno de: {}", names[currentTurn]);
+    }
+
+    /**
+     * Verifica si todos los barcos del enemigo están hundidos
+     */
+    public boolean areAllEnemyShipsSunk() {
+        if (placementPhase) {
+            return false;
+        }
+        return boards[getEnemySeat()].allShipsSunk();
+    }
+
+    /**
+     * Asiento del ganador (el jugador que hundió todos los barcos del enemigo), o -1 si no hay
+     */
+    public int getWinner() {
+        return areAllEnemyShipsSunk() ? currentTurn : -1;
+    }
+
+    /**
+     * Número de regeneraciones de tablero desde el inicio de la partida
+     */
+    public int getRegenerations() {
+        return regenerations;
+    }
+
+    // ---- Consultas ----
+
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
+    public int getEnemySeat() {
+        return currentTurn == PLAYER_ONE ? PLAYER_TWO : PLAYER_ONE;
+    }
+
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    public BitBoard getBoard(int seat) {
+        return boards[seat];
+    }
+
+    public ArrayList<Ship> getShips(int seat) {
+        return seat == PLAYER_ONE ? shipsP1 : shipsP2;
+    }
+
+    /**
+     * Vista de los disparos hechos al enemigo del jugador actual
+     */
+    public CellState[][] getEnemyView() {
+        return boards[getEnemySeat()].getCellView();
+    }
+
+    /**
+     * Cambios en la vista del enemigo del jugador actual desde la última vez que se pidieron
+     */
+    public BoardDelta takeEnemyDelta() {
+        return boards[getEnemySeat()].takeDelta();
+    }
+
+    public static Ship findShipAtPosition(ArrayList<Ship> ships, int row, int col) {
+        long cell = BitBoard.bit(row, col);
+        for (Ship ship : ships) {
+            long mask = BitBoard.shipMask(ship.getSize(), ship.getRow(), ship.getCol(), ship.isVertical());
+            if ((mask & cell) != 0) {
+                return ship;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,190 @@
+package logic;
+
+import model.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Ranking de jugadores mantenido al día en lugar de ordenarse cada vez que se muestra.
+ *
+ * Es un árbol de estadísticas de orden (treap con tamaño de subárbol) ordenado por puntos de mayor
+ * a menor y, en empate, por orden de registro. Cada addPoints mueve solo al jugador que cambió
+ * (O(log n)); la posición de un jugador se calcula en O(log n) y los primeros K en O(log n + K).
+ */
+public class Leaderboard {
+
+    private static final class Node {
+        final Player player;
+        final long order;
+        final int priority;
+        int points;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Player player, long order) {
+            this.player = player;
+            this.order = order;
+            this.points = player.getPoints();
+            // Prioridad pseudoaleatoria derivada del orden: el árbol queda balanceado en promedio
+            long h = order * 0x9E3779B97F4A7C15L;
+            this.priority = (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private final IdentityHashMap<Player, Node> nodes = new IdentityHashMap<>();
+    private Node root;
+    private long nextOrder;
+
+    /**
+     * Agrega un jugador al ranking con su puntaje actual
+     */
+    public synchronized void add(Player player) {
+        if (nodes.containsKey(player)) return;
+        Node node = new Node(player, nextOrder++);
+        nodes.put(player, node);
+        root = insert(root, node);
+    }
+
+    public synchronized void remove(Player player) {
+        Node node = nodes.remove(player);
+        if (node == null) return;
+        root = delete(root, node);
+    }
+
+    /**
+     * Reubica al jugador después de un cambio de puntaje
+     */
+    public synchronized void pointsChanged(Player player) {
+        Node node = nodes.get(player);
+        if (node == null) return;
+        root = delete(root, node);
+        node.points = player.getPoints();
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+        root = insert(root, node);
+    }
+
+    /**
+     * Posición del jugador en el ranking (1 = primero), o -1 si no está registrado
+     */
+    public synchronized int rankOf(Player player) {
+        Node node = nodes.get(player);
+        if (node == null) return -1;
+        int rank = 0;
+        Node t = root;
+        while (t != node) {
+            if (before(node, t)) {
+                t = t.left;
+            } else {
+                rank += size(t.left) + 1;
+                t = t.right;
+            }
+        }
+        return rank + size(t.left) + 1;
+    }
+
+    /**
+     * Los primeros k jugadores del ranking, en orden
+     */
+    public synchronized List<Player> top(int k) {
+        List<Player> result = new ArrayList<>(Math.min(k, size(root)));
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        while (result.size() < k && (t != null || !stack.isEmpty())) {
+            while (t != null) {
+                stack.push(t);
+                t = t.left;
+            }
+            t = stack.pop();
+            result.add(t.player);
+            t = t.right;
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    // ---- Treap ----
+
+    /**
+     * Orden del ranking: más puntos primero y, en empate, quien se registró antes
+     */
+    private static boolean before(Node a, Node b) {
+        if (a.points != b.points) return a.points > b.points;
+        return a.order < b.order;
+    }
+
+    private static int size(Node t) {
+        return t == null ? 0 : t.size;
+    }
+
+    private static void update(Node t) {
+        t.size = size(t.left) + size(t.right) + 1;
+    }
+
+    private static Node insert(Node t, Node node) {
+        if (t == null) return node;
+        if (before(node, t)) {
+            t.left = insert(t.left, node);
+            if (t.left.priority > t.priority) t = rotateRight(t);
+        } else {
+            t.right = insert(t.right, node);
+            if (t.right.priority > t.priority) t = rotateLeft(t);
+        }
+        update(t);
+        return t;
+    }
+
+    private static Node delete(Node t, Node node) {
+        if (t == null) return null;
+        if (t == node) return merge(t.left, t.right);
+        if (before(node, t)) {
+            t.left = delete(t.left, node);
+        } else {
+            t.right = delete(t.right, node);
+        }
+        update(t);
+        return t;
+    }
+
+    /**
+     * Une dos subárboles donde todo a va antes que todo b
+     */
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node t) {
+        Node l = t.left;
+        t.left = l.right;
+        l.right = t;
+        update(t);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node t) {
+        Node r = t.right;
+        t.right = r.left;
+        r.left = t;
+        update(t);
+        update(r);
+        return r;
+    }
+}
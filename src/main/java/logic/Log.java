@@ -0,0 +1,288 @@
+package logic;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro por niveles con escritura asíncrona.
+ *
+ * Cada llamada revisa primero el nivel: si está desactivado no se arma ningún texto ni se crea
+ * ningún objeto. Los mensajes habilitados se guardan como plantilla + argumentos en un buffer
+ * circular y un hilo de fondo les da formato y los escribe por lotes, así que el juego nunca
+ * espera a la consola. Si el buffer se llena, el mensaje se descarta y se cuenta en getDropped().
+ * Un argumento cuyo toString falla o un error al escribir no detienen al escritor: el mensaje
+ * se reemplaza por un aviso o el lote se pierde, y se sigue con los siguientes.
+ *
+ * Las plantillas usan {} por cada argumento: Log.debug("Disparo en ({},{})", row, col).
+ * El nivel inicial se lee de la propiedad battleship.log (por defecto INFO).
+ */
+public final class Log {
+
+    private static final int CAPACITY = 1 << 13;
+    private static final int MASK = CAPACITY - 1;
+    // Espera máxima del escritor sin mensajes antes de volver a revisar el buffer
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static volatile int threshold = LogLevel.parse(System.getProperty("battleship.log"), LogLevel.INFO).ordinal();
+
+    // Buffer circular: una posición por mensaje, publicada cuando published[i] == número de secuencia
+    private static final LogLevel[] levels = new LogLevel[CAPACITY];
+    private static final long[] times = new long[CAPACITY];
+    private static final String[] threads = new String[CAPACITY];
+    private static final String[] patterns = new String[CAPACITY];
+    private static final Object[][] args = new Object[CAPACITY][4];
+    private static final int[] argCounts = new int[CAPACITY];
+    private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+
+    private static final AtomicLong tail = new AtomicLong();
+    private static volatile long head;
+    private static final LongAdder dropped = new LongAdder();
+
+    private static volatile boolean writerSleeping;
+    private static volatile PrintStream output = System.out;
+    private static final Thread writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            published.set(i, -1);
+        }
+        writer = new Thread(Log::drainLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+    }
+
+    private Log() {
+    }
+
+    public static LogLevel getLevel() {
+        return LogLevel.values()[threshold];
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
+
+    /**
+     * Cambia el destino de los mensajes (por defecto System.out)
+     */
+    public static void setOutput(PrintStream out) {
+        output = out;
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public static boolean isDebugEnabled() {
+        return LogLevel.DEBUG.ordinal() >= threshold;
+    }
+
+    /**
+     * Mensajes descartados porque el buffer estaba lleno
+     */
+    public static long getDropped() {
+        return dropped.sum();
+    }
+
+    // ---- Llamadas por nivel ----
+
+    public static void trace(String pattern) {
+        if (LogLevel.TRACE.ordinal() >= threshold) enqueue(LogLevel.TRACE, pattern, 0, null, null, null, null);
+    }
+
+    public static void trace(String pattern, Object a) {
+        if (LogLevel.TRACE.ordinal() >= threshold) enqueue(LogLevel.TRACE, pattern, 1, a, null, null, null);
+    }
+
+    public static void debug(String pattern) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) enqueue(LogLevel.DEBUG, pattern, 0, null, null, null, null);
+    }
+
+    public static void debug(String pattern, Object a) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) enqueue(LogLevel.DEBUG, pattern, 1, a, null, null, null);
+    }
+
+    public static void debug(String pattern, Object a, Object b) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) enqueue(LogLevel.DEBUG, pattern, 2, a, b, null, null);
+    }
+
+    public static void debug(String pattern, Object a, Object b, Object c) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) enqueue(LogLevel.DEBUG, pattern, 3, a, b, c, null);
+    }
+
+    public static void debug(String pattern, Object a, Object b, Object c, Object d) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) enqueue(LogLevel.DEBUG, pattern, 4, a, b, c, d);
+    }
+
+    public static void info(String pattern) {
+        if (LogLevel.INFO.ordinal() >= threshold) enqueue(LogLevel.INFO, pattern, 0, null, null, null, null);
+    }
+
+    public static void info(String pattern, Object a) {
+        if (LogLevel.INFO.ordinal() >= threshold) enqueue(LogLevel.INFO, pattern, 1, a, null, null, null);
+    }
+
+    public static void info(String pattern, Object a, Object b) {
+        if (LogLevel.INFO.ordinal() >= threshold) enqueue(LogLevel.INFO, pattern, 2, a, b, null, null);
+    }
+
+    public static void info(String pattern, Object a, Object b, Object c) {
+        if (LogLevel.INFO.ordinal() >= threshold) enqueue(LogLevel.INFO, pattern, 3, a, b, c, null);
+    }
+
+    public static void warn(String pattern) {
+        if (LogLevel.WARN.ordinal() >= threshold) enqueue(LogLevel.WARN, pattern, 0, null, null, null, null);
+    }
+
+    public static void warn(String pattern, Object a) {
+        if (LogLevel.WARN.ordinal() >= threshold) enqueue(LogLevel.WARN, pattern, 1, a, null, null, null);
+    }
+
+    public static void warn(String pattern, Object a, Object b) {
+        if (LogLevel.WARN.ordinal() >= threshold) enqueue(LogLevel.WARN, pattern, 2, a, b, null, null);
+    }
+
+    public static void error(String pattern) {
+        if (LogLevel.ERROR.ordinal() >= threshold) enqueue(LogLevel.ERROR, pattern, 0, null, null, null, null);
+    }
+
+    public static void error(String pattern, Object a) {
+        if (LogLevel.ERROR.ordinal() >= threshold) enqueue(LogLevel.ERROR, pattern, 1, a, null, null, null);
+    }
+
+    public static void error(String pattern, Object a, Object b) {
+        if (LogLevel.ERROR.ordinal() >= threshold) enqueue(LogLevel.ERROR, pattern, 2, a, b, null, null);
+    }
+
+    /**
+     * Espera (como máximo un segundo) a que el escritor vacíe los mensajes ya publicados
+     */
+    public static void flush() {
+        long target = tail.get();
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while (head < target && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            Thread.onSpinWait();
+        }
+    }
+
+    // ---- Buffer circular ----
+
+    private static void enqueue(LogLevel level, String pattern, int argCount, Object a, Object b, Object c, Object d) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= CAPACITY) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        int i = (int) seq & MASK;
+        levels[i] = level;
+        times[i] = System.currentTimeMillis();
+        threads[i] = Thread.currentThread().getName();
+        patterns[i] = pattern;
+        argCounts[i] = argCount;
+        Object[] slotArgs = args[i];
+        slotArgs[0] = a;
+        slotArgs[1] = b;
+        slotArgs[2] = c;
+        slotArgs[3] = d;
+        published.set(i, seq);
+
+        if (writerSleeping) {
+            writerSleeping = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private static void drainLoop() {
+        StringBuilder batch = new StringBuilder(4096);
+        long seq = head;
+        int batched = 0;
+        while (true) {
+            int i = (int) seq & MASK;
+            if (published.get(i) != seq) {
+                if (batch.length() > 0) {
+                    write(batch, batched);
+                    batched = 0;
+                    head = seq;
+                }
+                // Dormir hasta que un productor avise; se revisa otra vez para no perder un aviso
+                writerSleeping = true;
+                if (published.get(i) != seq) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerSleeping = false;
+                continue;
+            }
+
+            int lineStart = batch.length();
+            try {
+                format(batch, i);
+            } catch (RuntimeException | StackOverflowError e) {
+                // Un toString que falla no debe matar al escritor: queda un aviso en su lugar
+                batch.setLength(lineStart);
+                formatFailed(batch, i, e);
+            }
+            Object[] slotArgs = args[i];
+            slotArgs[0] = slotArgs[1] = slotArgs[2] = slotArgs[3] = null;
+            patterns[i] = null;
+            seq++;
+            batched++;
+            // Lotes de a lo más 256 mensajes para liberar posiciones cuando hay mucho tráfico
+            if ((seq & 255) == 0) {
+                write(batch, batched);
+                batched = 0;
+                head = seq;
+            }
+        }
+    }
+
+    /**
+     * Escribe el lote; si el destino falla, sus mensajes se cuentan como descartados
+     */
+    private static void write(StringBuilder batch, int messages) {
+        PrintStream out = output;
+        try {
+            out.print(batch);
+            out.flush();
+        } catch (RuntimeException e) {
+            dropped.add(messages);
+        } finally {
+            batch.setLength(0);
+        }
+    }
+
+    private static void formatFailed(StringBuilder sb, int i, Throwable error) {
+        TIME.formatTo(Instant.ofEpochMilli(times[i]), sb);
+        sb.append(' ').append(levels[i]).append(" [").append(threads[i]).append("] ")
+                .append("<no se pudo formatear \"").append(patterns[i]).append("\": ")
+                .append(error.getClass().getName()).append('>').append(System.lineSeparator());
+    }
+
+    private static void format(StringBuilder sb, int i) {
+        TIME.formatTo(Instant.ofEpochMilli(times[i]), sb);
+        sb.append(' ').append(levels[i]).append(" [").append(threads[i]).append("] ");
+
+        String pattern = patterns[i];
+        Object[] slotArgs = args[i];
+        int used = 0;
+        int start = 0;
+        int brace;
+        while (used < argCounts[i] && (brace = pattern.indexOf("{}", start)) >= 0) {
+            sb.append(pattern, start, brace).append(slotArgs[used++]);
+            start = brace + 2;
+        }
+        sb.append(pattern, start, pattern.length()).append(System.lineSeparator());
+    }
+}
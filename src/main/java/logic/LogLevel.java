@@ -0,0 +1,27 @@
+package logic;
+
+/**
+ * Niveles del registro, de más detallado a menos
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Convierte un nombre (sin importar mayúsculas) en nivel; si no es válido devuelve el valor por defecto
+     */
+    public static LogLevel parse(String name, LogLevel defaultLevel) {
+        if (name == null || name.isBlank()) {
+            return defaultLevel;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+}
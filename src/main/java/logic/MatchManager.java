@@ -0,0 +1,131 @@
+package logic;
+
+import model.Difficulty;
+import model.Player;
+import replay.ReplaySink;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aloja muchas partidas independientes en la misma JVM.
+ *
+ * Cada MatchSession tiene su propio motor y sus propios tableros; el manager solo guarda el índice
+ * de sesiones activas (ConcurrentHashMap, sin bloqueo global) y comparte el registro de cuentas,
+ * que ya es seguro entre hilos. Las sesiones se quitan del índice al terminar y, si hay un
+ * {@link ReplaySink}, su replay se le entrega para guardarlo.
+ */
+public class MatchManager {
+
+    private final AccountStore accounts;
+    private final ConcurrentHashMap<Long, MatchSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    // Semillas de las partidas (modo determinista del motor)
+    private final SplittableRandom seeds;
+    // Destino de los replays de las partidas terminadas (null: no se guardan)
+    private final ReplaySink replays;
+
+    /**
+     * Manager sobre las cuentas compartidas del juego
+     */
+    public MatchManager() {
+        this(BattleShip.getAccounts());
+    }
+
+    /**
+     * Manager sobre las cuentas compartidas que guarda el replay de cada partida terminada
+     */
+    public MatchManager(ReplaySink replays) {
+        this(BattleShip.getAccounts(), new SplittableRandom(), replays);
+    }
+
+    public MatchManager(AccountStore accounts) {
+        this(accounts, new SplittableRandom());
+    }
+
+    /**
+     * @param seeds generador de las semillas de cada partida (con uno sembrado las partidas se repiten)
+     */
+    public MatchManager(AccountStore accounts, SplittableRandom seeds) {
+        this(accounts, seeds, null);
+    }
+
+    /**
+     * @param replays destino de los replays de las partidas terminadas (null para no guardarlos)
+     */
+    public MatchManager(AccountStore accounts, SplittableRandom seeds, ReplaySink replays) {
+        this.accounts = accounts;
+        this.seeds = seeds;
+        this.replays = replays;
+    }
+
+    /**
+     * Crea una partida entre dos cuentas registradas
+     * @return la sesión, o null si alguna cuenta no existe o es la misma
+     */
+    public MatchSession create(String usernameOne, String usernameTwo, Difficulty difficulty) {
+        Player one = usernameOne != null ? accounts.find(usernameOne.trim()) : null;
+        Player two = usernameTwo != null ? accounts.find(usernameTwo.trim()) : null;
+        if (one == null || two == null) {
+            Log.warn("No se pudo crear la partida: jugador inexistente");
+            return null;
+        }
+        if (one == two) {
+            Log.warn("No se pudo crear la partida: {} no puede jugar contra sí mismo", one.getUsername());
+            return null;
+        }
+
+        long id = nextId.getAndIncrement();
+        long seed;
+        synchronized (seeds) {
+            seed = seeds.nextLong();
+        }
+        MatchSession session = new MatchSession(id, one, two,
+                difficulty != null ? difficulty : Difficulty.NORMAL, seed, this::finished);
+        sessions.put(id, session);
+        Log.debug("Partida {} creada: {} contra {}", id, one.getUsername(), two.getUsername());
+        return session;
+    }
+
+    /**
+     * Sesión activa con ese id, o null si no existe o ya terminó
+     */
+    public MatchSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Abandona una partida sin resultado (por ejemplo si se desconectan los dos jugadores)
+     */
+    public boolean close(long id) {
+        return sessions.remove(id) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Vista de solo lectura de las sesiones activas
+     */
+    public Collection<MatchSession> all() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    public AccountStore getAccounts() {
+        return accounts;
+    }
+
+    private void finished(MatchSession session) {
+        sessions.remove(session.getId());
+        if (replays == null) return;
+        // Rendirse antes de la batalla no deja replay
+        byte[] replay = session.getReplay();
+        if (replay != null) {
+            replays.save(session.getId(), replay);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package logic;
+
+import model.BitBoard;
+import model.BoardDelta;
+import model.CellState;
+import model.Difficulty;
+import model.Fleet;
+import model.GameLog;
+import model.Player;
+import model.ShotResult;
+import replay.ReplayRecorder;
+
+import java.util.function.Consumer;
+
+/**
+ * Una partida alojada por MatchManager.
+ *
+ * Todo el estado de la partida (motor, tableros, turno, resultado) vive aquí y solo se toca
+ * dentro de los métodos sincronizados de la sesión, así que cada partida puede atenderse desde
+ * cualquier hilo sin bloquear a las demás. Lo único compartido son las cuentas de los jugadores,
+ * que se actualizan al terminar (puntos e historial) a través de sus propios métodos seguros.
+ */
+public class MatchSession {
+
+    private final long id;
+    private final Player[] players;
+    private final GameEngine engine;
+    private final ReplayRecorder recorder = new ReplayRecorder();
+    private final Consumer<MatchSession> onFinished;
+
+    private boolean finished = false;
+    private int winner = -1;
+
+    MatchSession(long id, Player playerOne, Player playerTwo, Difficulty difficulty, long seed,
+                 Consumer<MatchSession> onFinished) {
+        this.id = id;
+        this.players = new Player[]{playerOne, playerTwo};
+        this.onFinished = onFinished;
+        engine = new GameEngine(playerOne.getUsername(), new BitBoard(), playerTwo.getUsername(), new BitBoard());
+        engine.setDifficulty(difficulty);
+        // Regeneraciones reproducibles: el replay solo necesita la semilla y los disparos
+        engine.setSeed(seed);
+        engine.setListener(recorder);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Semilla de las regeneraciones de la partida
+     */
+    public long getSeed() {
+        return engine.getSeed();
+    }
+
+    public Player getPlayer(int seat) {
+        return players[seat];
+    }
+
+    /**
+     * Asiento del jugador en esta partida, o -1 si no juega en ella
+     */
+    public int seatOf(Player player) {
+        if (players[GameEngine.PLAYER_ONE] == player) return GameEngine.PLAYER_ONE;
+        if (players[GameEngine.PLAYER_TWO] == player) return GameEngine.PLAYER_TWO;
+        return -1;
+    }
+
+    // ---- Colocación ----
+
+    /**
+     * Coloca un barco del jugador; false si ya terminó la colocación, si el código no existe o el
+     * tamaño no es el suyo, si la dificultad no permite ese barco (ver {@link Fleet}) o si no cabe
+     */
+    public synchronized boolean placeShip(int seat, String shipCode, int size, int row, int col, boolean vertical) {
+        if (finished || !engine.isPlacementPhase()) {
+            return false;
+        }
+        // El tamaño lo decide el código: el del cliente solo se acepta si coincide
+        if (Fleet.sizeOf(shipCode) != size || !Fleet.canAdd(engine.getDifficulty(), engine.getShips(seat), shipCode)) {
+            return false;
+        }
+        if (!engine.getBoard(seat).canPlace(size, row, col, vertical)) {
+            return false;
+        }
+        engine.addShip(seat, shipCode, size, row, col, vertical);
+        return true;
+    }
+
+    /**
+     * Marca listo al jugador; la batalla empieza cuando los dos lo están
+     * @return false si todavía le faltan barcos
+     */
+    public synchronized boolean ready(int seat) {
+        if (finished || !engine.isPlacementPhase()) return false;
+        if (!engine.areAllShipsPlaced(seat)) {
+            return false;
+        }
+        engine.setPlayerReady(seat, true);
+        return true;
+    }
+
+    // ---- Batalla ----
+
+    /**
+     * Dispara por el jugador indicado. Con MISS el turno pasa al otro jugador; si el disparo
+     * hunde el último barco la partida termina y se reparten los puntos.
+     * @return el resultado, o null si no es su turno o la partida no está en batalla
+     */
+    public synchronized ShotResult shoot(int seat, int row, int col) {
+        if (finished || engine.isPlacementPhase() || engine.getCurrentTurn() != seat) {
+            return null;
+        }
+        if (row < 0 || row >= BitBoard.SIZE || col < 0 || col >= BitBoard.SIZE) {
+            return null;
+        }
+        ShotResult result = engine.shoot(row, col);
+        if (result.isGameOver()) {
+            int loser = 1 - seat;
+            finish(seat, GameLog.win(players[seat].getUsername(), players[loser].getUsername(),
+                    engine.getDifficulty().toString()));
+        } else if (result.getState() == CellState.MISS) {
+            engine.nextTurn();
+        }
+        return result;
+    }
+
+    /**
+     * El jugador se rinde y el otro gana
+     * @return false si la partida ya había terminado
+     */
+    public synchronized boolean surrender(int seat) {
+        if (finished) return false;
+        int other = 1 - seat;
+        Log.info("{} se ha rendido.", players[seat].getUsername());
+        finish(other, GameLog.retiro(players[seat].getUsername(), players[other].getUsername()));
+        return true;
+    }
+
+    private void finish(int winnerSeat, String gameResult) {
+        finished = true;
+        winner = winnerSeat;
+        // Igual que en la partida de la UI: el ganador recibe 3 puntos y los dos guardan el resultado
+        players[winnerSeat].addPoints(3);
+        players[GameEngine.PLAYER_ONE].addGameToHistory(gameResult);
+        players[GameEngine.PLAYER_TWO].addGameToHistory(gameResult);
+        if (onFinished != null) {
+            onFinished.accept(this);
+        }
+    }
+
+    // ---- Consultas ----
+
+    public synchronized boolean isPlacementPhase() {
+        return !finished && engine.isPlacementPhase();
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    public synchronized int getCurrentTurn() {
+        return engine.getCurrentTurn();
+    }
+
+    /**
+     * Jugador ganador, o null si la partida sigue
+     */
+    public synchronized Player getWinner() {
+        return winner >= 0 ? players[winner] : null;
+    }
+
+    /**
+     * Cambios en los disparos recibidos por el tablero del asiento desde la llamada anterior
+     */
+    public synchronized BoardDelta takeBoardDelta(int seat) {
+        return engine.getBoard(seat).takeDelta();
+    }
+
+    /**
+     * Copia de lo que el jugador ve del tablero enemigo (sus disparos)
+     */
+    public synchronized CellState[][] getEnemyView(int seat) {
+        CellState[][] view = engine.getBoard(1 - seat).getCellView();
+        CellState[][] copy = new CellState[view.length][];
+        for (int i = 0; i < view.length; i++) {
+            copy[i] = view[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Replay de la partida hasta el momento (null si la batalla no empezó)
+     */
+    public synchronized byte[] getReplay() {
+        return recorder.size() > 0 ? recorder.toByteArray() : null;
+    }
+}
@@ -0,0 +1,278 @@
+package logic;
+
+import model.Placements;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * IA fuerte: Monte Carlo plano (sin árbol) con determinizaciones y un tiempo máximo por jugada.
+ *
+ * Solo se busca el próximo disparo: cada iteración sortea una flota enemiga compatible con lo que
+ * se sabe (barcos a flote fuera de las celdas bloqueadas y cubriendo los HIT visibles), elige una
+ * de las mejores celdas del mapa de densidad con UCB1 (un bandido sobre las candidatas) y sigue
+ * disparando en el orden del mapa hasta acertar; la recompensa es 1 / disparos. No se guardan
+ * estadísticas de las jugadas siguientes. Varias búsquedas independientes corren en paralelo (una
+ * por núcleo) y al final se suman sus visitas.
+ *
+ * El tiempo es estricto: los hilos dejan de iterar antes del límite, el hilo que pide la jugada
+ * espera a los demás solo hasta el límite y se queda con lo que haya. El pool no tiene cola: si
+ * no hay un hilo libre (otras partidas lo están usando) esa búsqueda no se hace y no se la espera,
+ * y el hilo propio igual busca. Si no alcanzó ni una iteración responde con el mapa de densidad.
+ */
+public class MonteCarloStrategy extends DensityStrategy {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 20;
+
+    // Celdas candidatas para el primer disparo (las de más densidad)
+    private static final int CANDIDATES = 16;
+    private static final double EXPLORATION = 0.5;
+    // Intentos para sortear una flota que cubra los HIT visibles
+    private static final int LAYOUT_ATTEMPTS = 16;
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    // Entrega directa (SynchronousQueue): una búsqueda arranca ya en un hilo libre o se rechaza,
+    // nunca queda en cola esperando a que terminen las de otra jugada
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), new ThreadFactoryImpl(), new ThreadPoolExecutor.AbortPolicy());
+
+    private final long budgetNanos;
+    private final int threads;
+
+    public MonteCarloStrategy(int[] fleet) {
+        this(fleet, DEFAULT_BUDGET_MILLIS, THREADS);
+    }
+
+    /**
+     * @param budgetMillis tiempo máximo por jugada
+     * @param threads búsquedas en paralelo (incluye la del hilo que pide la jugada)
+     */
+    public MonteCarloStrategy(int[] fleet, long budgetMillis, int threads) {
+        super(fleet);
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public int nextShot(long missMask, long hitMask, long sunkMask, RandomGenerator rand) {
+        long start = System.nanoTime();
+        updateFleet(sunkMask);
+        long blocked = missMask | sunkMask;
+        long shot = blocked | hitMask;
+        int[] map = densityMap(blocked, hitMask);
+        int[] order = byDensity(map, shot);
+        if (order.length <= 1) {
+            return super.nextShot(missMask, hitMask, sunkMask, rand);
+        }
+
+        // Una décima del tiempo queda para juntar los resultados
+        long stop = start + budgetNanos - budgetNanos / 10;
+        long deadline = start + budgetNanos;
+        Search search = new Search(blocked, hitMask, aliveSizes(), order, stop, threads);
+        for (int i = 1; i < threads; i++) {
+            SplittableRandom workerRandom = new SplittableRandom(rand.nextLong());
+            try {
+                POOL.execute(() -> search.work(workerRandom));
+            } catch (RejectedExecutionException e) {
+                search.skip();
+            }
+        }
+        search.work(new SplittableRandom(rand.nextLong()));
+        search.await(deadline);
+
+        int best = search.best();
+        return best >= 0 ? best : super.nextShot(missMask, hitMask, sunkMask, rand);
+    }
+
+    /**
+     * Celdas sin disparar con densidad positiva, de mayor a menor densidad
+     */
+    private static int[] byDensity(int[] map, long shot) {
+        int[] cells = new int[64];
+        int count = 0;
+        for (int cell = 0; cell < 64; cell++) {
+            if ((shot >>> cell & 1) == 0 && map[cell] > 0) {
+                int k = count++;
+                while (k > 0 && map[cells[k - 1]] < map[cell]) {
+                    cells[k] = cells[k - 1];
+                    k--;
+                }
+                cells[k] = cell;
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Una jugada: raíz compartida, estadísticas sumadas al terminar cada búsqueda
+     */
+    private static final class Search {
+        private final long blocked;
+        private final long hits;
+        private final int[] sizes;
+        private final int[] order;
+        private final int candidates;
+        private final long stop;
+        private final CountDownLatch done;
+
+        // Bajo el lock de la búsqueda; después de await solo se leen
+        private final long[] visits;
+        private final double[] rewards;
+        private boolean closed = false;
+
+        Search(long blocked, long hits, int[] sizes, int[] order, long stop, int workers) {
+            this.blocked = blocked;
+            this.hits = hits;
+            this.sizes = sizes;
+            this.order = order;
+            this.candidates = Math.min(CANDIDATES, order.length);
+            this.stop = stop;
+            this.done = new CountDownLatch(workers);
+            this.visits = new long[candidates];
+            this.rewards = new double[candidates];
+        }
+
+        void work(SplittableRandom random) {
+            long[] n = new long[candidates];
+            double[] w = new double[candidates];
+            long total = 0;
+            try {
+                while (System.nanoTime() < stop) {
+                    long layout = sampleLayout(random);
+                    if (layout == 0L) break;
+                    int k = select(n, w, total);
+                    n[k]++;
+                    w[k] += rollout(k, layout);
+                    total++;
+                }
+            } finally {
+                merge(n, w);
+                done.countDown();
+            }
+        }
+
+        /**
+         * Búsqueda que no arrancó por falta de hilo libre: no hay que esperarla
+         */
+        void skip() {
+            done.countDown();
+        }
+
+        /**
+         * Espera a las búsquedas de los otros hilos hasta el límite; las que lleguen tarde no cuentan
+         */
+        void await(long deadline) {
+            try {
+                done.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                closed = true;
+            }
+        }
+
+        /**
+         * Celda candidata más visitada, o -1 si no hubo iteraciones
+         */
+        synchronized int best() {
+            int best = -1;
+            for (int k = 0; k < candidates; k++) {
+                if (visits[k] > 0 && (best < 0 || visits[k] > visits[best])) {
+                    best = k;
+                }
+            }
+            return best >= 0 ? order[best] : -1;
+        }
+
+        private synchronized void merge(long[] n, double[] w) {
+            if (closed) return;
+            for (int k = 0; k < candidates; k++) {
+                visits[k] += n[k];
+                rewards[k] += w[k];
+            }
+        }
+
+        /**
+         * UCB1: primero cada candidata una vez, después la de mejor cota
+         */
+        private int select(long[] n, double[] w, long total) {
+            if (total < candidates) {
+                return (int) total;
+            }
+            double logTotal = Math.log(total);
+            int best = 0;
+            double bestScore = -1;
+            for (int k = 0; k < candidates; k++) {
+                double score = w[k] / n[k] + EXPLORATION * Math.sqrt(logTotal / n[k]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = k;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Dispara a la candidata k y después en el orden del mapa hasta acertar
+         * @return 1 / disparos hasta el primer acierto
+         */
+        private double rollout(int k, long layout) {
+            if ((layout >>> order[k] & 1) != 0) return 1.0;
+            int shots = 1;
+            for (int i = 0; i < order.length; i++) {
+                if (i == k) continue;
+                shots++;
+                if ((layout >>> order[i] & 1) != 0) break;
+            }
+            return 1.0 / shots;
+        }
+
+        /**
+         * Celdas ocupadas por una flota a flote sorteada fuera de las celdas bloqueadas. Se coloca
+         * barco por barco (no es exactamente uniforme, pero cuesta lo mismo en cualquier estado).
+         * @return 0 si no se pudo colocar la flota
+         */
+        private long sampleLayout(SplittableRandom random) {
+            long layout = 0L;
+            for (int attempt = 0; attempt < LAYOUT_ATTEMPTS; attempt++) {
+                long occupied = 0L;
+                boolean placed = true;
+                for (int size : sizes) {
+                    int index = Placements.pickFree(size, blocked | occupied, random);
+                    if (index < 0) {
+                        placed = false;
+                        break;
+                    }
+                    occupied |= Placements.mask(size, index);
+                }
+                if (!placed) continue;
+                layout = occupied;
+                if ((occupied & hits) == hits) break;
+            }
+            return layout;
+        }
+    }
+
+    /**
+     * Hilos daemon para que el pool no impida cerrar la aplicación
+     */
+    private static final class ThreadFactoryImpl implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "montecarlo-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package logic;
+
+import model.Player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de cuentas indexado por username.
+ *
+ * Las búsquedas son O(1) y no toman ningún candado. Altas, renombres y bajas se serializan entre
+ * sí; un renombre agrega el nombre nuevo antes de cambiar el username y quitar el viejo, y como
+ * find() verifica que el username del jugador coincida, quien busca ve el nombre viejo o el nuevo,
+ * nunca los dos ni ninguno de los dos a medias.
+ */
+public class PlayerRegistry {
+
+    private final ConcurrentHashMap<String, Player> byName = new ConcurrentHashMap<>();
+    private final Collection<Player> view = Collections.unmodifiableCollection(byName.values());
+
+    /**
+     * Busca un jugador por username (null si no existe)
+     */
+    public Player find(String username) {
+        if (username == null) return null;
+        Player player = byName.get(username);
+        return player != null && username.equals(player.getUsername()) ? player : null;
+    }
+
+    public boolean contains(String username) {
+        return find(username) != null;
+    }
+
+    /**
+     * Agrega un jugador; false si su username ya está en uso
+     */
+    public synchronized boolean add(Player player) {
+        return byName.putIfAbsent(player.getUsername(), player) == null;
+    }
+
+    /**
+     * Cambia el username del jugador y actualiza el índice; false si el nombre nuevo ya es de otro
+     */
+    public synchronized boolean rename(Player player, String newUsername) {
+        String oldUsername = player.getUsername();
+        if (oldUsername.equals(newUsername)) return true;
+        if (byName.get(oldUsername) != player) return false;
+        if (byName.putIfAbsent(newUsername, player) != null) return false;
+
+        player.setUsername(newUsername);
+        byName.remove(oldUsername, player);
+        return true;
+    }
+
+    /**
+     * Elimina al jugador del registro
+     */
+    public synchronized boolean remove(Player player) {
+        return player != null && byName.remove(player.getUsername(), player);
+    }
+
+    /**
+     * Vista de solo lectura de todos los jugadores (no es una copia)
+     */
+    public Collection<Player> all() {
+        return view;
+    }
+
+    public int size() {
+        return byName.size();
+    }
+}
@@ -0,0 +1,23 @@
+package logic;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Dispara a una celda al azar entre las que todavía no se han disparado
+ */
+public class RandomStrategy implements Strategy {
+
+    @Override
+    public int nextShot(long missMask, long hitMask, long sunkMask, RandomGenerator rand) {
+        long free = ~(missMask | hitMask | sunkMask);
+        int count = Long.bitCount(free);
+        if (count == 0) {
+            return rand.nextInt(64);
+        }
+        // Saltar al k-ésimo bit libre
+        for (int k = rand.nextInt(count); k > 0; k--) {
+            free &= free - 1;
+        }
+        return Long.numberOfTrailingZeros(free);
+    }
+}
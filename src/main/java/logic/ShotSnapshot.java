@@ -0,0 +1,58 @@
+package logic;
+
+import model.Player;
+import model.ShotResult;
+
+/**
+ * Resultado inmutable de un disparo hecho en el hilo del motor: lo que la pantalla necesita para
+ * mostrar el mensaje y actualizar el tablero, sin volver a consultar el BattleShip.
+ */
+public final class ShotSnapshot {
+
+    private final ShotResult shot;
+    private final String winnerUsername;
+    private final String enemyUsername;
+    private final BoardSnapshot board;
+
+    private ShotSnapshot(ShotResult shot, String winnerUsername, String enemyUsername, BoardSnapshot board) {
+        this.shot = shot;
+        this.winnerUsername = winnerUsername;
+        this.enemyUsername = enemyUsername;
+        this.board = board;
+    }
+
+    /**
+     * Toma la foto justo después de shoot (antes de cambiar de turno). Solo desde el hilo del motor.
+     */
+    public static ShotSnapshot capture(BattleShip game, ShotResult shot, boolean withShips) {
+        Player winner = shot.isGameOver() ? game.getWinner() : null;
+        return new ShotSnapshot(
+                shot,
+                winner != null ? winner.getUsername() : null,
+                game.getNextTurnUsername(),
+                BoardSnapshot.capture(game, withShips));
+    }
+
+    public ShotResult getShot() {
+        return shot;
+    }
+
+    public boolean isGameOver() {
+        return shot.isGameOver();
+    }
+
+    public String getWinnerUsername() {
+        return winnerUsername;
+    }
+
+    /**
+     * Dueño del tablero al que se disparó (el siguiente turno si fue MISS, el perdedor si terminó)
+     */
+    public String getEnemyUsername() {
+        return enemyUsername;
+    }
+
+    public BoardSnapshot getBoard() {
+        return board;
+    }
+}
@@ -0,0 +1,31 @@
+package logic;
+
+import model.CellState;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategia de disparo para partidas simuladas (bots).
+ * Solo recibe lo que el jugador puede ver del tablero enemigo: las máscaras de MISS, HIT y SUNK
+ * (bit = fila * 8 + columna). Cada partida usa su propia instancia, así que puede guardar estado.
+ */
+public interface Strategy {
+
+    /**
+     * Elige la siguiente celda a disparar
+     * @return índice de la celda (fila * 8 + columna)
+     */
+    int nextShot(long missMask, long hitMask, long sunkMask, RandomGenerator rand);
+
+    /**
+     * Avisa el resultado del último disparo (por defecto no hace nada)
+     */
+    default void onShotResult(int cell, CellState result, boolean regenerated) {
+    }
+
+    /**
+     * Prepara la estrategia para una partida nueva (por defecto no hace nada)
+     */
+    default void reset() {
+    }
+}
@@ -0,0 +1,228 @@
+package logic;
+
+import model.CellState;
+import model.Difficulty;
+import model.ShotResult;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Torneo bot contra bot: juega N partidas entre dos estrategias con el motor sin interfaz.
+ *
+ * Las partidas se reparten en un ForkJoinPool (work-stealing) dividiendo el rango en mitades.
+ * Cada tarea hoja usa su propio GameEngine, sus propias instancias de estrategia y su propio
+ * flujo de números aleatorios (SplittableRandom.split), así que no hay estado compartido
+ * entre hilos y, con la misma semilla, el resultado es reproducible.
+ */
+public class Tournament {
+
+    // Barcos de la flota simulada (también la de los bots y los benchmarks); cada dificultad
+    // usa los primeros getShipsAllowed()
+    private static final String[] FLEET_CODES = {"PA", "AZ", "SM", "DT", "PA"};
+    private static final int[] FLEET_SIZES = {5, 4, 3, 2, 5};
+
+    // Partidas por tarea hoja antes de dejar de dividir
+    private static final int LEAF_MATCHES = 64;
+    // Límite de disparos por partida (evita ciclos con estrategias que repiten celdas)
+    private static final int MAX_SHOTS = 10_000;
+
+    private final Supplier<Strategy> strategyA;
+    private final Supplier<Strategy> strategyB;
+    private final Difficulty difficulty;
+
+    public Tournament(Supplier<Strategy> strategyA, Supplier<Strategy> strategyB, Difficulty difficulty) {
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
+        this.difficulty = difficulty != null ? difficulty : Difficulty.NORMAL;
+    }
+
+    /**
+     * Tamaños de la flota simulada para la dificultad (lo que necesita una estrategia que sigue
+     * los barcos a flote, como DensityStrategy)
+     */
+    public static int[] fleetSizes(Difficulty difficulty) {
+        return Arrays.copyOf(FLEET_SIZES, difficulty.getShipsAllowed());
+    }
+
+    /**
+     * Códigos de los barcos de la flota simulada para la dificultad, en el mismo orden que fleetSizes
+     */
+    public static String[] fleetCodes(Difficulty difficulty) {
+        return Arrays.copyOf(FLEET_CODES, difficulty.getShipsAllowed());
+    }
+
+    /**
+     * Juega las partidas en el pool común
+     */
+    public Result run(int matches, long seed) {
+        return run(matches, seed, ForkJoinPool.commonPool());
+    }
+
+    public Result run(int matches, long seed, ForkJoinPool pool) {
+        return pool.invoke(new MatchRange(0, matches, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Rango de partidas que se divide hasta LEAF_MATCHES
+     */
+    private class MatchRange extends RecursiveTask<Result> {
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        MatchRange(int from, int to, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= LEAF_MATCHES) {
+                return playRange();
+            }
+            int mid = (from + to) >>> 1;
+            MatchRange left = new MatchRange(from, mid, random.split());
+            MatchRange right = new MatchRange(mid, to, random.split());
+            left.fork();
+            Result result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private Result playRange() {
+            Result result = new Result();
+            GameEngine engine = new GameEngine();
+            engine.setDifficulty(difficulty);
+            engine.setRandom(random);
+            Strategy a = strategyA.get();
+            Strategy b = strategyB.get();
+            for (int match = from; match < to; match++) {
+                // Se alterna quién empieza para no favorecer a ninguna estrategia
+                boolean aStarts = (match & 1) == 0;
+                playMatch(engine, aStarts ? a : b, aStarts ? b : a, aStarts, result);
+            }
+            return result;
+        }
+
+        private void playMatch(GameEngine engine, Strategy first, Strategy second, boolean aStarts, Result result) {
+            engine.reset();
+            first.reset();
+            second.reset();
+            for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+                for (int i = 0; i < difficulty.getShipsAllowed(); i++) {
+                    engine.addRandomShip(seat, FLEET_CODES[i], FLEET_SIZES[i], random);
+                }
+                engine.continueToNextTurn();
+            }
+
+            int[] shots = new int[2];
+            int totalShots = 0;
+            while (engine.getWinner() < 0 && totalShots < MAX_SHOTS) {
+                int seat = engine.getCurrentTurn();
+                Strategy strategy = seat == GameEngine.PLAYER_ONE ? first : second;
+                model.BitBoard enemy = engine.getBoard(engine.getEnemySeat());
+
+                int cell = strategy.nextShot(enemy.getMissMask(), enemy.getHitMask(), enemy.getSunkMask(), random);
+                ShotResult shot = engine.shoot(cell >>> 3, cell & 7);
+                CellState state = shot.getState();
+                strategy.onShotResult(cell, state, shot.isRegenerated());
+                shots[seat]++;
+                totalShots++;
+
+                if (state == CellState.MISS) {
+                    engine.nextTurn();
+                }
+            }
+
+            int winner = engine.getWinner();
+            result.matches++;
+            result.regenerations += engine.getRegenerations();
+            if (winner < 0) {
+                result.unfinished++;
+                return;
+            }
+            boolean aWon = (winner == GameEngine.PLAYER_ONE) == aStarts;
+            if (aWon) {
+                result.winsA++;
+                result.shotsToWinA += shots[winner];
+            } else {
+                result.winsB++;
+                result.shotsToWinB += shots[winner];
+            }
+        }
+    }
+
+    /**
+     * Estadísticas acumuladas del torneo
+     */
+    public static class Result {
+        private long matches;
+        private long winsA;
+        private long winsB;
+        private long unfinished;
+        private long shotsToWinA;
+        private long shotsToWinB;
+        private long regenerations;
+
+        void merge(Result other) {
+            matches += other.matches;
+            winsA += other.winsA;
+            winsB += other.winsB;
+            unfinished += other.unfinished;
+            shotsToWinA += other.shotsToWinA;
+            shotsToWinB += other.shotsToWinB;
+            regenerations += other.regenerations;
+        }
+
+        public long getMatches() {
+            return matches;
+        }
+
+        public long getWinsA() {
+            return winsA;
+        }
+
+        public long getWinsB() {
+            return winsB;
+        }
+
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        public double getWinRateA() {
+            return matches > 0 ? (double) winsA / matches : 0.0;
+        }
+
+        public double getWinRateB() {
+            return matches > 0 ? (double) winsB / matches : 0.0;
+        }
+
+        /**
+         * Promedio de disparos que necesitó A en las partidas que ganó
+         */
+        public double getMeanShotsToWinA() {
+            return winsA > 0 ? (double) shotsToWinA / winsA : 0.0;
+        }
+
+        public double getMeanShotsToWinB() {
+            return winsB > 0 ? (double) shotsToWinB / winsB : 0.0;
+        }
+
+        public double getRegenerationsPerMatch() {
+            return matches > 0 ? (double) regenerations / matches : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Partidas: %d | A gana %.1f%% (%.1f disparos) | B gana %.1f%% (%.1f disparos) | sin terminar: %d | regeneraciones/partida: %.2f",
+                    matches, getWinRateA() * 100, getMeanShotsToWinA(),
+                    getWinRateB() * 100, getMeanShotsToWinB(), unfinished, getRegenerationsPerMatch());
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tablero de 8x8 representado con máscaras de 64 bits (bit = fila * 8 + columna).
+ * Guarda la máscara de ocupación de cada barco y las máscaras de los disparos
+ * recibidos (HIT, MISS y SUNK). Las matrices Ship[][] y CellState[][] que usa la UI
+ * se construyen como vistas sobre estas máscaras solo cuando se piden.
+ */
+public class BitBoard {
+
+    public static final int SIZE = 8;
+
+    // Máscaras de una columna de 1..8 celdas (bit 0, 8, 16, ...) para barcos verticales
+    private static final long[] COLUMN_RUN = new long[SIZE + 1];
+
+    static {
+        for (int i = 1; i <= SIZE; i++) {
+            COLUMN_RUN[i] = COLUMN_RUN[i - 1] | (1L << ((i - 1) * SIZE));
+        }
+    }
+
+    private final ArrayList<Ship> ships = new ArrayList<>();
+    private long[] shipMasks = new long[SIZE];
+    private long occupied;
+
+    private long hitMask;
+    private long missMask;
+    private long sunkMask;
+
+    // Sorteo uniforme de flotas para la regeneración (se crea al primer uso)
+    private FleetSampler sampler;
+    private int[] order = new int[SIZE];
+    private int[] sizes = new int[SIZE];
+    private int[] chosen = new int[SIZE];
+
+    // Vistas como matrices (getGridView / getCellView), para la interfaz y las consultas del motor
+    private final Ship[][] gridView = new Ship[SIZE][SIZE];
+    private final CellState[][] cellView = new CellState[SIZE][SIZE];
+    private boolean gridDirty = true;
+    private boolean cellDirty = true;
+
+    // Cambios de la vista de disparos sin entregar (takeDelta)
+    private long changedCells;
+    private boolean viewCleared;
+
+    /**
+     * Bit correspondiente a una celda
+     */
+    public static long bit(int row, int col) {
+        return 1L << (row * SIZE + col);
+    }
+
+    /**
+     * Máscara de un barco. Las partes que quedan fuera del tablero se recortan
+     * (igual que hacía Player.placeShip con la matriz).
+     */
+    public static long shipMask(int size, int row, int col, boolean vertical) {
+        if (size <= 0 || row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+            return 0L;
+        }
+        if (vertical) {
+            int len = Math.min(size, SIZE - row);
+            return COLUMN_RUN[len] << (row * SIZE + col);
+        }
+        int len = Math.min(size, SIZE - col);
+        return ((1L << len) - 1) << (row * SIZE + col);
+    }
+
+    /**
+     * Verifica si un barco cabe completo dentro del tablero
+     */
+    public static boolean fits(int size, int row, int col, boolean vertical) {
+        if (row < 0 || col < 0 || row >= SIZE || col >= SIZE) return false;
+        return vertical ? row + size <= SIZE : col + size <= SIZE;
+    }
+
+    /**
+     * Verifica si un barco cabe en la posición sin solaparse con otro barco
+     */
+    public boolean canPlace(int size, int row, int col, boolean vertical) {
+        return fits(size, row, col, vertical) && (shipMask(size, row, col, vertical) & occupied) == 0;
+    }
+
+    public void placeShip(Ship ship, int row, int col, boolean vertical) {
+        ship.setPosition(row, col);
+        ship.setVertical(vertical);
+
+        long mask = shipMask(ship.getSize(), row, col, vertical);
+        int index = ships.indexOf(ship);
+        if (index < 0) {
+            index = ships.size();
+            ships.add(ship);
+            if (index == shipMasks.length) {
+                shipMasks = java.util.Arrays.copyOf(shipMasks, index * 2);
+            }
+        }
+        shipMasks[index] = mask;
+        recomputeOccupied();
+    }
+
+    /**
+     * Coloca el barco en una posición libre elegida al azar de la tabla de Placements
+     * @return false si no queda ninguna posición libre para su tamaño
+     */
+    public boolean placeRandom(Ship ship, RandomGenerator rand) {
+        int size = ship.getSize();
+        int index = Placements.pickFree(size, occupied, rand);
+        if (index < 0) return false;
+        placeShip(ship, Placements.row(size, index), Placements.col(size, index), Placements.vertical(size, index));
+        return true;
+    }
+
+    /**
+     * Regenera el tablero (Battleship dinámico): los barcos hundidos se quedan donde están y
+     * los demás toman una configuración elegida de manera uniforme entre todas las válidas.
+     * Los daños de cada barco no cambian.
+     */
+    public void regenerate(ArrayList<Ship> fleet, RandomGenerator rand) {
+        clearShips();
+        if (order.length < fleet.size()) {
+            order = new int[fleet.size()];
+            sizes = new int[fleet.size()];
+            chosen = new int[fleet.size()];
+        }
+
+        // Barcos hundidos en su posición original; los activos se ordenan de mayor a menor
+        int active = 0;
+        for (int i = 0; i < fleet.size(); i++) {
+            Ship ship = fleet.get(i);
+            if (ship == null) continue;
+            if (ship.isSunk()) {
+                placeShip(ship, ship.getRow(), ship.getCol(), ship.isVertical());
+                continue;
+            }
+            int k = active++;
+            while (k > 0 && fleet.get(order[k - 1]).getSize() < ship.getSize()) {
+                order[k] = order[k - 1];
+                k--;
+            }
+            order[k] = i;
+        }
+        for (int k = 0; k < active; k++) {
+            sizes[k] = fleet.get(order[k]).getSize();
+        }
+
+        if (sampler == null) {
+            sampler = new FleetSampler();
+        }
+        if (sampler.sample(occupied, sizes, active, rand, chosen)) {
+            for (int k = 0; k < active; k++) {
+                int size = sizes[k];
+                int index = chosen[k];
+                placeShip(fleet.get(order[k]), Placements.row(size, index), Placements.col(size, index), Placements.vertical(size, index));
+            }
+            return;
+        }
+
+        // No hay ninguna configuración válida: colocar uno por uno y, si no cabe, dejarlo donde estaba
+        for (int k = 0; k < active; k++) {
+            Ship ship = fleet.get(order[k]);
+            if (!placeRandom(ship, rand)) {
+                placeShip(ship, ship.getRow(), ship.getCol(), ship.isVertical());
+            }
+        }
+    }
+
+    /**
+     * Coloca cada barco de la flota en la posición dada (celda << 1 | vertical), por ejemplo al
+     * reproducir una regeneración grabada
+     */
+    public void arrange(ArrayList<Ship> fleet, int[] positions) {
+        clearShips();
+        for (int i = 0; i < fleet.size(); i++) {
+            int cell = positions[i] >>> 1;
+            placeShip(fleet.get(i), cell >>> 3, cell & 7, (positions[i] & 1) != 0);
+        }
+    }
+
+    public void removeShip(Ship ship) {
+        int index = ships.indexOf(ship);
+        if (index < 0) return;
+        int last = ships.size() - 1;
+        System.arraycopy(shipMasks, index + 1, shipMasks, index, last - index);
+        shipMasks[last] = 0L;
+        ships.remove(index);
+        recomputeOccupied();
+    }
+
+    /**
+     * Quita todos los barcos del tablero (no toca los disparos)
+     */
+    public void clearShips() {
+        for (int i = 0; i < ships.size(); i++) {
+            shipMasks[i] = 0L;
+        }
+        ships.clear();
+        occupied = 0L;
+        gridDirty = true;
+    }
+
+    private void recomputeOccupied() {
+        long mask = 0L;
+        for (int i = 0; i < ships.size(); i++) {
+            mask |= shipMasks[i];
+        }
+        occupied = mask;
+        gridDirty = true;
+    }
+
+    /**
+     * Índice del barco que ocupa la celda, o -1 si es agua.
+     * Si dos barcos se solapan gana el último colocado, como en la matriz original.
+     */
+    public int indexAt(long cell) {
+        if ((occupied & cell) == 0) return -1;
+        for (int i = ships.size() - 1; i >= 0; i--) {
+            if ((shipMasks[i] & cell) != 0) return i;
+        }
+        return -1;
+    }
+
+    public Ship shipAt(long cell) {
+        int index = indexAt(cell);
+        return index >= 0 ? ships.get(index) : null;
+    }
+
+    public Ship shipAt(int row, int col) {
+        return shipAt(bit(row, col));
+    }
+
+    public long maskOf(Ship ship) {
+        int index = ships.indexOf(ship);
+        return index >= 0 ? shipMasks[index] : 0L;
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public ArrayList<Ship> getShips() {
+        return ships;
+    }
+
+    // ---- Disparos recibidos ----
+
+    public long getHitMask() {
+        return hitMask;
+    }
+
+    public long getMissMask() {
+        return missMask;
+    }
+
+    public long getSunkMask() {
+        return sunkMask;
+    }
+
+    /**
+     * Celdas que ya fueron disparadas (HIT, MISS o SUNK)
+     */
+    public long getShotMask() {
+        return hitMask | missMask | sunkMask;
+    }
+
+    public void markMiss(long cell) {
+        missMask |= cell;
+        changedCells |= cell;
+        cellDirty = true;
+    }
+
+    public void markHit(long cell) {
+        hitMask |= cell;
+        changedCells |= cell;
+        cellDirty = true;
+    }
+
+    /**
+     * Marca todas las celdas del barco como SUNK
+     */
+    public void markSunk(Ship ship) {
+        long mask = maskOf(ship);
+        sunkMask |= mask;
+        hitMask &= ~mask;
+        missMask &= ~mask;
+        changedCells |= mask;
+        cellDirty = true;
+    }
+
+    /**
+     * Borra los MISS y HIT, conservando solo los SUNK (regeneración dinámica)
+     */
+    public void clearShotsExceptSunk() {
+        hitMask = 0L;
+        missMask = 0L;
+        // Un solo cambio "limpiar salvo SUNK"; de lo anterior solo quedan los SUNK nuevos
+        changedCells &= sunkMask;
+        viewCleared = true;
+        cellDirty = true;
+    }
+
+    public void clearShots() {
+        changedCells |= getShotMask();
+        hitMask = 0L;
+        missMask = 0L;
+        sunkMask = 0L;
+        cellDirty = true;
+    }
+
+    /**
+     * Todos los barcos están hundidos cuando toda celda ocupada está marcada como SUNK
+     */
+    public boolean allShipsSunk() {
+        return (occupied & ~sunkMask) == 0;
+    }
+
+    public CellState viewAt(long cell) {
+        if ((sunkMask & cell) != 0) return CellState.SUNK;
+        if ((hitMask & cell) != 0) return CellState.HIT;
+        if ((missMask & cell) != 0) return CellState.MISS;
+        return CellState.WATER;
+    }
+
+    public CellState viewAt(int row, int col) {
+        return viewAt(bit(row, col));
+    }
+
+    /**
+     * Reemplaza las máscaras de disparos recibidos (por ejemplo al saltar dentro de un replay)
+     */
+    public void restoreShots(long hits, long misses, long sunk) {
+        changedCells |= getShotMask() | hits | misses | sunk;
+        hitMask = hits;
+        missMask = misses;
+        sunkMask = sunk;
+        cellDirty = true;
+    }
+
+    public void setView(int row, int col, CellState state) {
+        long cell = bit(row, col);
+        hitMask &= ~cell;
+        missMask &= ~cell;
+        sunkMask &= ~cell;
+        changedCells |= cell;
+        if (state == CellState.HIT) {
+            hitMask |= cell;
+        } else if (state == CellState.MISS) {
+            missMask |= cell;
+        } else if (state == CellState.SUNK) {
+            sunkMask |= cell;
+        }
+        cellDirty = true;
+    }
+
+    /**
+     * Cambios de la vista de disparos desde la llamada anterior (o desde que se creó el tablero).
+     * Pensado para un único consumidor por tablero, que aplica solo lo que cambió.
+     */
+    public BoardDelta takeDelta() {
+        if (changedCells == 0L && !viewCleared) {
+            return BoardDelta.NONE;
+        }
+        BoardDelta delta = new BoardDelta(viewCleared, changedCells, hitMask, missMask, sunkMask);
+        changedCells = 0L;
+        viewCleared = false;
+        return delta;
+    }
+
+    // ---- Vistas ----
+
+    /**
+     * Vista Ship[][] de los barcos (se reconstruye solo si cambió algún barco)
+     */
+    public Ship[][] getGridView() {
+        if (gridDirty) {
+            for (int r = 0; r < SIZE; r++) {
+                for (int c = 0; c < SIZE; c++) {
+                    gridView[r][c] = shipAt(r, c);
+                }
+            }
+            gridDirty = false;
+        }
+        return gridView;
+    }
+
+    /**
+     * Vista CellState[][] de los disparos recibidos (se reconstruye solo si hubo cambios)
+     */
+    public CellState[][] getCellView() {
+        if (cellDirty) {
+            for (int r = 0; r < SIZE; r++) {
+                for (int c = 0; c < SIZE; c++) {
+                    cellView[r][c] = viewAt(r, c);
+                }
+            }
+            cellDirty = false;
+        }
+        return cellView;
+    }
+}
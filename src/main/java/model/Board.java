@@ -1,64 +1,49 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Board {
 
-    private Ship[][] grid;
+    private final BitBoard bits;
     private ArrayList<Ship> ships;
 
     public Board() {
-        grid = new Ship[8][8];
+        bits = new BitBoard();
         ships = new ArrayList<>();
     }
 
     public boolean placeShip(Ship ship, int row, int col, boolean vertical) {
         if (!canPlace(ship, row, col, vertical)) return false;
 
-        ship.setPosition(row, col);
-        ship.setVertical(vertical);
-
-        for (int i = 0; i < ship.getSize(); i++) {
-            int r = row + (vertical ? i : 0);
-            int c = col + (vertical ? 0 : i);
-            grid[r][c] = ship;
+        bits.placeShip(ship, row, col, vertical);
+        if (!ships.contains(ship)) {
+            ships.add(ship);
         }
-
-        ships.add(ship);
         return true;
     }
 
     private boolean canPlace(Ship ship, int row, int col, boolean vertical) {
-        for (int i = 0; i < ship.getSize(); i++) {
-            int r = row + (vertical ? i : 0);
-            int c = col + (vertical ? 0 : i);
-
-            if (r < 0 || r >= 8 || c < 0 || c >= 8) return false;
-            if (grid[r][c] != null) return false;
-        }
-        return true;
+        return bits.canPlace(ship.getSize(), row, col, vertical);
     }
 
     public Ship bomb(int row, int col) {
-        return grid[row][col];
+        return bits.shipAt(row, col);
     }
 
     public void clearBoard() {
-        grid = new Ship[8][8];
+        bits.clearShips();
     }
 
     public void regenerate() {
         clearBoard();
-        Random rand = new Random();
+        RandomGenerator rand = ThreadLocalRandom.current();
 
         for (Ship ship : ships) {
-            boolean placed = false;
-            while (!placed) {
-                int row = rand.nextInt(8);
-                int col = rand.nextInt(8);
-                boolean vertical = rand.nextBoolean();
-                placed = placeShip(ship, row, col, vertical);
+            if (!bits.placeRandom(ship, rand)) {
+                // Tablero lleno: mantener la posición anterior en lugar de reintentar sin fin
+                bits.placeShip(ship, ship.getRow(), ship.getCol(), ship.isVertical());
             }
         }
     }
@@ -72,7 +57,11 @@ public class Board {
     }
 
     public Ship[][] getGrid() {
-        return grid;
+        return bits.getGridView();
+    }
+
+    public BitBoard getBitBoard() {
+        return bits;
     }
 
     public ArrayList<Ship> getShips() {
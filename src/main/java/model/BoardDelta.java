@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * Cambios en la vista de disparos de un tablero desde la última vez que se pidieron.
+ *
+ * Si cleared es true el tablero se regeneró: toda celda que no sea SUNK vuelve a WATER antes de
+ * aplicar las celdas cambiadas. changed marca las celdas cuyo estado cambió y las máscaras hit,
+ * miss y sunk dan su estado nuevo (una celda cambiada que no está en ninguna es WATER).
+ * Aplicar el mismo cambio dos veces da el mismo resultado.
+ */
+public final class BoardDelta {
+
+    public static final BoardDelta NONE = new BoardDelta(false, 0L, 0L, 0L, 0L);
+
+    private final boolean cleared;
+    private final long changed;
+    private final long hit;
+    private final long miss;
+    private final long sunk;
+
+    public BoardDelta(boolean cleared, long changed, long hit, long miss, long sunk) {
+        this.cleared = cleared;
+        this.changed = changed;
+        this.hit = hit & changed;
+        this.miss = miss & changed;
+        this.sunk = sunk & changed;
+    }
+
+    public boolean isCleared() {
+        return cleared;
+    }
+
+    public long getChanged() {
+        return changed;
+    }
+
+    public boolean isEmpty() {
+        return !cleared && changed == 0L;
+    }
+
+    /**
+     * Estado nuevo de una celda cambiada
+     */
+    public CellState stateAt(long cell) {
+        if ((sunk & cell) != 0) return CellState.SUNK;
+        if ((hit & cell) != 0) return CellState.HIT;
+        if ((miss & cell) != 0) return CellState.MISS;
+        return CellState.WATER;
+    }
+
+    /**
+     * Aplica el cambio a las máscaras {HIT, MISS, SUNK} de una vista
+     */
+    public void applyTo(long[] masks) {
+        if (cleared) {
+            masks[0] = 0L;
+            masks[1] = 0L;
+        }
+        masks[0] = masks[0] & ~changed | hit;
+        masks[1] = masks[1] & ~changed | miss;
+        masks[2] = masks[2] & ~changed | sunk;
+    }
+
+    /**
+     * Aplica el cambio a una vista CellState[][]
+     */
+    public void applyTo(CellState[][] view) {
+        for (int r = 0; r < BitBoard.SIZE; r++) {
+            for (int c = 0; c < BitBoard.SIZE; c++) {
+                long cell = BitBoard.bit(r, c);
+                if ((changed & cell) != 0) {
+                    view[r][c] = stateAt(cell);
+                } else if (cleared && view[r][c] != CellState.SUNK) {
+                    view[r][c] = CellState.WATER;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoardDelta[cleared=" + cleared + ", changed=" + Long.bitCount(changed) + "]";
+    }
+}
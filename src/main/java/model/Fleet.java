@@ -0,0 +1,49 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Reglas de la flota: qué barcos existen, cuánto mide cada uno y qué combinaciones permite cada
+ * dificultad (la cantidad la da {@link Difficulty#getShipsAllowed()}).
+ *
+ * Sin duplicados, salvo en EASY: ahí se puede repetir un barco una vez, excepto el Destructor.
+ */
+public final class Fleet {
+
+    private Fleet() {
+    }
+
+    /**
+     * Tamaño del barco con ese código, o -1 si el código no existe
+     */
+    public static int sizeOf(String code) {
+        if (code == null) return -1;
+        return switch (code) {
+            case "PA" -> 5;
+            case "AZ" -> 4;
+            case "SM" -> 3;
+            case "DT" -> 2;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Se puede agregar un barco con ese código a los ya colocados sin romper las reglas de la dificultad
+     */
+    public static boolean canAdd(Difficulty difficulty, List<Ship> placed, String code) {
+        if (sizeOf(code) < 0 || placed.size() >= difficulty.getShipsAllowed()) {
+            return false;
+        }
+        int sameCode = 0;
+        int repeated = 0;
+        for (int i = 0; i < placed.size(); i++) {
+            String other = placed.get(i).getCode();
+            if (other.equals(code)) sameCode++;
+            for (int j = 0; j < i; j++) {
+                if (placed.get(j).getCode().equals(other)) repeated++;
+            }
+        }
+        if (sameCode == 0) return true;
+        return difficulty == Difficulty.EASY && !code.equals("DT") && sameCode == 1 && repeated == 0;
+    }
+}
@@ -0,0 +1,378 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteo uniforme de flotas completas para el Battleship dinámico.
+ *
+ * Cuenta cuántas configuraciones válidas (sin solapes) tienen los barcos que siguen a flote
+ * alrededor de las celdas fijas (barcos hundidos) y después elige una de ellas con
+ * probabilidad exactamente uniforme. Los conteos parciales se guardan por máscara de
+ * ocupación, así que mientras no se hunda otro barco cada regeneración solo recorre un
+ * camino del árbol: el costo por HIT es acotado y no depende de la suerte.
+ *
+ * Las colocaciones de cada tamaño se manejan como conjuntos de bits sobre los índices de
+ * {@link Placements} (2 palabras de 64 bits alcanzan para las 112 colocaciones de tamaño 2).
+ *
+ * Los conteos dependen solo de (celdas fijas, tamaños), así que una vez completos se comparten
+ * entre todas las instancias y todos los hilos: una partida o un tablero nuevo no vuelve a pagar
+ * el conteo en frío. Cada instancia tiene su propio espacio de trabajo y no es thread-safe.
+ */
+public class FleetSampler {
+
+    private static final int SIZE = BitBoard.SIZE;
+    private static final int WORDS = 2;
+
+    // CONFLICTS[a][i][2 * b + w]: colocaciones de tamaño b que se solapan con la colocación i de tamaño a
+    private static final long[][][] CONFLICTS = new long[SIZE + 1][][];
+
+    static {
+        for (int a = 1; a <= SIZE; a++) {
+            int countA = Placements.count(a);
+            CONFLICTS[a] = new long[countA][WORDS * (SIZE + 1)];
+            for (int i = 0; i < countA; i++) {
+                long maskA = Placements.mask(a, i);
+                long[] conflicts = CONFLICTS[a][i];
+                for (int b = 1; b <= SIZE; b++) {
+                    for (int j = 0; j < Placements.count(b); j++) {
+                        if ((Placements.mask(b, j) & maskA) != 0) {
+                            conflicts[WORDS * b + (j >>> 6)] |= 1L << j;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Flotas preparadas recientemente (LRU). La flota completa sin barcos hundidos se repite en
+    // cada partida, así que sus conteos sobreviven a los de las flotas con barcos hundidos.
+    private static final int MAX_CONTEXTS = 8;
+
+    // Conteos completos por flota, compartidos; una vez publicados solo se leen. Al llenarse se
+    // descartan primero los de flotas con barcos hundidos (las flotas completas son las caras).
+    private static final int MAX_SHARED = 256;
+    private static final ConcurrentHashMap<FleetKey, LongCountMap[]> SHARED = new ConcurrentHashMap<>();
+
+    private final Context[] contexts = new Context[MAX_CONTEXTS];
+    private long useCounter;
+
+    // Flota preparada en uso
+    private int[] sizes;
+    private int shipCount;
+    // legal[level][2 * k + w]: colocaciones libres del barco k (k >= level) al llegar a ese nivel
+    private long[][] legal;
+    // Conteos guardados por máscara de ocupación, uno por nivel
+    private LongCountMap[] cache;
+    private Context current;
+
+    /**
+     * Número de configuraciones válidas de la flota alrededor de las celdas fijas
+     * @param sizes tamaños de los barcos, de mayor a menor
+     */
+    public long count(long fixed, int[] sizes, int shipCount) {
+        prepare(fixed, sizes, shipCount);
+        return countAll(fixed);
+    }
+
+    /**
+     * Elige una configuración completa de manera uniforme entre todas las válidas
+     * @param sizes tamaños de los barcos, de mayor a menor
+     * @param out índice de {@link Placements} elegido para cada barco
+     * @return false si no existe ninguna configuración válida
+     */
+    public boolean sample(long fixed, int[] sizes, int shipCount, RandomGenerator rand, int[] out) {
+        prepare(fixed, sizes, shipCount);
+        long total = countAll(fixed);
+        if (total == 0) return false;
+
+        long target = rand.nextLong(total);
+        long occ = fixed;
+        for (int level = 0; level < shipCount; level++) {
+            int size = sizes[level];
+            long[] cur = legal[level];
+            boolean chosen = false;
+            for (int w = 0; w < WORDS && !chosen; w++) {
+                long bits = cur[WORDS * level + w];
+                while (bits != 0) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    long weight = 1;
+                    if (level < shipCount - 1) {
+                        narrow(level, size, i);
+                        weight = count(level + 1, occ | Placements.mask(size, i));
+                    }
+                    if (target < weight) {
+                        out[level] = i;
+                        occ |= Placements.mask(size, i);
+                        chosen = true;
+                        break;
+                    }
+                    target -= weight;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conteo de la raíz; la primera vez llena los conteos de todo el árbol y los publica
+     */
+    private long countAll(long fixed) {
+        long total = count(0, fixed);
+        if (!current.shared) {
+            current.publish();
+            cache = current.cache;
+        }
+        return total;
+    }
+
+    private void prepare(long fixed, int[] newSizes, int n) {
+        Context context = null;
+        Context oldest = null;
+        int free = -1;
+        for (int i = 0; i < MAX_CONTEXTS; i++) {
+            Context c = contexts[i];
+            if (c == null) {
+                if (free < 0) free = i;
+            } else if (c.matches(fixed, newSizes, n)) {
+                context = c;
+                break;
+            } else if (oldest == null || c.lastUse < oldest.lastUse) {
+                oldest = c;
+            }
+        }
+        if (context == null) {
+            if (free >= 0) {
+                context = new Context();
+                contexts[free] = context;
+            } else {
+                context = oldest;
+            }
+            context.init(fixed, newSizes, n);
+        }
+        context.lastUse = ++useCounter;
+
+        current = context;
+        sizes = context.sizes;
+        shipCount = context.shipCount;
+        legal = context.legal;
+        cache = context.cache;
+    }
+
+    /**
+     * Calcula en legal[level + 1] las colocaciones libres de los barcos siguientes
+     * después de colocar el barco del nivel en la colocación i
+     */
+    private void narrow(int level, int size, int i) {
+        long[] cur = legal[level];
+        long[] next = legal[level + 1];
+        long[] conflicts = CONFLICTS[size][i];
+        for (int k = level + 1; k < shipCount; k++) {
+            int b = sizes[k];
+            next[WORDS * k] = cur[WORDS * k] & ~conflicts[WORDS * b];
+            next[WORDS * k + 1] = cur[WORDS * k + 1] & ~conflicts[WORDS * b + 1];
+        }
+    }
+
+    private long count(int level, long occ) {
+        int n = shipCount;
+        if (level >= n) return 1;
+        long[] cur = legal[level];
+        if (level == n - 1) {
+            return Long.bitCount(cur[WORDS * level]) + Long.bitCount(cur[WORDS * level + 1]);
+        }
+
+        boolean memo = level < n - 2;
+        if (memo) {
+            long cached = cache[level].get(occ);
+            if (cached >= 0) return cached;
+        }
+        // Los conteos compartidos están completos y no se modifican
+        boolean store = memo && !current.shared;
+
+        int size = sizes[level];
+        long total = 0;
+        if (level == n - 2) {
+            // Los dos últimos barcos: por cada colocación del primero, las del último que no chocan
+            int last = n - 1;
+            int lastSize = sizes[last];
+            long lo = cur[WORDS * last];
+            long hi = cur[WORDS * last + 1];
+            for (int w = 0; w < WORDS; w++) {
+                long bits = cur[WORDS * level + w];
+                while (bits != 0) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    long[] conflicts = CONFLICTS[size][i];
+                    total += Long.bitCount(lo & ~conflicts[WORDS * lastSize])
+                            + Long.bitCount(hi & ~conflicts[WORDS * lastSize + 1]);
+                }
+            }
+        } else {
+            for (int w = 0; w < WORDS; w++) {
+                long bits = cur[WORDS * level + w];
+                while (bits != 0) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    narrow(level, size, i);
+                    total += count(level + 1, occ | Placements.mask(size, i));
+                }
+            }
+        }
+
+        if (store) {
+            cache[level].put(occ, total);
+        }
+        return total;
+    }
+
+    /**
+     * Flota preparada: tamaños, celdas fijas, colocaciones libres y conteos guardados
+     */
+    private static final class Context {
+        private long fixed;
+        private int shipCount = -1;
+        private int[] sizes = new int[0];
+        private long[][] legal = new long[0][];
+        private LongCountMap[] cache = new LongCountMap[0];
+        // Los conteos son los publicados en SHARED (completos, solo lectura)
+        private boolean shared;
+        private long lastUse;
+
+        boolean matches(long fixed, int[] newSizes, int n) {
+            return n == shipCount && fixed == this.fixed && Arrays.equals(sizes, 0, n, newSizes, 0, n);
+        }
+
+        void init(long fixed, int[] newSizes, int n) {
+            this.fixed = fixed;
+            this.shipCount = n;
+            if (sizes.length < n) {
+                sizes = new int[n];
+                legal = new long[n][WORDS * n];
+            }
+            System.arraycopy(newSizes, 0, sizes, 0, n);
+
+            LongCountMap[] counts = SHARED.get(key());
+            shared = counts != null;
+            if (counts == null) {
+                counts = new LongCountMap[n];
+                for (int i = 0; i < n; i++) {
+                    counts[i] = new LongCountMap();
+                }
+            }
+            cache = counts;
+
+            // Colocaciones libres de cada barco con solo las celdas fijas ocupadas
+            for (int k = 0; k < n; k++) {
+                int size = sizes[k];
+                legal[0][WORDS * k] = 0L;
+                legal[0][WORDS * k + 1] = 0L;
+                for (int j = 0; j < Placements.count(size); j++) {
+                    if ((Placements.mask(size, j) & fixed) == 0) {
+                        legal[0][WORDS * k + (j >>> 6)] |= 1L << j;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Comparte los conteos recién completados (si otro hilo ya publicó los mismos, usa esos)
+         */
+        void publish() {
+            FleetKey key = key();
+            if (SHARED.size() >= MAX_SHARED) {
+                evictOne();
+            }
+            LongCountMap[] previous = SHARED.putIfAbsent(key, cache);
+            if (previous != null) {
+                cache = previous;
+            }
+            shared = true;
+        }
+
+        private FleetKey key() {
+            return new FleetKey(fixed, Arrays.copyOf(sizes, shipCount));
+        }
+
+        private static void evictOne() {
+            FleetKey victim = null;
+            for (FleetKey key : SHARED.keySet()) {
+                victim = key;
+                if (key.fixed != 0L) break;
+            }
+            if (victim != null) {
+                SHARED.remove(victim);
+            }
+        }
+    }
+
+    /**
+     * Clave de los conteos compartidos: celdas fijas y tamaños de la flota a flote
+     */
+    private record FleetKey(long fixed, int[] sizes) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FleetKey other && fixed == other.fixed && Arrays.equals(sizes, other.sizes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fixed) * 31 + Arrays.hashCode(sizes);
+        }
+    }
+
+    /**
+     * Mapa long -> conteo con direccionamiento abierto, para no crear objetos Long en cada consulta
+     */
+    private static final class LongCountMap {
+        private long[] keys = new long[64];
+        private long[] values = new long[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        long get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return values[slot];
+            }
+            return -1;
+        }
+
+        void put(long key, long value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
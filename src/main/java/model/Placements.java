@@ -0,0 +1,103 @@
+package model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Tabla precalculada con todas las colocaciones legales de un barco de cada tamaño
+ * en el tablero de 8x8 (horizontales y verticales). Cada colocación es una máscara
+ * de BitBoard más su origen (fila, columna, orientación).
+ */
+public final class Placements {
+
+    private static final int SIZE = BitBoard.SIZE;
+
+    private static final long[][] MASKS = new long[SIZE + 1][];
+    // Origen codificado: fila << 4 | columna << 1 | vertical
+    private static final int[][] ORIGINS = new int[SIZE + 1][];
+
+    static {
+        for (int size = 1; size <= SIZE; size++) {
+            int perLine = SIZE - size + 1;
+            int total = size == 1 ? SIZE * SIZE : 2 * SIZE * perLine;
+            long[] masks = new long[total];
+            int[] origins = new int[total];
+            int n = 0;
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < perLine; col++) {
+                    masks[n] = BitBoard.shipMask(size, row, col, false);
+                    origins[n++] = (row << 4) | (col << 1);
+                }
+            }
+            if (size > 1) {
+                for (int row = 0; row < perLine; row++) {
+                    for (int col = 0; col < SIZE; col++) {
+                        masks[n] = BitBoard.shipMask(size, row, col, true);
+                        origins[n++] = (row << 4) | (col << 1) | 1;
+                    }
+                }
+            }
+            MASKS[size] = masks;
+            ORIGINS[size] = origins;
+        }
+        MASKS[0] = new long[0];
+        ORIGINS[0] = new int[0];
+    }
+
+    private Placements() {
+    }
+
+    /**
+     * Número de colocaciones posibles para un barco de este tamaño (0 si no cabe)
+     */
+    public static int count(int size) {
+        return size >= 0 && size <= SIZE ? MASKS[size].length : 0;
+    }
+
+    public static long mask(int size, int index) {
+        return MASKS[size][index];
+    }
+
+    public static int row(int size, int index) {
+        return ORIGINS[size][index] >>> 4;
+    }
+
+    public static int col(int size, int index) {
+        return (ORIGINS[size][index] >>> 1) & 7;
+    }
+
+    public static boolean vertical(int size, int index) {
+        return (ORIGINS[size][index] & 1) != 0;
+    }
+
+    /**
+     * Cuenta las colocaciones que no se solapan con la máscara ocupada
+     */
+    public static int countFree(int size, long occupied) {
+        if (size < 0 || size > SIZE) return 0;
+        long[] masks = MASKS[size];
+        int free = 0;
+        for (long mask : masks) {
+            if ((mask & occupied) == 0) free++;
+        }
+        return free;
+    }
+
+    /**
+     * Elige de manera uniforme una de las colocaciones que no se solapan con la máscara ocupada.
+     * Recorre la tabla dos veces como máximo y no reserva memoria.
+     * @return índice de la colocación, o -1 si no queda ninguna libre
+     */
+    public static int pickFree(int size, long occupied, RandomGenerator rand) {
+        int free = countFree(size, occupied);
+        if (free == 0) return -1;
+
+        int target = rand.nextInt(free);
+        long[] masks = MASKS[size];
+        for (int i = 0; i < masks.length; i++) {
+            if ((masks[i] & occupied) == 0 && target-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,8 @@
+package model;
+
+public interface PlayerListener {
+    void pointsChanged(Player player, int oldPoints);
+
+    default void gameAdded(Player player, String gameResult) {
+    }
+}
@@ -1,6 +1,5 @@
 package model;
 
-import java.awt.Image;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -12,17 +11,15 @@ public class Ship {
     private boolean vertical;
     private int row;
     private int col;
-    private Image image;
-    // Rastrear qué partes específicas del barco han sido golpeadas (índices 0 a size-1)
-    private Set<Integer> hitParts;
+    // Partes golpeadas como máscara de bits (bit i = parte i, índices 0 a size-1)
+    private int hitParts;
 
-    public Ship(String code, int size, Image image) {
+    public Ship(String code, int size) {
         this.code = code;
         this.size = size;
-        this.image = image;
         this.hits = 0;
         this.vertical = true;
-        this.hitParts = new HashSet<>();
+        this.hitParts = 0;
     }
 
     /**
@@ -34,11 +31,11 @@ public class Ship {
         if (partIndex < 0 || partIndex >= size) {
             return false;
         }
-        if (hitParts.contains(partIndex)) {
+        if (isPartHit(partIndex)) {
             // Esta parte ya fue golpeada antes
             return false;
         }
-        hitParts.add(partIndex);
+        hitParts |= 1 << partIndex;
         hits++;
         return true;
     }
@@ -56,14 +53,33 @@ public class Ship {
      * Obtiene el conjunto de partes golpeadas
      */
     public Set<Integer> getHitParts() {
-        return new HashSet<>(hitParts);
+        Set<Integer> parts = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            if (isPartHit(i)) parts.add(i);
+        }
+        return parts;
+    }
+
+    /**
+     * Obtiene las partes golpeadas como máscara de bits
+     */
+    public int getHitPartsMask() {
+        return hitParts;
     }
     
+    /**
+     * Restaura las partes golpeadas desde una máscara de bits (por ejemplo al saltar dentro de un replay)
+     */
+    public void setHitPartsMask(int mask) {
+        hitParts = mask & ((1 << size) - 1);
+        hits = Integer.bitCount(hitParts);
+    }
+
     /**
      * Verifica si una parte específica ha sido golpeada
      */
     public boolean isPartHit(int partIndex) {
-        return hitParts.contains(partIndex);
+        return partIndex >= 0 && partIndex < size && (hitParts & (1 << partIndex)) != 0;
     }
 
     public String getCode() {
@@ -99,7 +115,15 @@ public class Ship {
         this.col = col;
     }
 
-    public Image getImage() {
-        return image;
+    /**
+     * Copia independiente del barco (posición, orientación y partes golpeadas)
+     */
+    public Ship copy() {
+        Ship copy = new Ship(code, size);
+        copy.setPosition(row, col);
+        copy.setVertical(vertical);
+        copy.hitParts = hitParts;
+        copy.hits = hits;
+        return copy;
     }
 }
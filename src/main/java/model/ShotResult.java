@@ -0,0 +1,87 @@
+package model;
+
+/**
+ * Resultado inmutable de un disparo, devuelto por GameEngine.shoot.
+ *
+ * Reemplaza a los campos "último disparo" del motor, que obligaban a leer el resultado en una
+ * segunda llamada sobre el mismo objeto compartido. Es una clase final chica, sin identidad ni
+ * estado mutable, así que cuando el JIT inlinea el disparo puede reemplazarla por sus campos
+ * (escape analysis). Los resultados sin barco (MISS y celdas ya disparadas) son instancias
+ * compartidas, así que el caso más común no reserva memoria aunque no haya inlining.
+ */
+public final class ShotResult {
+
+    public static final ShotResult MISS = new ShotResult(CellState.MISS, null, -1, false, false, false);
+
+    // Resultados sin barco por estado de la celda (índice = ordinal)
+    private static final ShotResult[] NO_SHIP = new ShotResult[CellState.values().length];
+
+    static {
+        for (CellState state : CellState.values()) {
+            NO_SHIP[state.ordinal()] = state == CellState.MISS
+                    ? MISS
+                    : new ShotResult(state, null, -1, false, false, false);
+        }
+    }
+
+    private final CellState state;
+    private final String shipCode;
+    private final int part;
+    private final boolean sunk;
+    private final boolean regenerated;
+    private final boolean gameOver;
+
+    /**
+     * @param state HIT, MISS o SUNK (o el estado que ya tenía una celda disparada antes)
+     * @param shipCode código del barco golpeado, o null
+     * @param part parte golpeada del barco (0-based), o -1
+     * @param sunk el barco golpeado está hundido
+     * @param regenerated el disparo regeneró el tablero enemigo
+     * @param gameOver el disparo hundió el último barco
+     */
+    public ShotResult(CellState state, String shipCode, int part, boolean sunk, boolean regenerated, boolean gameOver) {
+        this.state = state;
+        this.shipCode = shipCode;
+        this.part = part;
+        this.sunk = sunk;
+        this.regenerated = regenerated;
+        this.gameOver = gameOver;
+    }
+
+    /**
+     * Resultado sin barco golpeado ni regeneración (instancia compartida)
+     */
+    public static ShotResult of(CellState state) {
+        return NO_SHIP[state.ordinal()];
+    }
+
+    public CellState getState() {
+        return state;
+    }
+
+    public String getShipCode() {
+        return shipCode;
+    }
+
+    public int getPart() {
+        return part;
+    }
+
+    public boolean isSunk() {
+        return sunk;
+    }
+
+    public boolean isRegenerated() {
+        return regenerated;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public String toString() {
+        return state + (shipCode != null ? " " + shipCode + "[" + part + "]" : "")
+                + (sunk ? " hundido" : "") + (regenerated ? " regenerado" : "") + (gameOver ? " fin" : "");
+    }
+}
@@ -0,0 +1,143 @@
+package net;
+
+import logic.DensityStrategy;
+import logic.Log;
+import logic.Strategy;
+import logic.Tournament;
+import model.BitBoard;
+import model.Difficulty;
+import model.Ship;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Jugador automático que usa el servidor como lo haría un cliente real: se registra (o inicia
+ * sesión), reta al rival o espera que lo reten, coloca su flota al azar y dispara con
+ * DensityStrategy a partir de lo que el servidor le cuenta del tablero enemigo hasta que termina
+ * la partida. Sirve para probar el servidor con carga.
+ */
+public class BotPlayer implements Runnable {
+
+    private final int port;
+    private final String username;
+    private final String opponent;
+    private final Difficulty difficulty;
+    private final SplittableRandom random;
+
+    private int shots;
+    private boolean won;
+    private boolean finished;
+
+    /**
+     * @param opponent rival a retar, o null para esperar un reto
+     */
+    public BotPlayer(int port, String username, String opponent, Difficulty difficulty, long seed) {
+        this.port = port;
+        this.username = username;
+        this.opponent = opponent;
+        this.difficulty = difficulty;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void run() {
+        try (GameClient client = new GameClient(port)) {
+            play(client);
+        } catch (IOException e) {
+            Log.warn("Bot {}: {}", username, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void play(GameClient client) throws IOException, InterruptedException {
+        client.register(username, "bot");
+        if (client.next() != Protocol.OK) {
+            client.login(username, "bot");
+            if (client.next() != Protocol.OK) {
+                throw new IOException("No se pudo iniciar sesión: " + client.frame().getString());
+            }
+        }
+
+        if (opponent != null) {
+            // El rival puede no haberse conectado todavía
+            while (true) {
+                client.startMatch(opponent, difficulty);
+                int type = client.next();
+                if (type == Protocol.MATCH_STARTED) break;
+                if (type < 0) return;
+                Thread.sleep(5);
+            }
+        } else {
+            int type;
+            while ((type = client.next()) != Protocol.MATCH_STARTED) {
+                if (type < 0) return;
+            }
+        }
+        FrameReader frame = client.frame();
+        frame.getInt();
+        int seat = frame.getByte();
+        Difficulty matchDifficulty = Difficulty.values()[frame.getByte()];
+
+        placeFleet(client, matchDifficulty);
+        Strategy strategy = new DensityStrategy(Tournament.fleetSizes(matchDifficulty));
+        client.ready();
+
+        // Disparos al tablero enemigo como {HIT, MISS, SUNK}, al día con los cambios que avisa el servidor
+        long[] enemyShots = new long[3];
+        int type;
+        while ((type = client.next()) >= 0) {
+            switch (type) {
+                case Protocol.BATTLE_STARTED, Protocol.TURN -> {
+                    if (frame.getByte() == seat) {
+                        int cell = strategy.nextShot(enemyShots[1], enemyShots[0], enemyShots[2], random);
+                        client.shoot(cell >>> 3, cell & 7);
+                        shots++;
+                    }
+                }
+                case Protocol.BOARD_DELTA -> {
+                    if (frame.getByte() != seat) {
+                        frame.getDelta().applyTo(enemyShots);
+                    }
+                }
+                case Protocol.MATCH_ENDED -> {
+                    won = frame.getByte() == seat;
+                    finished = true;
+                    client.logout();
+                    return;
+                }
+                default -> {
+                    // OK, ERROR y SHOT no cambian lo que hace el bot
+                }
+            }
+        }
+    }
+
+    private void placeFleet(GameClient client, Difficulty matchDifficulty) throws IOException {
+        // Misma flota que el torneo
+        String[] codes = Tournament.fleetCodes(matchDifficulty);
+        int[] sizes = Tournament.fleetSizes(matchDifficulty);
+        BitBoard board = new BitBoard();
+        for (int i = 0; i < codes.length; i++) {
+            Ship ship = new Ship(codes[i], sizes[i]);
+            board.placeRandom(ship, random);
+            client.placeShip(ship.getCode(), ship.getSize(), ship.getRow(), ship.getCol(), ship.isVertical());
+            if (client.next() != Protocol.OK) {
+                throw new IOException("El servidor rechazó el barco " + ship.getCode());
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public boolean hasWon() {
+        return won;
+    }
+
+    public int getShots() {
+        return shots;
+    }
+}
@@ -0,0 +1,62 @@
+package net;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers directos del mismo tamaño que se reutilizan entre conexiones.
+ *
+ * Se reservan de a bloques (un allocateDirect grande cortado en partes) y vuelven a la cola al
+ * cerrarse la conexión, así que en estado estable aceptar y cerrar conexiones no reserva memoria
+ * nativa. El total está acotado: con el máximo en uso acquire devuelve null.
+ */
+final class BufferPool {
+
+    private static final int SLAB_BUFFERS = 64;
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock growing = new ReentrantLock();
+    private int allocated;
+
+    BufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    /**
+     * Un buffer vacío, o null si ya están todos en uso
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        while (buffer == null) {
+            if (!grow()) return null;
+            buffer = free.poll();
+        }
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        free.offer(buffer);
+    }
+
+    private boolean grow() {
+        growing.lock();
+        try {
+            if (!free.isEmpty()) return true;
+            int count = Math.min(SLAB_BUFFERS, maxBuffers - allocated);
+            if (count <= 0) return false;
+            ByteBuffer slab = ByteBuffer.allocateDirect(bufferSize * count);
+            for (int i = 0; i < count; i++) {
+                free.offer(slab.slice(i * bufferSize, bufferSize));
+            }
+            allocated += count;
+            return true;
+        } finally {
+            growing.unlock();
+        }
+    }
+}
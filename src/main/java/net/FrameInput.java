@@ -0,0 +1,49 @@
+package net;
+
+import model.BoardDelta;
+
+import java.io.IOException;
+
+/**
+ * Datos de un frame recibido, leídos en orden. La implementan el lector de streams bloqueantes y
+ * la vista sobre el buffer de una conexión NIO.
+ */
+public interface FrameInput {
+
+    int getByte() throws IOException;
+
+    int getInt() throws IOException;
+
+    long getLong() throws IOException;
+
+    String getString() throws IOException;
+
+    /**
+     * Cambio de un tablero escrito con {@link FrameOutput#putDelta}
+     */
+    default BoardDelta getDelta() throws IOException {
+        boolean cleared = getByte() != 0;
+        long changed = getLong();
+        long hit = 0L;
+        long miss = 0L;
+        long sunk = 0L;
+        int packed = 0;
+        int count = 0;
+        for (long rest = changed; rest != 0; rest &= rest - 1) {
+            if ((count & 3) == 0) {
+                packed = getByte();
+            }
+            long cell = Long.lowestOneBit(rest);
+            switch (packed >>> (2 * (count & 3)) & 3) {
+                case 1 -> hit |= cell;
+                case 2 -> miss |= cell;
+                case 3 -> sunk |= cell;
+                default -> {
+                    // WATER
+                }
+            }
+            count++;
+        }
+        return new BoardDelta(cleared, changed, hit, miss, sunk);
+    }
+}
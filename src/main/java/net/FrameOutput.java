@@ -0,0 +1,43 @@
+package net;
+
+import model.BoardDelta;
+import model.CellState;
+
+/**
+ * Datos de un frame saliente, escritos en orden después del tipo.
+ * Los textos de más de {@link Protocol#MAX_STRING} bytes se recortan.
+ */
+public interface FrameOutput {
+
+    FrameOutput putByte(int value);
+
+    FrameOutput putInt(int value);
+
+    FrameOutput putLong(long value);
+
+    FrameOutput putString(String value);
+
+    /**
+     * Cambio de un tablero: [limpiado 0/1][celdas cambiadas: long][estados], con el estado de cada
+     * celda cambiada en 2 bits (0 WATER, 1 HIT, 2 MISS, 3 SUNK), cuatro por byte en orden de celda
+     */
+    default FrameOutput putDelta(BoardDelta delta) {
+        long changed = delta.getChanged();
+        putByte(delta.isCleared() ? 1 : 0).putLong(changed);
+        int packed = 0;
+        int count = 0;
+        for (long rest = changed; rest != 0; rest &= rest - 1) {
+            CellState state = delta.stateAt(Long.lowestOneBit(rest));
+            int code = state == CellState.HIT ? 1 : state == CellState.MISS ? 2 : state == CellState.SUNK ? 3 : 0;
+            packed |= code << (2 * (count & 3));
+            if ((++count & 3) == 0) {
+                putByte(packed);
+                packed = 0;
+            }
+        }
+        if ((count & 3) != 0) {
+            putByte(packed);
+        }
+        return this;
+    }
+}
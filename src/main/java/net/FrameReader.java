@@ -0,0 +1,86 @@
+package net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lee frames del protocolo de un stream bloqueante, reutilizando el mismo arreglo.
+ * Después de next() los get* recorren los datos del frame en orden.
+ */
+public class FrameReader implements FrameInput {
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[Protocol.MAX_FRAME];
+    private int length;
+    private int pos;
+
+    public FrameReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Espera el siguiente frame
+     * @return su tipo, o -1 si la conexión se cerró entre frames
+     */
+    public int next() throws IOException {
+        int hi = in.read();
+        if (hi < 0) return -1;
+        int lo = in.read();
+        if (lo < 0) throw new EOFException("Frame truncado");
+        length = hi << 8 | lo;
+        if (length == 0 || length > Protocol.MAX_FRAME) {
+            throw new IOException("Largo de frame inválido: " + length);
+        }
+        int read = 0;
+        while (read < length) {
+            int n = in.read(buffer, read, length - read);
+            if (n < 0) throw new EOFException("Frame truncado");
+            read += n;
+        }
+        pos = 1;
+        return buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int getByte() throws IOException {
+        need(1);
+        return buffer[pos++] & 0xFF;
+    }
+
+    @Override
+    public int getInt() throws IOException {
+        need(4);
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = value << 8 | (buffer[pos++] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public long getLong() throws IOException {
+        need(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (buffer[pos++] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public String getString() throws IOException {
+        int size = getByte();
+        need(size);
+        String value = new String(buffer, pos, size, StandardCharsets.UTF_8);
+        pos += size;
+        return value;
+    }
+
+    private void need(int bytes) throws IOException {
+        if (pos + bytes > length) {
+            throw new IOException("Frame truncado");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Arma un frame del protocolo en un arreglo propio y lo escribe de una sola vez.
+ * No es seguro entre hilos: cada conexión usa el suyo bajo su lock de escritura.
+ */
+public class FrameWriter implements FrameOutput {
+
+    private final byte[] buffer = new byte[2 + Protocol.MAX_FRAME];
+    private int length;
+
+    public FrameWriter begin(int type) {
+        length = 2;
+        buffer[length++] = (byte) type;
+        return this;
+    }
+
+    @Override
+    public FrameWriter putByte(int value) {
+        ensure(1);
+        buffer[length++] = (byte) value;
+        return this;
+    }
+
+    @Override
+    public FrameWriter putInt(int value) {
+        ensure(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    @Override
+    public FrameWriter putLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    @Override
+    public FrameWriter putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int size = bytes.length;
+        if (size > Protocol.MAX_STRING) {
+            // Se recorta sin partir un carácter: se retrocede hasta un byte que no sea de continuación
+            size = Protocol.MAX_STRING;
+            while (size > 0 && (bytes[size] & 0xC0) == 0x80) {
+                size--;
+            }
+        }
+        ensure(1 + size);
+        buffer[length++] = (byte) size;
+        System.arraycopy(bytes, 0, buffer, length, size);
+        length += size;
+        return this;
+    }
+
+    /**
+     * Completa el largo del frame y lo envía
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        int size = length - 2;
+        buffer[0] = (byte) (size >>> 8);
+        buffer[1] = (byte) size;
+        out.write(buffer, 0, length);
+        out.flush();
+    }
+
+    private void ensure(int bytes) {
+        if (length + bytes > buffer.length) {
+            throw new IllegalStateException("Frame demasiado largo");
+        }
+    }
+}
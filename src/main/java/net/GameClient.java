@@ -0,0 +1,87 @@
+package net;
+
+import model.Difficulty;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Cliente del servidor de partidas para pruebas locales. Los pedidos se envían sin esperar
+ * respuesta; las respuestas y los avisos se leen en orden con next() y frame().
+ * No es seguro entre hilos: pensado para usarse desde un solo hilo por conexión.
+ */
+public class GameClient implements Closeable {
+
+    private final Socket socket;
+    private final FrameReader reader;
+    private final OutputStream out;
+    private final FrameWriter writer = new FrameWriter();
+
+    public GameClient(int port) throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        reader = new FrameReader(new BufferedInputStream(socket.getInputStream()));
+        out = socket.getOutputStream();
+    }
+
+    // ---- Pedidos ----
+
+    public void login(String username, String password) throws IOException {
+        writer.begin(Protocol.LOGIN).putString(username).putString(password).writeTo(out);
+    }
+
+    public void register(String username, String password) throws IOException {
+        writer.begin(Protocol.REGISTER).putString(username).putString(password).writeTo(out);
+    }
+
+    public void startMatch(String enemyUsername, Difficulty difficulty) throws IOException {
+        writer.begin(Protocol.START_MATCH).putString(enemyUsername).putByte(difficulty.ordinal()).writeTo(out);
+    }
+
+    public void placeShip(String shipCode, int size, int row, int col, boolean vertical) throws IOException {
+        int position = (row * 8 + col) << 1 | (vertical ? 1 : 0);
+        writer.begin(Protocol.PLACE_SHIP).putString(shipCode).putByte(size).putByte(position).writeTo(out);
+    }
+
+    public void ready() throws IOException {
+        writer.begin(Protocol.READY).writeTo(out);
+    }
+
+    public void shoot(int row, int col) throws IOException {
+        writer.begin(Protocol.SHOOT).putByte(row * 8 + col).writeTo(out);
+    }
+
+    public void surrender() throws IOException {
+        writer.begin(Protocol.SURRENDER).writeTo(out);
+    }
+
+    public void logout() throws IOException {
+        writer.begin(Protocol.LOGOUT).writeTo(out);
+    }
+
+    // ---- Respuestas y avisos ----
+
+    /**
+     * Espera el siguiente mensaje del servidor
+     * @return su tipo, o -1 si el servidor cerró la conexión
+     */
+    public int next() throws IOException {
+        return reader.next();
+    }
+
+    /**
+     * Datos del último mensaje leído
+     */
+    public FrameReader frame() {
+        return reader;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
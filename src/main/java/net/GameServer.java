@@ -0,0 +1,82 @@
+package net;
+
+import logic.Log;
+import logic.MatchManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor de partidas por TCP en localhost (protocolo en {@link Protocol}).
+ *
+ * Cada conexión corre en un hilo virtual con código bloqueante (ServerSession), así que los
+ * jugadores conectados sin actividad solo cuestan su socket y una pila pequeña, sin un pool de
+ * hilos que limite cuántos pueden estar conectados. Las partidas viven en un MatchManager.
+ * Ver {@link NioServer} para el mismo protocolo sobre selectores.
+ */
+public class GameServer implements Closeable {
+
+    private final Lobby lobby;
+    private final ServerSocket serverSocket;
+    private final AtomicLong connections = new AtomicLong();
+    private volatile boolean closed = false;
+    private Thread acceptor;
+
+    /**
+     * @param port puerto local (0 para uno libre cualquiera)
+     */
+    public GameServer(int port, MatchManager matches) throws IOException {
+        this.lobby = new Lobby(matches);
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    }
+
+    public void start() {
+        acceptor = Thread.ofVirtual().name("server-accept").start(this::acceptLoop);
+        Log.info("Servidor escuchando en {}:{}", serverSocket.getInetAddress().getHostAddress(), getPort());
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                ServerSession session = new ServerSession(lobby, socket);
+                Thread.ofVirtual().name("session-" + connections.incrementAndGet()).start(session);
+            } catch (IOException e) {
+                if (!closed) {
+                    Log.warn("Error al aceptar una conexión: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getOnlineCount() {
+        return lobby.getOnlineCount();
+    }
+
+    public MatchManager getMatches() {
+        return lobby.getMatches();
+    }
+
+    /**
+     * Espera hasta que se cierre el servidor
+     */
+    public void join() throws InterruptedException {
+        if (acceptor != null) {
+            acceptor.join();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,331 @@
+package net;
+
+import logic.BattleShip;
+import logic.Log;
+import logic.MatchSession;
+import model.BitBoard;
+import model.BoardDelta;
+import model.CellState;
+import model.Difficulty;
+import model.Player;
+import model.ShotResult;
+
+import java.io.IOException;
+
+/**
+ * Sesión de un jugador conectado: aplica los pedidos del protocolo sobre las cuentas y las
+ * partidas y envía las respuestas y avisos. No sabe cómo se mueven los bytes; cada transporte
+ * (hilos virtuales con sockets bloqueantes o selectores NIO) implementa begin/send.
+ *
+ * Los avisos de la partida también llegan desde el hilo que atiende al rival, así que begin toma
+ * el lock de escritura de la conexión y send lo libera.
+ */
+abstract class GameSession {
+
+    private final Lobby lobby;
+
+    // Login y registro con la misma lógica que la UI
+    private final BattleShip account = new BattleShip();
+    // Lo leen también los hilos de otras sesiones (emparejamiento), así que se asigna antes de
+    // publicar la sesión en el lobby
+    private volatile Player user;
+    // Partida actual; la asigna el lobby al emparejar, desde el hilo de cualquiera de los dos
+    private volatile MatchSeat current;
+
+    GameSession(Lobby lobby) {
+        this.lobby = lobby;
+    }
+
+    /**
+     * Aplica un pedido del cliente (los datos se leen del frame)
+     * @return false si el cliente cerró la sesión
+     */
+    final boolean handle(int type, FrameInput reader) throws IOException {
+        switch (type) {
+            case Protocol.LOGIN -> login(reader.getString(), reader.getString());
+            case Protocol.REGISTER -> register(reader.getString(), reader.getString());
+            case Protocol.START_MATCH -> startMatch(reader.getString(), reader.getByte());
+            case Protocol.PLACE_SHIP -> placeShip(reader.getString(), reader.getByte(), reader.getByte());
+            case Protocol.READY -> ready();
+            case Protocol.SHOOT -> shoot(reader.getByte());
+            case Protocol.SURRENDER -> surrender();
+            case Protocol.LOGOUT -> {
+                sendOk(type);
+                return false;
+            }
+            default -> sendError(type, "Pedido desconocido");
+        }
+        return true;
+    }
+
+    // ---- Cuentas ----
+
+    private void login(String username, String password) {
+        if (user != null) {
+            sendError(Protocol.LOGIN, "Ya iniciaste sesión");
+        } else if (!account.login(username, password)) {
+            sendError(Protocol.LOGIN, "Usuario o contraseña incorrectos");
+        } else {
+            goOnline(Protocol.LOGIN);
+        }
+    }
+
+    private void register(String username, String password) {
+        if (user != null) {
+            sendError(Protocol.REGISTER, "Ya iniciaste sesión");
+        } else if (!account.register(username, password)) {
+            sendError(Protocol.REGISTER, "No se pudo registrar: usuario en uso o datos vacíos");
+        } else {
+            goOnline(Protocol.REGISTER);
+        }
+    }
+
+    private void goOnline(int request) {
+        Player player = account.getCurrentUser();
+        user = player;
+        if (!lobby.goOnline(this, player)) {
+            user = null;
+            account.logout();
+            sendError(request, "La cuenta ya está conectada");
+            return;
+        }
+        sendOk(request);
+    }
+
+    // ---- Partida ----
+
+    private void startMatch(String enemy, int difficulty) {
+        if (user == null) {
+            sendError(Protocol.START_MATCH, "Primero inicia sesión");
+            return;
+        }
+        if (difficulty >= Difficulty.values().length) {
+            sendError(Protocol.START_MATCH, "Dificultad inválida");
+            return;
+        }
+        String error = lobby.startMatch(this, enemy, Difficulty.values()[difficulty]);
+        if (error != null) {
+            sendError(Protocol.START_MATCH, error);
+        }
+    }
+
+    private void placeShip(String code, int size, int position) {
+        MatchSeat seat = current;
+        if (seat == null) {
+            sendError(Protocol.PLACE_SHIP, "No estás en una partida");
+            return;
+        }
+        if (position < 0 || position >= 2 * BitBoard.SIZE * BitBoard.SIZE) {
+            sendError(Protocol.PLACE_SHIP, "Posición inválida");
+            return;
+        }
+        int cell = position >>> 1;
+        if (seat.match.placeShip(seat.seat, code, size, cell >>> 3, cell & 7, (position & 1) != 0)) {
+            sendOk(Protocol.PLACE_SHIP);
+        } else {
+            sendError(Protocol.PLACE_SHIP, "No se puede colocar ese barco ahí");
+        }
+    }
+
+    private void ready() {
+        MatchSeat seat = current;
+        if (seat == null) {
+            sendError(Protocol.READY, "No estás en una partida");
+            return;
+        }
+        boolean ready;
+        boolean started;
+        int turn;
+        // Solo el segundo en quedar listo ve el cambio de fase y avisa a los dos.
+        // Dentro del bloque no se escribe en el socket: el hilo virtual queda fijado mientras tanto
+        synchronized (seat.match) {
+            ready = seat.match.ready(seat.seat);
+            started = ready && !seat.match.isPlacementPhase();
+            turn = seat.match.getCurrentTurn();
+        }
+        if (!ready) {
+            sendError(Protocol.READY, "Faltan barcos por colocar");
+            return;
+        }
+        sendOk(Protocol.READY);
+        if (started) {
+            sendTurn(Protocol.BATTLE_STARTED, turn);
+            seat.opponent.sendTurn(Protocol.BATTLE_STARTED, turn);
+        }
+    }
+
+    private void shoot(int cell) {
+        MatchSeat seat = current;
+        if (seat == null) {
+            sendError(Protocol.SHOOT, "No estás en una partida");
+            return;
+        }
+        if (cell < 0 || cell >= BitBoard.SIZE * BitBoard.SIZE) {
+            sendError(Protocol.SHOOT, "Celda inválida");
+            return;
+        }
+        ShotResult result;
+        BoardDelta delta;
+        boolean finished;
+        int turn;
+        int target = 1 - seat.seat;
+        synchronized (seat.match) {
+            result = seat.match.shoot(seat.seat, cell >>> 3, cell & 7);
+            delta = seat.match.takeBoardDelta(target);
+            finished = seat.match.isFinished();
+            turn = seat.match.getCurrentTurn();
+        }
+        if (result == null) {
+            sendError(Protocol.SHOOT, "No es tu turno");
+            return;
+        }
+
+        CellState state = result.getState();
+        boolean regenerated = result.isRegenerated();
+        sendShotUpdate(seat.seat, cell, state, regenerated, target, delta, finished, turn);
+        seat.opponent.sendShotUpdate(seat.seat, cell, state, regenerated, target, delta, finished, turn);
+        if (finished) {
+            lobby.endMatch(this, seat);
+        }
+    }
+
+    private void surrender() {
+        MatchSeat seat = current;
+        if (seat == null || !seat.match.surrender(seat.seat)) {
+            sendError(Protocol.SURRENDER, "No estás en una partida");
+            return;
+        }
+        int winner = 1 - seat.seat;
+        sendMatchEnded(winner, Protocol.ENDED_SURRENDER);
+        seat.opponent.sendMatchEnded(winner, Protocol.ENDED_SURRENDER);
+        lobby.endMatch(this, seat);
+    }
+
+    /**
+     * Abandona la partida en curso al desconectarse: gana el rival
+     */
+    void abandon() {
+        MatchSeat seat = current;
+        if (seat != null && seat.match.surrender(seat.seat)) {
+            seat.opponent.sendMatchEnded(1 - seat.seat, Protocol.ENDED_DISCONNECT);
+            lobby.endMatch(this, seat);
+        }
+    }
+
+    /**
+     * La conexión se cerró: abandona la partida y deja de figurar como conectado
+     */
+    final void disconnected() {
+        lobby.disconnected(this);
+    }
+
+    // ---- Estado asignado por el servidor ----
+
+    Player getUser() {
+        return user;
+    }
+
+    MatchSeat getCurrent() {
+        return current;
+    }
+
+    void setCurrent(MatchSeat seat) {
+        current = seat;
+    }
+
+    // ---- Envío ----
+
+    /**
+     * Toma el lock de escritura y empieza un frame saliente; el llamador lo completa y llama a send
+     */
+    protected abstract FrameOutput begin(int type);
+
+    /**
+     * Envía (o deja encolado) el frame empezado con begin y libera el lock
+     */
+    protected abstract void send();
+
+    void sendOk(int request) {
+        FrameOutput frame = begin(Protocol.OK);
+        try {
+            frame.putByte(request);
+        } finally {
+            send();
+        }
+    }
+
+    void sendError(int request, String message) {
+        FrameOutput frame = begin(Protocol.ERROR);
+        try {
+            frame.putByte(request).putString(message);
+        } finally {
+            send();
+        }
+    }
+
+    void sendMatchStarted(MatchSession match, int seat, Difficulty difficulty, String opponent) {
+        FrameOutput frame = begin(Protocol.MATCH_STARTED);
+        try {
+            frame.putInt((int) match.getId()).putByte(seat).putByte(difficulty.ordinal()).putString(opponent);
+        } finally {
+            send();
+        }
+    }
+
+    private void sendTurn(int type, int seat) {
+        FrameOutput frame = begin(type);
+        try {
+            frame.putByte(seat);
+        } finally {
+            send();
+        }
+    }
+
+    /**
+     * Resultado de un disparo: SHOT, lo que cambió en el tablero disparado y el turno o el final
+     */
+    private void sendShotUpdate(int shooter, int cell, CellState result, boolean regenerated,
+                                int target, BoardDelta delta, boolean finished, int turn) {
+        FrameOutput frame = begin(Protocol.SHOT);
+        try {
+            frame.putByte(shooter).putByte(cell).putByte(result.ordinal()).putByte(regenerated ? 1 : 0);
+        } finally {
+            send();
+        }
+        frame = begin(Protocol.BOARD_DELTA);
+        try {
+            frame.putByte(target).putDelta(delta);
+        } finally {
+            send();
+        }
+        if (finished) {
+            sendMatchEnded(shooter, Protocol.ENDED_WIN);
+        } else {
+            sendTurn(Protocol.TURN, turn);
+        }
+    }
+
+    private void sendMatchEnded(int winner, int reason) {
+        FrameOutput frame = begin(Protocol.MATCH_ENDED);
+        try {
+            frame.putByte(winner).putByte(reason);
+        } finally {
+            send();
+        }
+    }
+
+    /**
+     * Partida, asiento y rival de una conexión (se reemplaza entero para leerlo sin bloqueo)
+     */
+    static final class MatchSeat {
+        final MatchSession match;
+        final int seat;
+        final GameSession opponent;
+
+        MatchSeat(MatchSession match, int seat, GameSession opponent) {
+            this.match = match;
+            this.seat = seat;
+            this.opponent = opponent;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net;
+
+import logic.GameEngine;
+import logic.MatchManager;
+import logic.MatchSession;
+import model.Difficulty;
+import model.Player;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Jugadores conectados y emparejamiento, compartido por los transportes del servidor.
+ * Las partidas viven en el MatchManager; el lobby solo sabe qué conexión juega cuál.
+ */
+class Lobby {
+
+    private final MatchManager matches;
+    // Jugadores conectados por username (una conexión por cuenta)
+    private final ConcurrentHashMap<String, GameSession> online = new ConcurrentHashMap<>();
+    // Emparejar y terminar partidas toca dos conexiones a la vez
+    private final ReentrantLock pairing = new ReentrantLock();
+
+    Lobby(MatchManager matches) {
+        this.matches = matches;
+    }
+
+    MatchManager getMatches() {
+        return matches;
+    }
+
+    int getOnlineCount() {
+        return online.size();
+    }
+
+    /**
+     * Publica la sesión para que otros la puedan desafiar; la sesión ya debe tener su usuario asignado
+     * @return false si la cuenta ya está conectada en otra sesión
+     */
+    boolean goOnline(GameSession session, Player player) {
+        return online.putIfAbsent(player.getUsername(), session) == null;
+    }
+
+    void disconnected(GameSession session) {
+        session.abandon();
+        Player user = session.getUser();
+        if (user != null) {
+            online.remove(user.getUsername(), session);
+        }
+    }
+
+    /**
+     * Empareja al jugador con un rival conectado y les avisa a los dos
+     * @return null si la partida empezó, o el mensaje de error
+     */
+    String startMatch(GameSession challenger, String enemyUsername, Difficulty difficulty) {
+        GameSession enemy = enemyUsername != null ? online.get(enemyUsername.trim()) : null;
+        if (enemy == null) {
+            return "El jugador no está conectado";
+        }
+        if (enemy == challenger) {
+            return "No puedes jugar contra ti mismo";
+        }
+
+        MatchSession match;
+        pairing.lock();
+        try {
+            if (challenger.getCurrent() != null) {
+                return "Ya estás en una partida";
+            }
+            if (enemy.getCurrent() != null) {
+                return "El jugador ya está en una partida";
+            }
+            match = matches.create(challenger.getUser().getUsername(), enemy.getUser().getUsername(), difficulty);
+            if (match == null) {
+                return "No se pudo crear la partida";
+            }
+            challenger.setCurrent(new GameSession.MatchSeat(match, GameEngine.PLAYER_ONE, enemy));
+            enemy.setCurrent(new GameSession.MatchSeat(match, GameEngine.PLAYER_TWO, challenger));
+        } finally {
+            pairing.unlock();
+        }
+
+        challenger.sendMatchStarted(match, GameEngine.PLAYER_ONE, difficulty, enemy.getUser().getUsername());
+        enemy.sendMatchStarted(match, GameEngine.PLAYER_TWO, difficulty, challenger.getUser().getUsername());
+        return null;
+    }
+
+    /**
+     * Libera a los dos jugadores de una partida terminada
+     */
+    void endMatch(GameSession session, GameSession.MatchSeat seat) {
+        pairing.lock();
+        try {
+            if (session.getCurrent() == seat) {
+                session.setCurrent(null);
+            }
+            GameSession.MatchSeat other = seat.opponent.getCurrent();
+            if (other != null && other.match == seat.match) {
+                seat.opponent.setCurrent(null);
+            }
+        } finally {
+            pairing.unlock();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net;
+
+import logic.Log;
+import logic.MatchManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Servidor de partidas por TCP en localhost sobre selectores NIO (mismo protocolo que GameServer).
+ *
+ * Unos pocos hilos de plataforma atienden todas las conexiones, cada uno con su selector; el
+ * primero también acepta y reparte las conexiones nuevas en ronda. Los pedidos se aplican en el
+ * hilo del selector, porque la lógica de las partidas no bloquea (el diario de cuentas escribe en
+ * segundo plano). Cada conexión usa un buffer de entrada y uno de salida de tamaño fijo, tomados
+ * de pools de buffers directos, así que la memoria por conexión está acotada.
+ */
+public class NioServer implements Closeable {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 8192;
+    // Un frame entero como máximo a medio llegar
+    private static final int INPUT_BUFFER = 2 + Protocol.MAX_FRAME;
+    // Hasta 8 frames grandes sin enviar antes de considerar lento al cliente
+    private static final int OUTPUT_BUFFER = 8 * (2 + Protocol.MAX_FRAME);
+
+    private final Lobby lobby;
+    private final ServerSocketChannel serverChannel;
+    private final SelectorLoop[] loops;
+    private final BufferPool inputBuffers;
+    private final BufferPool outputBuffers;
+    private volatile boolean closed = false;
+    // Solo lo usa el hilo que acepta
+    private int nextLoop = 0;
+
+    /**
+     * @param port puerto local (0 para uno libre cualquiera)
+     */
+    public NioServer(int port, MatchManager matches) throws IOException {
+        this(port, matches, defaultSelectors(), DEFAULT_MAX_CONNECTIONS);
+    }
+
+    public NioServer(int port, MatchManager matches, int selectors, int maxConnections) throws IOException {
+        this.lobby = new Lobby(matches);
+        this.inputBuffers = new BufferPool(INPUT_BUFFER, maxConnections);
+        this.outputBuffers = new BufferPool(OUTPUT_BUFFER, maxConnections);
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+
+        loops = new SelectorLoop[Math.max(1, selectors)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new SelectorLoop(this);
+        }
+        loops[0].listen(serverChannel);
+    }
+
+    /**
+     * La mitad de los procesadores, entre 1 y 4
+     */
+    private static int defaultSelectors() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public void start() {
+        for (int i = 0; i < loops.length; i++) {
+            loops[i].start("nio-selector-" + i);
+        }
+        Log.info("Servidor NIO escuchando en {}:{} con {} selectores",
+                InetAddress.getLoopbackAddress().getHostAddress(), getPort(), loops.length);
+    }
+
+    /**
+     * Acepta las conexiones pendientes (hilo del primer selector)
+     */
+    void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                loops[nextLoop].assign(channel);
+                nextLoop = (nextLoop + 1) % loops.length;
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                Log.warn("Error al aceptar una conexión: {}", e.getMessage());
+            }
+        }
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getOnlineCount() {
+        return lobby.getOnlineCount();
+    }
+
+    public MatchManager getMatches() {
+        return lobby.getMatches();
+    }
+
+    Lobby getLobby() {
+        return lobby;
+    }
+
+    BufferPool getInputBuffers() {
+        return inputBuffers;
+    }
+
+    BufferPool getOutputBuffers() {
+        return outputBuffers;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Espera hasta que se cierre el servidor
+     */
+    public void join() throws InterruptedException {
+        for (SelectorLoop loop : loops) {
+            loop.join();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverChannel.close();
+        for (SelectorLoop loop : loops) {
+            loop.wakeup();
+        }
+    }
+}
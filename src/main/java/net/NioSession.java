@@ -0,0 +1,339 @@
+package net;
+
+import logic.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conexión de un jugador con NioServer.
+ *
+ * Los pedidos se leen en el mismo buffer directo donde los deja el canal: cada frame completo se
+ * recorre con lecturas absolutas sin copiarlo. Las respuestas y avisos se escriben directamente en
+ * el buffer de salida (bajo su lock, porque los avisos también llegan desde el selector del rival)
+ * y se intenta enviarlos enseguida; lo que el socket no acepta espera a OP_WRITE. El buffer de
+ * salida es fijo: si un cliente no lee y no queda lugar para un frame más, se lo desconecta.
+ */
+final class NioSession extends GameSession implements FrameOutput {
+
+    private final SelectorLoop loop;
+    private final SelectionKey key;
+    private final SocketChannel channel;
+    private final ByteBuffer in;
+    private final ByteBuffer out;
+    private final Frame frame = new Frame();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Bajo writeLock
+    private boolean closed = false;
+    private boolean writeInterest = false;
+    private boolean closeWhenFlushed = false;
+    private boolean discard;
+    private int frameStart;
+
+    // Solo en el hilo del selector
+    private boolean released = false;
+
+    NioSession(Lobby lobby, SelectorLoop loop, SelectionKey key, ByteBuffer in, ByteBuffer out) {
+        super(lobby);
+        this.loop = loop;
+        this.key = key;
+        this.channel = (SocketChannel) key.channel();
+        this.in = in;
+        this.out = out;
+    }
+
+    // ---- Lectura (hilo del selector) ----
+
+    void readable() {
+        int read;
+        try {
+            read = channel.read(in);
+        } catch (IOException e) {
+            Log.debug("Conexión cerrada: {}", e.getMessage());
+            closeNow();
+            return;
+        }
+        if (read < 0) {
+            closeNow();
+            return;
+        }
+
+        in.flip();
+        try {
+            while (in.remaining() >= 2) {
+                int start = in.position();
+                int length = in.getShort(start) & 0xFFFF;
+                if (length == 0 || length > Protocol.MAX_FRAME) {
+                    throw new IOException("Largo de frame inválido: " + length);
+                }
+                if (in.remaining() < 2 + length) break;
+                frame.wrap(start + 2, start + 2 + length);
+                boolean open = handle(frame.getByte(), frame);
+                if (released) return;
+                in.position(start + 2 + length);
+                if (!open) {
+                    logout();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            Log.debug("Conexión cerrada: {}", e.getMessage());
+            closeNow();
+            return;
+        }
+        in.compact();
+    }
+
+    /**
+     * El cliente cerró la sesión: se deja de leer y se cierra cuando sale la última respuesta
+     */
+    private void logout() {
+        boolean flushed;
+        writeLock.lock();
+        try {
+            flushed = out.position() == 0;
+            closeWhenFlushed = true;
+        } finally {
+            writeLock.unlock();
+        }
+        if (flushed) {
+            closeNow();
+        } else {
+            key.interestOpsAnd(~SelectionKey.OP_READ);
+        }
+    }
+
+    // ---- Escritura ----
+
+    void writable() {
+        boolean close;
+        writeLock.lock();
+        try {
+            flush();
+            close = closed || (closeWhenFlushed && out.position() == 0);
+        } finally {
+            writeLock.unlock();
+        }
+        if (close) {
+            closeNow();
+        }
+    }
+
+    @Override
+    protected FrameOutput begin(int type) {
+        writeLock.lock();
+        discard = closed || out.remaining() < 2 + Protocol.MAX_FRAME;
+        if (!discard) {
+            frameStart = out.position();
+            out.position(frameStart + 2);
+            out.put((byte) type);
+        }
+        return this;
+    }
+
+    @Override
+    protected void send() {
+        boolean failed;
+        try {
+            if (discard) {
+                // Cliente lento: no se le encolan más frames
+                failed = !closed;
+                closed = true;
+            } else {
+                out.putShort(frameStart, (short) (out.position() - frameStart - 2));
+                failed = !flush();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (failed) {
+            Log.debug("No se pudo enviar a {}: cliente lento o desconectado",
+                    getUser() != null ? getUser().getUsername() : "-");
+            close();
+        }
+    }
+
+    /**
+     * Escribe lo pendiente sin esperar y pide OP_WRITE si queda algo. Con writeLock tomado.
+     * @return false si el canal falló
+     */
+    private boolean flush() {
+        if (closed) return true;
+        try {
+            out.flip();
+            channel.write(out);
+            out.compact();
+        } catch (IOException e) {
+            out.clear();
+            closed = true;
+            return false;
+        }
+        boolean pending = out.position() > 0;
+        if (pending != writeInterest && key.isValid()) {
+            writeInterest = pending;
+            if (pending) {
+                key.interestOpsOr(SelectionKey.OP_WRITE);
+                if (!loop.inLoop()) loop.wakeup();
+            } else {
+                key.interestOpsAnd(~SelectionKey.OP_WRITE);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FrameOutput putByte(int value) {
+        if (!discard) {
+            ensure(1);
+            out.put((byte) value);
+        }
+        return this;
+    }
+
+    @Override
+    public FrameOutput putInt(int value) {
+        if (!discard) {
+            ensure(4);
+            out.putInt(value);
+        }
+        return this;
+    }
+
+    @Override
+    public FrameOutput putLong(long value) {
+        if (!discard) {
+            ensure(8);
+            out.putLong(value);
+        }
+        return this;
+    }
+
+    /**
+     * Codifica el texto en UTF-8 directo en el buffer, recortándolo sin partir caracteres
+     */
+    @Override
+    public FrameOutput putString(String value) {
+        if (discard) return this;
+        ensure(1);
+        int lengthAt = out.position();
+        out.put((byte) 0);
+        int start = out.position();
+        int limit = Math.min(Protocol.MAX_STRING, 2 + Protocol.MAX_FRAME - (start - frameStart));
+        for (int i = 0; i < value.length(); i++) {
+            int c = value.codePointAt(i);
+            int bytes = c < 0x80 ? 1 : c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+            if (out.position() - start + bytes > limit) break;
+            if (bytes == 1) {
+                out.put((byte) c);
+            } else if (bytes == 2) {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else if (bytes == 3) {
+                out.put((byte) (0xE0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else {
+                out.put((byte) (0xF0 | c >> 18));
+                out.put((byte) (0x80 | c >> 12 & 0x3F));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+                i++;
+            }
+        }
+        out.put(lengthAt, (byte) (out.position() - start));
+        return this;
+    }
+
+    private void ensure(int bytes) {
+        if (out.position() + bytes - frameStart - 2 > Protocol.MAX_FRAME) {
+            throw new IllegalStateException("Frame demasiado largo");
+        }
+    }
+
+    // ---- Cierre ----
+
+    /**
+     * Pide el cierre desde cualquier hilo; se hace en el hilo del selector
+     */
+    void close() {
+        loop.closeLater(this);
+    }
+
+    /**
+     * Cierra el canal, devuelve los buffers y avisa al lobby. Solo en el hilo del selector.
+     */
+    void closeNow() {
+        if (released) return;
+        released = true;
+        // Bajo el lock para que ningún envío desde otro hilo toque la key o el buffer de salida
+        writeLock.lock();
+        try {
+            closed = true;
+            key.cancel();
+            channel.close();
+        } catch (IOException ignored) {
+            // Ya estaba cerrado
+        } finally {
+            loop.release(in, out);
+            writeLock.unlock();
+        }
+        disconnected();
+    }
+
+    /**
+     * Vista del frame actual sobre el buffer de entrada, con lecturas absolutas
+     */
+    private final class Frame implements FrameInput {
+
+        private final byte[] text = new byte[Protocol.MAX_STRING];
+        private int pos;
+        private int end;
+
+        void wrap(int start, int end) {
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int getByte() throws IOException {
+            need(1);
+            return in.get(pos++) & 0xFF;
+        }
+
+        @Override
+        public int getInt() throws IOException {
+            need(4);
+            int value = in.getInt(pos);
+            pos += 4;
+            return value;
+        }
+
+        @Override
+        public long getLong() throws IOException {
+            need(8);
+            long value = in.getLong(pos);
+            pos += 8;
+            return value;
+        }
+
+        @Override
+        public String getString() throws IOException {
+            int size = getByte();
+            need(size);
+            in.get(pos, text, 0, size);
+            pos += size;
+            return new String(text, 0, size, StandardCharsets.UTF_8);
+        }
+
+        private void need(int bytes) throws IOException {
+            if (pos + bytes > end) {
+                throw new IOException("Frame truncado");
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net;
+
+/**
+ * Protocolo binario entre el servidor de partidas y sus clientes.
+ *
+ * Cada mensaje es un frame [largo: 2 bytes][tipo: 1 byte][datos], donde el largo cuenta el tipo
+ * y los datos. Los enteros van en big-endian y los textos como [largo: 1 byte][UTF-8].
+ * Una celda es fila * 8 + columna y una posición de barco es celda << 1 | vertical.
+ *
+ * <pre>
+ * Cliente -> servidor
+ *   LOGIN        usuario, contraseña
+ *   REGISTER     usuario, contraseña
+ *   START_MATCH  rival, dificultad (ordinal)
+ *   PLACE_SHIP   código, tamaño, posición
+ *   READY
+ *   SHOOT        celda
+ *   SURRENDER
+ *   LOGOUT
+ *
+ * Servidor -> cliente
+ *   OK             tipo del pedido
+ *   ERROR          tipo del pedido, mensaje
+ *   MATCH_STARTED  id de partida (int), asiento, dificultad, rival
+ *   BATTLE_STARTED asiento con el turno
+ *   SHOT           asiento que disparó, celda, resultado (CellState), regeneró (0/1)
+ *   BOARD_DELTA    asiento del tablero, cambio de sus disparos recibidos (ver FrameOutput.putDelta)
+ *   TURN           asiento con el turno
+ *   MATCH_ENDED    asiento ganador, motivo (ENDED_*)
+ * </pre>
+ */
+public final class Protocol {
+
+    public static final int DEFAULT_PORT = 7777;
+    // Tamaño máximo de tipo + datos
+    public static final int MAX_FRAME = 1024;
+    // Largo máximo de un texto en bytes
+    public static final int MAX_STRING = 255;
+
+    // Cliente -> servidor
+    public static final int LOGIN = 1;
+    public static final int REGISTER = 2;
+    public static final int START_MATCH = 3;
+    public static final int PLACE_SHIP = 4;
+    public static final int READY = 5;
+    public static final int SHOOT = 6;
+    public static final int SURRENDER = 7;
+    public static final int LOGOUT = 8;
+
+    // Servidor -> cliente
+    public static final int OK = 64;
+    public static final int ERROR = 65;
+    public static final int MATCH_STARTED = 66;
+    public static final int BATTLE_STARTED = 67;
+    public static final int SHOT = 68;
+    public static final int BOARD_DELTA = 69;
+    public static final int TURN = 70;
+    public static final int MATCH_ENDED = 71;
+
+    // Motivos de MATCH_ENDED
+    public static final int ENDED_WIN = 0;
+    public static final int ENDED_SURRENDER = 1;
+    public static final int ENDED_DISCONNECT = 2;
+
+    private Protocol() {
+    }
+}
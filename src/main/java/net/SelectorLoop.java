@@ -0,0 +1,156 @@
+package net;
+
+import logic.Log;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hilo de un selector de NioServer: lee, aplica los pedidos y escribe para todas sus conexiones.
+ *
+ * Las conexiones nuevas y los cierres pedidos desde otros hilos llegan por colas y se aplican en
+ * este hilo, que es el único que toca los buffers de entrada y los devuelve al pool.
+ */
+final class SelectorLoop implements Runnable {
+
+    private final NioServer server;
+    private final Selector selector;
+    private final ConcurrentLinkedQueue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<NioSession> closing = new ConcurrentLinkedQueue<>();
+    private final Consumer<SelectionKey> process = this::process;
+    private Thread thread;
+
+    SelectorLoop(NioServer server) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+    }
+
+    void listen(ServerSocketChannel channel) throws IOException {
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    void start(String name) {
+        thread = Thread.ofPlatform().name(name).start(this);
+    }
+
+    void join() throws InterruptedException {
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    boolean inLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    void wakeup() {
+        selector.wakeup();
+    }
+
+    /**
+     * Entrega una conexión aceptada a este selector
+     */
+    void assign(SocketChannel channel) {
+        accepted.offer(channel);
+        selector.wakeup();
+    }
+
+    /**
+     * Cierra la sesión en el hilo del selector
+     */
+    void closeLater(NioSession session) {
+        closing.offer(session);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!server.isClosed()) {
+                selector.select(process);
+                registerAccepted();
+                NioSession session;
+                while ((session = closing.poll()) != null) {
+                    session.closeNow();
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (!server.isClosed()) {
+                Log.error("Selector detenido: {}", e.getMessage());
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void process(SelectionKey key) {
+        if (!key.isValid()) return;
+        if (key.isAcceptable()) {
+            server.accept();
+            return;
+        }
+        NioSession session = (NioSession) key.attachment();
+        if (key.isReadable()) {
+            session.readable();
+        }
+        if (key.isValid() && key.isWritable()) {
+            session.writable();
+        }
+    }
+
+    private void registerAccepted() {
+        SocketChannel channel;
+        while ((channel = accepted.poll()) != null) {
+            ByteBuffer in = server.getInputBuffers().acquire();
+            ByteBuffer out = in != null ? server.getOutputBuffers().acquire() : null;
+            try {
+                if (out == null) {
+                    Log.warn("Conexión rechazada: se alcanzó el máximo de conexiones");
+                    if (in != null) server.getInputBuffers().release(in);
+                    channel.close();
+                    continue;
+                }
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new NioSession(server.getLobby(), this, key, in, out));
+            } catch (IOException e) {
+                Log.warn("Error al registrar una conexión: {}", e.getMessage());
+                server.getInputBuffers().release(in);
+                server.getOutputBuffers().release(out);
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Ya estaba cerrado
+                }
+            }
+        }
+    }
+
+    void release(ByteBuffer in, ByteBuffer out) {
+        server.getInputBuffers().release(in);
+        server.getOutputBuffers().release(out);
+    }
+
+    private void shutdown() {
+        try {
+            for (SelectionKey key : List.copyOf(selector.keys())) {
+                if (key.attachment() instanceof NioSession session) {
+                    session.closeNow();
+                }
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException e) {
+            Log.debug("Error al cerrar el selector: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net;
+
+import logic.Log;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conexión de un jugador con GameServer. Corre en su propio hilo virtual con código bloqueante:
+ * lee un pedido, lo aplica y responde. Los avisos de la partida (disparos, turnos, fin) también
+ * llegan desde el hilo del rival, por eso las escrituras van bajo un ReentrantLock (un bloque
+ * synchronized fijaría el hilo virtual a su carrier mientras escribe en el socket).
+ */
+class ServerSession extends GameSession implements Runnable {
+
+    private final Socket socket;
+    private final FrameReader reader;
+    private final OutputStream out;
+    private final FrameWriter writer = new FrameWriter();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    ServerSession(Lobby lobby, Socket socket) throws IOException {
+        super(lobby);
+        this.socket = socket;
+        this.reader = new FrameReader(new BufferedInputStream(socket.getInputStream()));
+        this.out = socket.getOutputStream();
+    }
+
+    @Override
+    public void run() {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            int type;
+            while ((type = reader.next()) >= 0) {
+                if (!handle(type, reader)) break;
+            }
+        } catch (IOException e) {
+            Log.debug("Conexión cerrada: {}", e.getMessage());
+        } finally {
+            disconnected();
+        }
+    }
+
+    @Override
+    protected FrameOutput begin(int type) {
+        writeLock.lock();
+        return writer.begin(type);
+    }
+
+    @Override
+    protected void send() {
+        try {
+            writer.writeTo(out);
+        } catch (IOException e) {
+            failed(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Si no se puede escribir se cierra el socket; el hilo de esta conexión ve el cierre y limpia
+     */
+    private void failed(IOException e) {
+        Log.debug("No se pudo enviar a {}: {}", getUser() != null ? getUser().getUsername() : "-", e.getMessage());
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Ya estaba cerrado
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package replay;
+
+import logic.GameEngine;
+import model.BitBoard;
+import model.ShotResult;
+import model.Ship;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reconstruye una partida grabada sobre un GameEngine, disparo por disparo.
+ *
+ * Las regeneraciones no se vuelven a sortear: se aplican las posiciones grabadas, así que la
+ * reconstrucción es exacta aunque cambie el algoritmo de regeneración. En las partidas con semilla
+ * no hay posiciones grabadas y el motor las recalcula con la misma semilla. Cada disparo se
+ * compara con el resultado grabado y cualquier diferencia se informa como IOException.
+ *
+ * Al abrir el replay se recorre una vez el flujo (sin simular) para contar los disparos y anotar
+ * dónde está cada keyframe; seek restaura el keyframe más cercano y avanza desde ahí, así que
+ * saltar a cualquier jugada cuesta a lo sumo un intervalo de keyframes.
+ */
+public class MatchReplay {
+
+    private final ReplayReader reader;
+    private final Engine engine = new Engine();
+    private int move;
+
+    // Índice de keyframes: jugada y posición en el flujo de cada uno
+    private int[] keyframeMoves = new int[8];
+    private int[] keyframeOffsets = new int[8];
+    private int keyframes;
+    private int moveCount;
+
+    public MatchReplay(byte[] data) throws IOException {
+        reader = new ReplayReader(data);
+        engine.setDifficulty(reader.getDifficulty());
+        if (reader.isSeeded()) {
+            engine.setSeed(reader.getSeed());
+        }
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            for (int i = 0; i < reader.getShipCount(seat); i++) {
+                int position = reader.getShipPosition(seat, i);
+                int cell = position >>> 1;
+                engine.addShip(seat, reader.getShipCode(seat, i), reader.getShipSize(seat, i),
+                        cell >>> 3, cell & 7, (position & 1) != 0);
+            }
+            engine.continueToNextTurn();
+        }
+        if (engine.isPlacementPhase()) {
+            throw new IOException("El replay no tiene flotas completas");
+        }
+        index();
+    }
+
+    /**
+     * Recorre los eventos sin aplicarlos para contar los disparos y ubicar los keyframes
+     */
+    private void index() throws IOException {
+        int offset = reader.getPosition();
+        for (int event = reader.next(); event != ReplayReader.END; event = reader.next()) {
+            if (event == ReplayReader.SHOT) {
+                moveCount++;
+            } else if (event == ReplayReader.KEYFRAME) {
+                if (reader.getKeyframeMove() != moveCount) {
+                    throw new IOException("Keyframe fuera de lugar en la jugada " + moveCount);
+                }
+                if (keyframes == keyframeMoves.length) {
+                    keyframeMoves = Arrays.copyOf(keyframeMoves, keyframes * 2);
+                    keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframes * 2);
+                }
+                keyframeMoves[keyframes] = moveCount;
+                keyframeOffsets[keyframes] = offset;
+                keyframes++;
+            }
+            offset = reader.getPosition();
+        }
+        reader.seek(reader.getEventsStart());
+    }
+
+    /**
+     * Aplica el siguiente disparo (con su regeneración, si la hubo)
+     * @return false si ya no quedan disparos
+     */
+    public boolean step() throws IOException {
+        while (true) {
+            int event = reader.next();
+            if (event == ReplayReader.END) return false;
+            if (event == ReplayReader.REGEN) {
+                engine.expect(reader.getRegeneratedPositions());
+                continue;
+            }
+            if (event == ReplayReader.KEYFRAME) {
+                // Al avanzar en orden el motor ya tiene este estado
+                continue;
+            }
+
+            int seat = reader.getSeat();
+            if (engine.getCurrentTurn() != seat) {
+                engine.nextTurn();
+            }
+            int cell = reader.getCell();
+            ShotResult result = engine.shoot(cell >>> 3, cell & 7);
+            if (result == null || result.getState() != reader.getResult() || engine.pending != null || engine.missing) {
+                throw new IOException("El replay no coincide con las reglas en el disparo " + (move + 1));
+            }
+            move++;
+            return true;
+        }
+    }
+
+    /**
+     * Deja la partida como estaba después del disparo indicado (0 = antes del primer disparo).
+     * Parte del keyframe más cercano anterior a la jugada, o de la posición actual si está más cerca.
+     */
+    public void seek(int target) throws IOException {
+        target = Math.max(0, Math.min(target, moveCount));
+        int k = keyframes - 1;
+        while (k >= 0 && keyframeMoves[k] > target) {
+            k--;
+        }
+        int base = k >= 0 ? keyframeMoves[k] : 0;
+
+        if (target < move || base > move) {
+            if (k >= 0) {
+                reader.seek(keyframeOffsets[k]);
+                reader.next();
+                engine.restore(reader);
+                move = base;
+            } else {
+                rewind();
+            }
+        }
+        while (move < target && step()) {
+            // Avanzar hasta la jugada pedida
+        }
+    }
+
+    /**
+     * Vuelve al estado inicial, con las flotas en las posiciones del encabezado
+     */
+    private void rewind() {
+        engine.rewind(reader);
+        reader.seek(reader.getEventsStart());
+        move = 0;
+    }
+
+    /**
+     * Aplica todos los disparos que quedan
+     */
+    public void playToEnd() throws IOException {
+        while (step()) {
+            // Nada más que avanzar
+        }
+    }
+
+    /**
+     * Disparos aplicados hasta ahora
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * Disparos de la partida completa
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public String getName(int seat) {
+        return reader.getName(seat);
+    }
+
+    /**
+     * Motor que regenera con las posiciones grabadas en lugar de sortearlas (o con la semilla)
+     */
+    private static final class Engine extends GameEngine {
+        private int[] pending;
+        private boolean missing;
+        // Posiciones iniciales al volver al principio (una flota tiene como mucho SIZE barcos)
+        private final int[] positions = new int[BitBoard.SIZE];
+
+        void expect(int[] positions) {
+            pending = positions;
+        }
+
+        /**
+         * Copia en el motor el estado del keyframe que acaba de leer el lector
+         */
+        void restore(ReplayReader reader) {
+            pending = null;
+            missing = false;
+            for (int seat = PLAYER_ONE; seat <= PLAYER_TWO; seat++) {
+                ArrayList<Ship> fleet = getShips(seat);
+                int[] hitParts = reader.getKeyframeHitParts(seat);
+                for (int i = 0; i < fleet.size(); i++) {
+                    fleet.get(i).setHitPartsMask(hitParts[i]);
+                }
+                BitBoard board = getBoard(seat);
+                board.arrange(fleet, reader.getKeyframePositions(seat));
+                long[] shots = reader.getKeyframeShots(seat);
+                board.restoreShots(shots[0], shots[1], shots[2]);
+            }
+            restoreProgress(reader.getSeat(), reader.getKeyframeRegenerations());
+        }
+
+        void rewind(ReplayReader reader) {
+            pending = null;
+            missing = false;
+            for (int seat = PLAYER_ONE; seat <= PLAYER_TWO; seat++) {
+                ArrayList<Ship> fleet = getShips(seat);
+                for (int i = 0; i < fleet.size(); i++) {
+                    positions[i] = reader.getShipPosition(seat, i);
+                    fleet.get(i).setHitPartsMask(0);
+                }
+                BitBoard board = getBoard(seat);
+                board.arrange(fleet, positions);
+                board.restoreShots(0L, 0L, 0L);
+            }
+            restoreProgress(PLAYER_ONE, 0);
+        }
+
+        @Override
+        protected void regenerateBoard(int seat) {
+            if (isSeeded()) {
+                super.regenerateBoard(seat);
+                return;
+            }
+            if (pending == null || pending.length != getShips(seat).size()) {
+                missing = true;
+                super.regenerateBoard(seat);
+                return;
+            }
+            getBoard(seat).arrange(getShips(seat), pending);
+            pending = null;
+        }
+    }
+}
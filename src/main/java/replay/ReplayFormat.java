@@ -0,0 +1,59 @@
+package replay;
+
+import model.Ship;
+
+/**
+ * Formato binario de los replays.
+ *
+ * Encabezado (se escribe al empezar la batalla): 'B' 'R', versión, dificultad, opciones (bit 0 =
+ * partida con semilla, seguido de la semilla en 8 bytes), los dos nombres y la flota inicial de
+ * cada asiento [cantidad][código][tamaño][posición] por barco.
+ * Después, un evento por byte de etiqueta: bits 0-2 tipo, bit 3 asiento, bits 4-6 dato extra.
+ * <ul>
+ *     <li>SHOT (extra = CellState del resultado): celda disparada (fila * 8 + columna)</li>
+ *     <li>REGEN: posición nueva de cada barco de la flota del asiento, en orden; va antes del
+ *     SHOT que la provocó. Las partidas con semilla no lo graban: la regeneración se recalcula
+ *     con la semilla</li>
+ *     <li>KEYFRAME (asiento = turno actual): estado completo después de un disparo: número de
+ *     disparos, regeneraciones y, por asiento, las máscaras HIT, MISS y SUNK (8 bytes cada una)
+ *     más [posición][partes golpeadas] de cada barco</li>
+ * </ul>
+ * Todos los enteros son varints (7 bits por byte); celdas y posiciones siempre caben en uno.
+ * Una posición es (fila * 8 + columna) << 1 | vertical.
+ */
+final class ReplayFormat {
+
+    static final int MAGIC_0 = 'B';
+    static final int MAGIC_1 = 'R';
+    static final int VERSION = 1;
+
+    // Opciones del encabezado
+    static final int SEEDED = 1;
+
+    static final int SHOT = 1;
+    static final int REGEN = 2;
+    static final int KEYFRAME = 3;
+
+    private ReplayFormat() {
+    }
+
+    static int tag(int type, int seat, int extra) {
+        return type | seat << 3 | extra << 4;
+    }
+
+    static int type(int tag) {
+        return tag & 7;
+    }
+
+    static int seat(int tag) {
+        return (tag >>> 3) & 1;
+    }
+
+    static int extra(int tag) {
+        return tag >>> 4;
+    }
+
+    static int position(Ship ship) {
+        return (ship.getRow() * 8 + ship.getCol()) << 1 | (ship.isVertical() ? 1 : 0);
+    }
+}
@@ -0,0 +1,279 @@
+package replay;
+
+import model.CellState;
+import model.Difficulty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodifica un replay evento por evento (ver {@link ReplayFormat}) sin reconstruir la partida;
+ * MatchReplay se encarga de aplicarlos a un motor.
+ */
+public class ReplayReader {
+
+    public static final int END = -1;
+    public static final int SHOT = ReplayFormat.SHOT;
+    public static final int REGEN = ReplayFormat.REGEN;
+    public static final int KEYFRAME = ReplayFormat.KEYFRAME;
+
+    private final byte[] data;
+    private int pos;
+
+    private final Difficulty difficulty;
+    private final boolean seeded;
+    private final long seed;
+    private final String[] names = new String[2];
+    private final String[][] codes = new String[2][];
+    private final int[][] sizes = new int[2][];
+    private final int[][] positions = new int[2][];
+    private final int eventsStart;
+
+    // Último evento leído
+    private int seat;
+    private int cell;
+    private CellState result;
+    private int[] regenerated = new int[0];
+    private int keyframeMove;
+    private int keyframeRegenerations;
+    private final long[][] keyframeShots = new long[2][3];
+    private final int[][] keyframePositions = new int[2][];
+    private final int[][] keyframeHitParts = new int[2][];
+
+    public ReplayReader(byte[] data) throws IOException {
+        this.data = data;
+        if (data.length < 3 || data[0] != ReplayFormat.MAGIC_0 || data[1] != ReplayFormat.MAGIC_1) {
+            throw new IOException("No es un replay de BattleShip");
+        }
+        pos = 2;
+        int version = readVarint();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Versión de replay no soportada: " + version);
+        }
+        int difficultyIndex = readVarint();
+        if (difficultyIndex >= Difficulty.values().length) {
+            throw new IOException("Dificultad inválida en el replay: " + difficultyIndex);
+        }
+        difficulty = Difficulty.values()[difficultyIndex];
+        int options = readVarint();
+        seeded = (options & ReplayFormat.SEEDED) != 0;
+        seed = seeded ? readLong() : 0L;
+        names[0] = readString();
+        names[1] = readString();
+        for (int s = 0; s < 2; s++) {
+            int count = readVarint();
+            codes[s] = new String[count];
+            sizes[s] = new int[count];
+            positions[s] = new int[count];
+            for (int i = 0; i < count; i++) {
+                codes[s][i] = readString();
+                sizes[s][i] = readVarint();
+                positions[s][i] = readVarint();
+            }
+            keyframePositions[s] = new int[count];
+            keyframeHitParts[s] = new int[count];
+        }
+        eventsStart = pos;
+    }
+
+    /**
+     * Lee el siguiente evento
+     * @return SHOT, REGEN, KEYFRAME o END
+     */
+    public int next() throws IOException {
+        if (pos >= data.length) return END;
+        int tag = data[pos++] & 0xFF;
+        seat = ReplayFormat.seat(tag);
+        switch (ReplayFormat.type(tag)) {
+            case ReplayFormat.SHOT -> {
+                int extra = ReplayFormat.extra(tag);
+                if (extra >= CellState.values().length) {
+                    throw new IOException("Resultado inválido en la posición " + (pos - 1));
+                }
+                result = CellState.values()[extra];
+                cell = readVarint();
+                return SHOT;
+            }
+            case ReplayFormat.REGEN -> {
+                int count = codes[seat].length;
+                if (regenerated.length != count) {
+                    regenerated = new int[count];
+                }
+                for (int i = 0; i < count; i++) {
+                    regenerated[i] = readVarint();
+                }
+                return REGEN;
+            }
+            case ReplayFormat.KEYFRAME -> {
+                keyframeMove = readVarint();
+                keyframeRegenerations = readVarint();
+                for (int s = 0; s < 2; s++) {
+                    for (int k = 0; k < 3; k++) {
+                        keyframeShots[s][k] = readLong();
+                    }
+                    for (int i = 0; i < codes[s].length; i++) {
+                        keyframePositions[s][i] = readVarint();
+                        keyframeHitParts[s][i] = readVarint();
+                    }
+                }
+                return KEYFRAME;
+            }
+            default -> throw new IOException("Evento desconocido en la posición " + (pos - 1));
+        }
+    }
+
+    // ---- Encabezado ----
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    /**
+     * true si la partida se jugó con semilla (sus regeneraciones no están grabadas)
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getShipCount(int seat) {
+        return codes[seat].length;
+    }
+
+    public String getShipCode(int seat, int index) {
+        return codes[seat][index];
+    }
+
+    public int getShipSize(int seat, int index) {
+        return sizes[seat][index];
+    }
+
+    /**
+     * Posición inicial del barco: (fila * 8 + columna) << 1 | vertical
+     */
+    public int getShipPosition(int seat, int index) {
+        return positions[seat][index];
+    }
+
+    // ---- Último evento ----
+
+    /**
+     * Asiento que disparó (SHOT) o cuyo tablero se regeneró (REGEN)
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getCell() {
+        return cell;
+    }
+
+    public CellState getResult() {
+        return result;
+    }
+
+    /**
+     * Posiciones nuevas de la flota del asiento, en el orden de la flota (se reutiliza entre eventos)
+     */
+    public int[] getRegeneratedPositions() {
+        return regenerated;
+    }
+
+    /**
+     * Disparos hechos hasta el keyframe
+     */
+    public int getKeyframeMove() {
+        return keyframeMove;
+    }
+
+    public int getKeyframeRegenerations() {
+        return keyframeRegenerations;
+    }
+
+    /**
+     * Máscaras de disparos recibidos por el asiento en el keyframe: {HIT, MISS, SUNK}
+     */
+    public long[] getKeyframeShots(int seat) {
+        return keyframeShots[seat];
+    }
+
+    public int[] getKeyframePositions(int seat) {
+        return keyframePositions[seat];
+    }
+
+    /**
+     * Partes golpeadas de cada barco del asiento en el keyframe (máscara de bits por barco)
+     */
+    public int[] getKeyframeHitParts(int seat) {
+        return keyframeHitParts[seat];
+    }
+
+    // ---- Posición ----
+
+    /**
+     * Posición del siguiente evento en el arreglo
+     */
+    public int getPosition() {
+        return pos;
+    }
+
+    /**
+     * Posición del primer evento (justo después del encabezado)
+     */
+    public int getEventsStart() {
+        return eventsStart;
+    }
+
+    /**
+     * Continúa la lectura desde una posición obtenida con getPosition
+     */
+    public void seek(int position) {
+        if (position < eventsStart || position > data.length) {
+            throw new IllegalArgumentException("Posición fuera del replay: " + position);
+        }
+        pos = position;
+    }
+
+    // ---- Decodificación ----
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (pos >= data.length) {
+                throw new IOException("Replay truncado");
+            }
+            int b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint demasiado largo en la posición " + pos);
+    }
+
+    private long readLong() throws IOException {
+        if (data.length - pos < 8) {
+            throw new IOException("Replay truncado");
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value |= (data[pos++] & 0xFFL) << (i * 8);
+        }
+        return value;
+    }
+
+    private String readString() throws IOException {
+        int length = readVarint();
+        if (length > data.length - pos) {
+            throw new IOException("Replay truncado");
+        }
+        String s = new String(data, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return s;
+    }
+}
@@ -0,0 +1,163 @@
+package replay;
+
+import logic.EngineListener;
+import logic.GameEngine;
+import model.BitBoard;
+import model.CellState;
+import model.Ship;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Graba una partida en formato replay (ver {@link ReplayFormat}) mientras se juega.
+ *
+ * Se conecta con GameEngine.setListener. Cada evento son unos pocos bytes escritos en un arreglo
+ * propio (sin objetos por disparo): un disparo ocupa 2 bytes y una regeneración 1 + un byte por barco
+ * (nada en las partidas con semilla, donde el replay se reduce a la semilla y los disparos).
+ * Al empezar cada batalla se descarta lo grabado antes, así que un mismo grabador sirve para
+ * muchas partidas seguidas.
+ *
+ * Cada cierta cantidad de disparos se agrega un keyframe con el estado completo, para que
+ * MatchReplay pueda saltar a cualquier jugada sin reproducir la partida desde el principio.
+ */
+public class ReplayRecorder implements EngineListener {
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+
+    private final int keyframeInterval;
+    private byte[] buffer = new byte[1024];
+    private int length;
+    private int moves;
+    private boolean seeded;
+
+    public ReplayRecorder() {
+        this(DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * @param keyframeInterval disparos entre keyframes (0 para no grabarlos)
+     */
+    public ReplayRecorder(int keyframeInterval) {
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    @Override
+    public void battleStarted(GameEngine engine) {
+        length = 0;
+        moves = 0;
+        seeded = engine.isSeeded();
+        writeByte(ReplayFormat.MAGIC_0);
+        writeByte(ReplayFormat.MAGIC_1);
+        writeVarint(ReplayFormat.VERSION);
+        writeVarint(engine.getDifficulty().ordinal());
+        writeVarint(seeded ? ReplayFormat.SEEDED : 0);
+        if (seeded) {
+            writeLong(engine.getSeed());
+        }
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            writeString(engine.getName(seat));
+        }
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            ArrayList<Ship> fleet = engine.getShips(seat);
+            writeVarint(fleet.size());
+            for (Ship ship : fleet) {
+                writeString(ship.getCode());
+                writeVarint(ship.getSize());
+                writeVarint(ReplayFormat.position(ship));
+            }
+        }
+    }
+
+    @Override
+    public void boardRegenerated(GameEngine engine, int seat) {
+        if (seeded) {
+            // Se recalcula con la semilla al reproducir
+            return;
+        }
+        ArrayList<Ship> fleet = engine.getShips(seat);
+        writeByte(ReplayFormat.tag(ReplayFormat.REGEN, seat, 0));
+        for (int i = 0; i < fleet.size(); i++) {
+            writeVarint(ReplayFormat.position(fleet.get(i)));
+        }
+    }
+
+    @Override
+    public void shotFired(GameEngine engine, int seat, int row, int col, CellState result) {
+        writeByte(ReplayFormat.tag(ReplayFormat.SHOT, seat, result.ordinal()));
+        writeVarint(row * 8 + col);
+        moves++;
+        if (keyframeInterval > 0 && moves % keyframeInterval == 0) {
+            writeKeyframe(engine);
+        }
+    }
+
+    private void writeKeyframe(GameEngine engine) {
+        writeByte(ReplayFormat.tag(ReplayFormat.KEYFRAME, engine.getCurrentTurn(), 0));
+        writeVarint(moves);
+        writeVarint(engine.getRegenerations());
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            BitBoard board = engine.getBoard(seat);
+            writeLong(board.getHitMask());
+            writeLong(board.getMissMask());
+            writeLong(board.getSunkMask());
+            for (Ship ship : engine.getShips(seat)) {
+                writeVarint(ReplayFormat.position(ship));
+                writeVarint(ship.getHitPartsMask());
+            }
+        }
+    }
+
+    /**
+     * Disparos grabados en la partida actual
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    // ---- Codificación ----
+
+    private void writeByte(int b) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, length * 2);
+        }
+        buffer[length++] = (byte) b;
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeLong(long value) {
+        for (int i = 0; i < 8; i++) {
+            writeByte((int) (value >>> (i * 8)));
+        }
+    }
+
+    private void writeString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package replay;
+
+/**
+ * Destino de los replays de las partidas terminadas (ver {@link ReplayStore}).
+ * Se llama en el hilo que termina la partida, así que debe ser rápido.
+ */
+@FunctionalInterface
+public interface ReplaySink {
+
+    /**
+     * @param matchId id de la partida en su MatchManager
+     * @param replay  replay completo en formato {@link ReplayFormat}
+     */
+    void save(long matchId, byte[] replay);
+}
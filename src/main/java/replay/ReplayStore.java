@@ -0,0 +1,93 @@
+package replay;
+
+import logic.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carpeta de replays: un archivo por partida terminada (match-aaaaMMdd-HHmmss-id.replay).
+ *
+ * La escritura va en un hilo de fondo, así que la partida que termina no espera al disco. Cada
+ * archivo se escribe aparte y se renombra al final: nunca queda un replay a medias con el nombre
+ * definitivo. Los archivos se pueden abrir en el visor de la interfaz (MainFrame.showReplay).
+ */
+public class ReplayStore implements ReplaySink, Closeable {
+
+    public static final String EXTENSION = ".replay";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path dir;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "replay-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ReplayStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Abre (y crea si hace falta) la carpeta de replays
+     */
+    public static ReplayStore open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        return new ReplayStore(dir);
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    @Override
+    public void save(long matchId, byte[] replay) {
+        String name = "match-" + LocalDateTime.now().format(STAMP) + "-" + matchId + EXTENSION;
+        try {
+            writer.execute(() -> write(name, replay));
+        } catch (RejectedExecutionException e) {
+            Log.warn("Carpeta de replays cerrada, no se guarda {}", name);
+        }
+    }
+
+    private void write(String name, byte[] replay) {
+        Path file = dir.resolve(name);
+        Path tmp = dir.resolve(name + ".tmp");
+        try {
+            Files.write(tmp, replay);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Log.debug("Replay guardado: {} ({} bytes)", file, replay.length);
+        } catch (IOException e) {
+            Log.error("No se pudo guardar el replay {}: {}", name, e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // Queda el .tmp; no se confunde con un replay
+            }
+        }
+    }
+
+    /**
+     * Termina de escribir los replays pendientes
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                Log.warn("Quedaron replays sin guardar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package store;
+
+/**
+ * Recibe los eventos del journal de jugadores al reproducirlo, en el orden en que se escribieron
+ */
+public interface JournalHandler {
+    void registered(String username, String password);
+
+    void renamed(String oldUsername, String newUsername);
+
+    void passwordChanged(String username, String password);
+
+    void deleted(String username);
+
+    void pointsChanged(String username, int points);
+
+    void gameAdded(String username, String gameResult);
+}
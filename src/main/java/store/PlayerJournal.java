@@ -0,0 +1,315 @@
+package store;
+
+import logic.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal binario de solo agregar con los eventos de las cuentas.
+ *
+ * Formato: encabezado "BSJ1" y luego registros [largo int][tipo byte][datos][crc32c int], donde el
+ * largo cuenta tipo + datos y el CRC cubre lo mismo. Los textos van como [largo short][UTF-8].
+ *
+ * Escribir solo codifica el registro en un buffer en memoria: un hilo de fondo junta todo lo
+ * pendiente, lo escribe de una vez y hace un solo fsync por lote (group commit), así que quien
+ * escribe nunca espera al disco. sync() sirve para esperar a que lo escrito ya sea durable.
+ *
+ * Al abrir, el archivo existente se reproduce con un MappedByteBuffer. Un registro incompleto o con
+ * CRC inválido al final (escritura cortada por un cierre abrupto) se descarta y el archivo se trunca ahí.
+ */
+public class PlayerJournal implements Closeable {
+
+    private static final int MAGIC = 0x42534A31; // "BSJ1"
+    private static final int HEADER_SIZE = 4;
+    // Largo máximo de un registro (tipo + datos); más que esto solo puede ser basura
+    private static final int MAX_RECORD = 1 << 20;
+
+    private static final byte REGISTER = 1;
+    private static final byte RENAME = 2;
+    private static final byte PASSWORD = 3;
+    private static final byte DELETE = 4;
+    private static final byte POINTS = 5;
+    private static final byte GAME = 6;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final CRC32C crc = new CRC32C();
+
+    // Registros pendientes (protegido por this); el hilo de commit lo intercambia por el otro buffer
+    private ByteBuffer pending = ByteBuffer.allocate(8192);
+    private ByteBuffer writing = ByteBuffer.allocate(8192);
+    private long appended;
+    private long durable;
+    private boolean closed;
+    private IOException failure;
+    private final Thread committer;
+
+    private PlayerJournal(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        committer = new Thread(this::commitLoop, "journal-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Reproduce el journal (si existe) sobre el handler y lo deja abierto para seguir agregando
+     */
+    public static PlayerJournal open(Path file, JournalHandler handler) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        long validEnd = Files.exists(file) ? replay(file, handler) : 0;
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (validEnd == 0) {
+            channel.truncate(0);
+            channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(0, MAGIC));
+            channel.force(true);
+        } else if (channel.size() > validEnd) {
+            Log.warn("Journal {}: se descartan {} bytes incompletos al final", file, channel.size() - validEnd);
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd == 0 ? HEADER_SIZE : validEnd);
+        return new PlayerJournal(file, channel);
+    }
+
+    /**
+     * Crea un journal nuevo y vacío (el archivo no debe existir)
+     */
+    public static PlayerJournal create(Path file) throws IOException {
+        if (Files.exists(file)) {
+            throw new IOException("El journal ya existe: " + file);
+        }
+        return open(file, null);
+    }
+
+    /**
+     * Aplica los registros válidos del archivo al handler
+     * @return posición donde termina el último registro válido (0 si el archivo no tiene encabezado)
+     */
+    public static long replay(Path file, JournalHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) return 0;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal demasiado grande para mapearlo: " + file);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC) {
+                throw new IOException("El archivo no es un journal de jugadores: " + file);
+            }
+
+            CRC32C crc = new CRC32C();
+            int pos = HEADER_SIZE;
+            int records = 0;
+            while (pos + 4 <= size) {
+                int length = map.getInt(pos);
+                if (length < 1 || length > MAX_RECORD || pos + 4L + length + 4 > size) break;
+
+                crc.reset();
+                crc.update(map.slice(pos + 4, length));
+                if ((int) crc.getValue() != map.getInt(pos + 4 + length)) break;
+
+                ByteBuffer record = map.slice(pos + 4, length);
+                apply(record, handler);
+                pos += 4 + length + 4;
+                records++;
+            }
+            Log.info("Journal {}: {} eventos reproducidos", file, records);
+            return pos;
+        }
+    }
+
+    private static void apply(ByteBuffer record, JournalHandler handler) {
+        byte type = record.get();
+        String username = readString(record);
+        switch (type) {
+            case REGISTER -> handler.registered(username, readString(record));
+            case RENAME -> handler.renamed(username, readString(record));
+            case PASSWORD -> handler.passwordChanged(username, readString(record));
+            case DELETE -> handler.deleted(username);
+            case POINTS -> handler.pointsChanged(username, record.getInt());
+            case GAME -> handler.gameAdded(username, readString(record));
+            default -> Log.warn("Journal: tipo de evento desconocido {}", type);
+        }
+    }
+
+    // ---- Eventos ----
+
+    public void registered(String username, String password) {
+        append(REGISTER, username, password, 0);
+    }
+
+    public void renamed(String oldUsername, String newUsername) {
+        append(RENAME, oldUsername, newUsername, 0);
+    }
+
+    public void passwordChanged(String username, String password) {
+        append(PASSWORD, username, password, 0);
+    }
+
+    public void deleted(String username) {
+        append(DELETE, username, null, 0);
+    }
+
+    public void pointsChanged(String username, int points) {
+        append(POINTS, username, null, points);
+    }
+
+    public void gameAdded(String username, String gameResult) {
+        append(GAME, username, gameResult, 0);
+    }
+
+    private void append(byte type, String username, String text, int value) {
+        byte[] name = encode(username);
+        byte[] extra = text != null ? encode(text) : null;
+        int length = 1 + 2 + name.length + (extra != null ? 2 + extra.length : 0) + (type == POINTS ? 4 : 0);
+
+        synchronized (this) {
+            if (closed) {
+                Log.warn("Journal cerrado: se pierde un evento de {}", username);
+                return;
+            }
+            ensureCapacity(4 + length + 4);
+            int start = pending.position();
+            pending.putInt(length);
+            pending.put(type);
+            pending.putShort((short) name.length).put(name);
+            if (extra != null) {
+                pending.putShort((short) extra.length).put(extra);
+            }
+            if (type == POINTS) {
+                pending.putInt(value);
+            }
+            crc.reset();
+            crc.update(pending.array(), start + 4, length);
+            pending.putInt((int) crc.getValue());
+            appended++;
+            notifyAll();
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() >= bytes) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        bigger.put(pending);
+        pending = bigger;
+    }
+
+    /**
+     * Espera a que todos los eventos agregados hasta ahora estén escritos y sincronizados en disco
+     */
+    public synchronized void sync() throws IOException {
+        long target = appended;
+        while (durable < target && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrumpido esperando el journal", e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Escribe lo pendiente, detiene el hilo de commit y cierra el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (this) {
+            if (failure != null) throw failure;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // ---- Hilo de commit ----
+
+    private void commitLoop() {
+        while (true) {
+            long batchEnd;
+            synchronized (this) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.position() == 0) return; // cerrado y sin pendientes
+
+                // Intercambiar buffers: quienes escriban mientras tanto van al siguiente lote
+                ByteBuffer batch = pending;
+                pending = writing;
+                writing = batch;
+                batchEnd = appended;
+            }
+
+            try {
+                writing.flip();
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                Log.error("No se pudo escribir el journal {}: {}", file, e.getMessage());
+                synchronized (this) {
+                    failure = e;
+                    closed = true;
+                    notifyAll();
+                }
+                return;
+            } finally {
+                writing.clear();
+            }
+
+            synchronized (this) {
+                durable = batchEnd;
+                notifyAll();
+            }
+        }
+    }
+
+    // ---- Textos ----
+
+    private static byte[] encode(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Texto demasiado largo para el journal");
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+package store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot binario compacto de todas las cuentas.
+ *
+ * Formato: "BSS1", cantidad de jugadores (int) y por cada uno [username][password][puntos int]
+ * [cantidad de juegos byte][juegos, del más reciente al más viejo]; al final un CRC32C de todo lo
+ * anterior. Los textos van como [largo short][UTF-8], igual que en el journal.
+ * Se escribe en un archivo temporal que luego se renombra, así nunca queda un snapshot a medias.
+ */
+final class PlayerSnapshot {
+
+    private static final int MAGIC = 0x42535331; // "BSS1"
+
+    private PlayerSnapshot() {
+    }
+
+    static void write(Path file, List<SnapshotState.Record> records) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(records.size());
+            for (SnapshotState.Record record : records) {
+                byte[] username = encode(record.username);
+                byte[] password = encode(record.password);
+                int games = 0;
+                while (games < SnapshotState.HISTORY_SIZE && record.lastGames[games] != null) games++;
+                byte[][] history = new byte[games][];
+                int size = 2 + username.length + 2 + password.length + 4 + 1;
+                for (int i = 0; i < games; i++) {
+                    history[i] = encode(record.lastGames[i]);
+                    size += 2 + history[i].length;
+                }
+
+                if (buffer.remaining() < size) {
+                    buffer = flush(channel, buffer, crc, size);
+                }
+                buffer.putShort((short) username.length).put(username);
+                buffer.putShort((short) password.length).put(password);
+                buffer.putInt(record.points);
+                buffer.put((byte) games);
+                for (byte[] game : history) {
+                    buffer.putShort((short) game.length).put(game);
+                }
+            }
+            buffer = flush(channel, buffer, crc, 4);
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Escribe el contenido del buffer al canal (actualizando el CRC) y deja espacio para needed bytes
+     */
+    private static ByteBuffer flush(FileChannel channel, ByteBuffer buffer, CRC32C crc, int needed) throws IOException {
+        buffer.flip();
+        crc.update(buffer.array(), 0, buffer.limit());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return buffer.capacity() >= needed ? buffer : ByteBuffer.allocate(needed);
+    }
+
+    /**
+     * Revisa que el archivo esté completo y que el CRC coincida
+     */
+    static boolean isValid(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 12 || size > Integer.MAX_VALUE) return false;
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC) return false;
+            CRC32C crc = new CRC32C();
+            crc.update(map.slice(0, (int) size - 4));
+            return (int) crc.getValue() == map.getInt((int) size - 4);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Entrega cada cuenta del snapshot al handler como eventos: registro, puntos y juegos en orden
+     * @return cantidad de jugadores leídos
+     */
+    static int read(Path file, JournalHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            map.getInt(); // MAGIC, ya verificado en isValid
+            int count = map.getInt();
+            String[] history = new String[SnapshotState.HISTORY_SIZE];
+            for (int p = 0; p < count; p++) {
+                String username = readString(map);
+                String password = readString(map);
+                int points = map.getInt();
+                int games = map.get();
+                for (int i = 0; i < games; i++) {
+                    history[i] = readString(map);
+                }
+
+                handler.registered(username, password);
+                if (points != 0) {
+                    handler.pointsChanged(username, points);
+                }
+                // Del más viejo al más reciente, para que el historial quede en el mismo orden
+                for (int i = games - 1; i >= 0; i--) {
+                    handler.gameAdded(username, history[i]);
+                }
+            }
+            return count;
+        }
+    }
+
+    private static byte[] encode(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Texto demasiado largo para el snapshot");
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
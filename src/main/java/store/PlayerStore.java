@@ -0,0 +1,290 @@
+package store;
+
+import logic.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Carpeta de datos de las cuentas: snapshots + journal por generaciones.
+ *
+ * players-N.snapshot es el estado completo justo antes del primer evento de players-N.journal.
+ * Al arrancar se carga el snapshot válido más reciente y solo se reproducen los journals desde
+ * esa generación, así que el tiempo de arranque depende de la cantidad de cuentas y no de la
+ * historia completa.
+ *
+ * Compactar: se abre el journal N+1 y se cambia el de escritura en un solo paso; después, en
+ * segundo plano, se arma el estado con el snapshot anterior más los journals cerrados, se escribe
+ * players-(N+1).snapshot y se borran los archivos viejos. No se toca el estado en vivo, así que
+ * login y los disparos nunca esperan a la compactación. Si algo falla a medias, el snapshot y
+ * journals anteriores siguen siendo suficientes para reconstruir todo.
+ */
+public class PlayerStore implements Closeable {
+
+    private static final Pattern FILE_NAME = Pattern.compile("players-(\\d+)\\.(snapshot|journal)");
+    private static final String LEGACY_JOURNAL = "players.journal";
+
+    // Revisión periódica: se compacta si el journal pasó el tamaño o si pasó el intervalo con cambios
+    private static final long CHECK_SECONDS = 60;
+    private static final long COMPACT_BYTES = 4L << 20;
+    private static final long COMPACT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+    // Tamaño de un journal sin eventos (solo el encabezado)
+    private static final long EMPTY_JOURNAL = 4;
+
+    private final Path dir;
+    private final Object lock = new Object();
+    private PlayerJournal journal;
+    private long generation;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile long lastCompaction = System.nanoTime();
+    private ScheduledExecutorService scheduler;
+
+    private PlayerStore(Path dir, PlayerJournal journal, long generation) {
+        this.dir = dir;
+        this.journal = journal;
+        this.generation = generation;
+    }
+
+    /**
+     * Carga el último snapshot y los journals posteriores sobre el handler y deja el journal
+     * más reciente abierto para seguir agregando
+     */
+    public static PlayerStore open(Path dir, JournalHandler handler) throws IOException {
+        Files.createDirectories(dir);
+        Path legacy = dir.resolve(LEGACY_JOURNAL);
+        if (Files.exists(legacy) && generations(dir, "journal").isEmpty()) {
+            // Journal de antes de los snapshots: pasa a ser la generación 0
+            Files.move(legacy, journalFile(dir, 0));
+        }
+
+        long base = latestValidSnapshot(dir, Long.MAX_VALUE);
+        if (base >= 0) {
+            int players = PlayerSnapshot.read(snapshotFile(dir, base), handler);
+            Log.info("Snapshot {}: {} jugadores cargados", base, players);
+        }
+
+        List<Long> journals = new ArrayList<>();
+        for (long gen : generations(dir, "journal")) {
+            if (gen >= base) journals.add(gen);
+        }
+        long current = journals.isEmpty() ? Math.max(base, 0) : journals.get(journals.size() - 1);
+        for (long gen : journals) {
+            if (gen != current) PlayerJournal.replay(journalFile(dir, gen), handler);
+        }
+        PlayerJournal journal = PlayerJournal.open(journalFile(dir, current), handler);
+        return new PlayerStore(dir, journal, current);
+    }
+
+    // ---- Eventos (al journal de la generación actual) ----
+
+    public void registered(String username, String password) {
+        synchronized (lock) {
+            journal.registered(username, password);
+        }
+    }
+
+    public void renamed(String oldUsername, String newUsername) {
+        synchronized (lock) {
+            journal.renamed(oldUsername, newUsername);
+        }
+    }
+
+    public void passwordChanged(String username, String password) {
+        synchronized (lock) {
+            journal.passwordChanged(username, password);
+        }
+    }
+
+    public void deleted(String username) {
+        synchronized (lock) {
+            journal.deleted(username);
+        }
+    }
+
+    public void pointsChanged(String username, int points) {
+        synchronized (lock) {
+            journal.pointsChanged(username, points);
+        }
+    }
+
+    public void gameAdded(String username, String gameResult) {
+        synchronized (lock) {
+            journal.gameAdded(username, gameResult);
+        }
+    }
+
+    /**
+     * Espera a que los eventos agregados hasta ahora estén en disco
+     */
+    public void sync() throws IOException {
+        PlayerJournal current;
+        synchronized (lock) {
+            current = journal;
+        }
+        current.sync();
+    }
+
+    // ---- Compactación ----
+
+    /**
+     * Revisa periódicamente en un hilo de fondo si conviene compactar
+     */
+    public synchronized void startCompaction() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "store-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactIfNeeded, CHECK_SECONDS, CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void compactIfNeeded() {
+        try {
+            long size = Files.size(currentJournalFile());
+            boolean due = System.nanoTime() - lastCompaction >= COMPACT_INTERVAL_NANOS;
+            if (size >= COMPACT_BYTES || (due && size > EMPTY_JOURNAL)) {
+                compact();
+            }
+        } catch (IOException e) {
+            Log.error("Falló la compactación: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe un snapshot nuevo con todo lo registrado hasta ahora y borra los archivos que ya no hacen falta
+     */
+    public void compact() throws IOException {
+        if (!compacting.compareAndSet(false, true)) return;
+        try {
+            long start = System.nanoTime();
+            long next = rotate();
+
+            SnapshotState state = new SnapshotState();
+            long base = latestValidSnapshot(dir, next - 1);
+            if (base >= 0) {
+                PlayerSnapshot.read(snapshotFile(dir, base), state);
+            }
+            for (long gen : generations(dir, "journal")) {
+                if (gen >= base && gen < next) {
+                    PlayerJournal.replay(journalFile(dir, gen), state);
+                }
+            }
+            List<SnapshotState.Record> records = state.records();
+            PlayerSnapshot.write(snapshotFile(dir, next), records);
+
+            // El snapshot nuevo ya es durable: lo anterior sobra
+            for (long gen : generations(dir, "snapshot")) {
+                if (gen < next) Files.deleteIfExists(snapshotFile(dir, gen));
+            }
+            for (long gen : generations(dir, "journal")) {
+                if (gen < next) Files.deleteIfExists(journalFile(dir, gen));
+            }
+            lastCompaction = System.nanoTime();
+            Log.info("Compactación: snapshot {} con {} jugadores en {} ms", next, records.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Empieza el journal de la siguiente generación y cierra el actual
+     * @return la generación nueva
+     */
+    private long rotate() throws IOException {
+        // Solo compact() cambia la generación, así que el archivo nuevo se crea (y sincroniza) sin el candado
+        long nextGeneration;
+        synchronized (lock) {
+            nextGeneration = generation + 1;
+        }
+        PlayerJournal next = PlayerJournal.create(journalFile(dir, nextGeneration));
+        PlayerJournal old;
+        synchronized (lock) {
+            old = journal;
+            journal = next;
+            generation = nextGeneration;
+        }
+        old.close();
+        return nextGeneration;
+    }
+
+    private Path currentJournalFile() {
+        synchronized (lock) {
+            return journalFile(dir, generation);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+            scheduler = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            try {
+                current.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (lock) {
+            journal.close();
+        }
+    }
+
+    // ---- Archivos ----
+
+    private static Path snapshotFile(Path dir, long gen) {
+        return dir.resolve("players-" + gen + ".snapshot");
+    }
+
+    private static Path journalFile(Path dir, long gen) {
+        return dir.resolve("players-" + gen + ".journal");
+    }
+
+    /**
+     * Generaciones existentes de un tipo de archivo, de menor a mayor
+     */
+    private static List<Long> generations(Path dir, String kind) throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher m = FILE_NAME.matcher(file.getFileName().toString());
+                if (m.matches() && m.group(2).equals(kind)) {
+                    result.add(Long.parseLong(m.group(1)));
+                }
+            });
+        }
+        result.sort(null);
+        return result;
+    }
+
+    /**
+     * Snapshot válido más reciente con generación <= max, o -1 si no hay ninguno
+     */
+    private static long latestValidSnapshot(Path dir, long max) throws IOException {
+        List<Long> snapshots = generations(dir, "snapshot");
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            long gen = snapshots.get(i);
+            if (gen > max) continue;
+            if (PlayerSnapshot.isValid(snapshotFile(dir, gen))) return gen;
+            Log.warn("Snapshot {} dañado, se usa uno anterior", gen);
+        }
+        return -1;
+    }
+}
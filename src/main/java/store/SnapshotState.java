@@ -0,0 +1,81 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Estado de las cuentas armado fuera del juego (sin objetos Player) para escribir un snapshot.
+ * Aplica los eventos con las mismas reglas que las cuentas en vivo.
+ */
+class SnapshotState implements JournalHandler {
+
+    // Mismo largo que Player.lastGames
+    static final int HISTORY_SIZE = 10;
+
+    static final class Record {
+        String username;
+        String password;
+        int points;
+        final String[] lastGames = new String[HISTORY_SIZE];
+        final long order;
+
+        Record(String username, String password, long order) {
+            this.username = username;
+            this.password = password;
+            this.order = order;
+        }
+    }
+
+    private final HashMap<String, Record> byName = new HashMap<>();
+    private long nextOrder;
+
+    @Override
+    public void registered(String username, String password) {
+        byName.putIfAbsent(username, new Record(username, password, nextOrder++));
+    }
+
+    @Override
+    public void renamed(String oldUsername, String newUsername) {
+        Record record = byName.get(oldUsername);
+        if (record == null || byName.containsKey(newUsername)) return;
+        byName.remove(oldUsername);
+        record.username = newUsername;
+        byName.put(newUsername, record);
+    }
+
+    @Override
+    public void passwordChanged(String username, String password) {
+        Record record = byName.get(username);
+        if (record != null) record.password = password;
+    }
+
+    @Override
+    public void deleted(String username) {
+        byName.remove(username);
+    }
+
+    @Override
+    public void pointsChanged(String username, int points) {
+        Record record = byName.get(username);
+        if (record != null) record.points = points;
+    }
+
+    @Override
+    public void gameAdded(String username, String gameResult) {
+        Record record = byName.get(username);
+        if (record == null) return;
+        System.arraycopy(record.lastGames, 0, record.lastGames, 1, HISTORY_SIZE - 1);
+        record.lastGames[0] = gameResult;
+    }
+
+    /**
+     * Cuentas en orden de registro (así el ranking conserva el desempate al reiniciar)
+     */
+    List<Record> records() {
+        List<Record> records = new ArrayList<>(byName.values());
+        records.sort(Comparator.comparingLong(r -> r.order));
+        return records;
+    }
+}
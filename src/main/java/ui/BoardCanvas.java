@@ -0,0 +1,256 @@
+package ui;
+
+import model.BoardCellListener;
+import model.CellState;
+import model.Ship;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tablero dibujado en un solo componente, para mostrar estados sin colocación de barcos.
+ *
+ * A diferencia de BoardPanel (una BoardCell por celda, cada una con borde, listener y
+ * TransferHandler), acá todo el tablero se pinta en un paintComponent: el agua con la grilla es
+ * una imagen que se arma una vez por tamaño, los clicks se traducen a celda con las coordenadas
+ * del mouse y cada cambio de estado solo repinta el rectángulo de esa celda. Sirve para tableros
+ * de cualquier tamaño y para mostrar varios a la vez (por ejemplo en el visor de replays).
+ */
+public class BoardCanvas extends JComponent {
+
+    private static final Color WATER = new Color(180, 220, 255);
+    private static final Color GRID = Color.BLACK;
+
+    private final int rows;
+    private final int cols;
+    private final CellState[][] states;
+    // Sprite de barco de cada celda (null si no hay barco a la vista)
+    private final Image[][] sprites;
+    private boolean tutorialMode = false;
+    private BoardCellListener listener;
+
+    private BufferedImage background;
+    private int backgroundCellSize = -1;
+    private double backgroundScale = -1;
+
+    public BoardCanvas(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.states = new CellState[rows][cols];
+        this.sprites = new Image[rows][cols];
+        for (CellState[] row : states) {
+            Arrays.fill(row, CellState.WATER);
+        }
+        setOpaque(true);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                if (listener != null && cell >= 0) {
+                    listener.cellClicked(cell / BoardCanvas.this.cols, cell % BoardCanvas.this.cols);
+                }
+            }
+        });
+    }
+
+    public void setListener(BoardCellListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * En modo tutorial las celdas SHIP se ven grises; si no, como agua
+     */
+    public void setTutorialMode(boolean tutorialMode) {
+        if (this.tutorialMode == tutorialMode) return;
+        this.tutorialMode = tutorialMode;
+        repaint();
+    }
+
+    public CellState getState(int row, int col) {
+        return states[row][col];
+    }
+
+    public void setState(int row, int col, CellState state) {
+        if (states[row][col] == state) return;
+        states[row][col] = state;
+        repaintCell(row, col);
+    }
+
+    /**
+     * Copia el tablero y repinta solo las celdas que cambiaron
+     */
+    public void updateBoard(CellState[][] board) {
+        if (board == null) return;
+        for (int i = 0; i < rows && i < board.length; i++) {
+            for (int j = 0; j < cols && j < board[i].length; j++) {
+                setState(i, j, board[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Muestra los barcos a flote con sus imágenes, solo en celdas sin disparos (WATER o SHIP).
+     * Llamar después de updateBoard.
+     */
+    public void setShips(List<Ship> ships) {
+        int cellSize = getCellSize();
+        Image[][] next = new Image[rows][cols];
+        if (ships != null) {
+            for (Ship ship : ships) {
+                if (ship == null || ship.isSunk()) continue;
+                for (int i = 0; i < ship.getSize(); i++) {
+                    int r = ship.getRow() + (ship.isVertical() ? i : 0);
+                    int c = ship.getCol() + (ship.isVertical() ? 0 : i);
+                    if (r < 0 || r >= rows || c < 0 || c >= cols) continue;
+                    if (states[r][c] != CellState.WATER && states[r][c] != CellState.SHIP) continue;
+                    next[r][c] = ShipSprites.get(ship.getCode(), i + 1, cellSize, ship.isVertical(), getGraphicsConfiguration());
+                }
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (sprites[i][j] != next[i][j]) {
+                    sprites[i][j] = next[i][j];
+                    repaintCell(i, j);
+                }
+            }
+        }
+    }
+
+    public void clearBoard() {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                setState(i, j, CellState.WATER);
+                if (sprites[i][j] != null) {
+                    sprites[i][j] = null;
+                    repaintCell(i, j);
+                }
+            }
+        }
+    }
+
+    public int getCellSize() {
+        int width = getWidth() > 0 ? getWidth() : getPreferredSize().width;
+        int height = getHeight() > 0 ? getHeight() : getPreferredSize().height;
+        // Un pixel extra para la última línea de la grilla
+        return Math.max(1, Math.min((width - 1) / cols, (height - 1) / rows));
+    }
+
+    /**
+     * Celda bajo el punto (row * cols + col), o -1 si cae fuera de la grilla
+     */
+    public int cellAt(int x, int y) {
+        int cellSize = getCellSize();
+        int col = Math.floorDiv(x - originX(cellSize), cellSize);
+        int row = Math.floorDiv(y - originY(cellSize), cellSize);
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return -1;
+        return row * cols + col;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        return new Dimension(cols * 420 / 8, rows * 420 / 8);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int cellSize = getCellSize();
+        int x0 = originX(cellSize);
+        int y0 = originY(cellSize);
+        if (getBackground() != null) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+        g.drawImage(background(cellSize), x0, y0, cols * cellSize + 1, rows * cellSize + 1, null);
+
+        // Solo las celdas dentro del área a repintar
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int firstRow = Math.max(0, (clip.y - y0) / cellSize);
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height - y0) / cellSize);
+        int firstCol = Math.max(0, (clip.x - x0) / cellSize);
+        int lastCol = Math.min(cols - 1, (clip.x + clip.width - x0) / cellSize);
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = firstCol; j <= lastCol; j++) {
+                int x = x0 + j * cellSize;
+                int y = y0 + i * cellSize;
+                Color fill = fillColor(states[i][j]);
+                if (fill != null) {
+                    g.setColor(fill);
+                    g.fillRect(x + 1, y + 1, cellSize - 1, cellSize - 1);
+                }
+                if (sprites[i][j] != null) {
+                    g.drawImage(sprites[i][j], x, y, cellSize, cellSize, null);
+                    g.setColor(GRID);
+                    g.drawRect(x, y, cellSize, cellSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Color de la celda, o null si se ve como agua (ya está en el fondo)
+     */
+    private Color fillColor(CellState state) {
+        return switch (state) {
+            case WATER -> null;
+            case HIT -> Color.RED;
+            case MISS -> Color.LIGHT_GRAY;
+            case SUNK -> Color.DARK_GRAY;
+            case SHIP -> tutorialMode ? Color.GRAY : null;
+        };
+    }
+
+    /**
+     * Agua con la grilla para el tamaño de celda actual, a la resolución real de la pantalla
+     */
+    private BufferedImage background(int cellSize) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        double scale = gc != null ? gc.getDefaultTransform().getScaleX() : 1.0;
+        if (background == null || cellSize != backgroundCellSize || scale != backgroundScale) {
+            int width = (int) Math.ceil((cols * cellSize + 1) * scale);
+            int height = (int) Math.ceil((rows * cellSize + 1) * scale);
+            background = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = background.createGraphics();
+            g.scale(scale, scale);
+            g.setColor(WATER);
+            g.fillRect(0, 0, cols * cellSize + 1, rows * cellSize + 1);
+            g.setColor(GRID);
+            for (int i = 0; i <= rows; i++) {
+                g.drawLine(0, i * cellSize, cols * cellSize, i * cellSize);
+            }
+            for (int j = 0; j <= cols; j++) {
+                g.drawLine(j * cellSize, 0, j * cellSize, rows * cellSize);
+            }
+            g.dispose();
+            backgroundCellSize = cellSize;
+            backgroundScale = scale;
+        }
+        return background;
+    }
+
+    private void repaintCell(int row, int col) {
+        int cellSize = getCellSize();
+        repaint(originX(cellSize) + col * cellSize, originY(cellSize) + row * cellSize, cellSize + 1, cellSize + 1);
+    }
+
+    // La grilla queda centrada en el componente
+    private int originX(int cellSize) {
+        return Math.max(0, (getWidth() - cols * cellSize - 1) / 2);
+    }
+
+    private int originY(int cellSize) {
+        return Math.max(0, (getHeight() - rows * cellSize - 1) / 2);
+    }
+}
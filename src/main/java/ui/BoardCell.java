@@ -5,10 +5,15 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 
+import logic.Log;
 import model.BoardCellListener;
 import model.CellState;
 
 public class BoardCell extends JPanel {
+    // Colores fijos de las celdas, para no crear un Color en cada actualización
+    private static final Color WATER_COLOR = new Color(180, 220, 255);
+    private static final Color PREVIEW_COLOR = new Color(100, 200, 100, 150);
+
     private int row;
     private int col;
     private CellState state;
@@ -76,8 +81,12 @@ public class BoardCell extends JPanel {
         });
     }
 
+    /**
+     * Cambia el estado de la celda; si es el mismo que ya tenía no hace nada
+     */
     public void setState(CellState newState) {
-        System.out.println("Acutalizando color: " + newState);
+        if (newState == state) return;
+        Log.trace("Actualizando color: {}", newState);
         this.state = newState;
         
         // Si el estado cambia a MISS, HIT, o SUNK, limpiar la imagen del barco
@@ -96,11 +105,11 @@ public class BoardCell extends JPanel {
 
     private void updateColor() {
         if (isPreview) {
-            setBackground(new Color(100, 200, 100, 150));
+            setBackground(PREVIEW_COLOR);
             return;
         }
         switch(state){
-            case WATER -> setBackground(new Color(180,220,255));
+            case WATER -> setBackground(WATER_COLOR);
             case HIT -> setBackground(Color.RED);
             case MISS -> setBackground(Color.LIGHT_GRAY);
             case SUNK -> setBackground(Color.DARK_GRAY);
@@ -108,7 +117,7 @@ public class BoardCell extends JPanel {
                 if (isTutorialMode) {
                     setBackground(Color.GRAY);
                 } else {
-                    setBackground(new Color(180,220,255));
+                    setBackground(WATER_COLOR);
                 }
             }
         }
@@ -131,12 +140,14 @@ public class BoardCell extends JPanel {
     }
 
     public void setShipImage(Image image, String part) {
+        if (image == shipImage && part != null && part.equals(shipPart)) return;
         this.shipImage = image;
         this.shipPart = part;
         repaint();
     }
 
     public void clearShipImage() {
+        if (shipImage == null) return;
         this.shipImage = null;
         this.shipPart = null;
         repaint();
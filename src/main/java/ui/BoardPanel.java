@@ -4,7 +4,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.datatransfer.*;
 
+import logic.Log;
+import model.BitBoard;
 import model.BoardCellListener;
+import model.BoardDelta;
 import model.CellState;
 
 public class BoardPanel extends JPanel {
@@ -107,8 +110,8 @@ public class BoardPanel extends JPanel {
     // Método para iniciar el drag simulado desde GamePanel (sidebar)
     public void startSimulatedDrag(String shipType, int size) {
         // Solo permitir drag durante la fase de colocación
-        if (gamePanel != null && gamePanel.getBattleShip().isPlacementPhase()) {
-            System.out.println("DEBUG startSimulatedDrag: Iniciando drag desde sidebar - shipType=" + shipType + ", size=" + size);
+        if (gamePanel != null && gamePanel.canPlaceShips()) {
+            Log.debug("startSimulatedDrag: Iniciando drag desde sidebar - shipType={}, size={}", shipType, size);
             isDragging = true;
             currentDragShipType = shipType;
             currentDragSize = size;
@@ -116,15 +119,15 @@ public class BoardPanel extends JPanel {
             dragFromSidebar = true; // Viene del sidebar
             requestFocusInWindow();
         } else {
-            System.out.println("DEBUG startSimulatedDrag: NO se puede iniciar drag - isPlacementPhase=" + (gamePanel != null && gamePanel.getBattleShip() != null ? gamePanel.getBattleShip().isPlacementPhase() : false));
+            Log.debug("startSimulatedDrag: NO se puede iniciar drag - canPlaceShips={}", gamePanel != null && gamePanel.canPlaceShips());
         }
     }
     
     // Método para iniciar el drag desde el tablero
     public void startSimulatedDragFromBoard(String shipType, int size, int originalRow, int originalCol, boolean originalVertical) {
         // Solo permitir drag durante la fase de colocación
-        if (gamePanel != null && gamePanel.getBattleShip().isPlacementPhase()) {
-            System.out.println("DEBUG startSimulatedDragFromBoard: Iniciando drag desde tablero - shipType=" + shipType + ", size=" + size + ", row=" + originalRow + ", col=" + originalCol);
+        if (gamePanel != null && gamePanel.canPlaceShips()) {
+            Log.debug("startSimulatedDragFromBoard: Iniciando drag desde tablero - shipType={}, size={}, row={}, col={}", shipType, size, originalRow, originalCol);
             isDragging = true;
             currentDragShipType = shipType;
             currentDragSize = size;
@@ -135,7 +138,7 @@ public class BoardPanel extends JPanel {
             draggedShipOriginalVertical = originalVertical;
             requestFocusInWindow();
         } else {
-            System.out.println("DEBUG startSimulatedDragFromBoard: NO se puede iniciar drag - isPlacementPhase=" + (gamePanel != null && gamePanel.getBattleShip() != null ? gamePanel.getBattleShip().isPlacementPhase() : false));
+            Log.debug("startSimulatedDragFromBoard: NO se puede iniciar drag - canPlaceShips={}", gamePanel != null && gamePanel.canPlaceShips());
         }
     }
     
@@ -230,14 +233,14 @@ public class BoardPanel extends JPanel {
         // Validar límite ANTES de llamar a placeShip para evitar alertas infinitas
         // SOLO si viene del sidebar (nuevo barco o duplicado)
         if (dragFromSidebar && currentDragShipType != null) {
-            logic.BattleShip bs = gamePanel != null ? gamePanel.getBattleShip() : null;
-            if (bs != null) {
-                model.Difficulty difficulty = bs.getDifficulty();
+            logic.BoardSnapshot view = gamePanel != null ? gamePanel.getView() : null;
+            if (view != null) {
+                model.Difficulty difficulty = view.getDifficulty();
                 if (difficulty == null) {
                     difficulty = model.Difficulty.NORMAL;
                 }
                 
-                int totalShipsPlaced = bs.getCurrentTurnShipsCount();
+                int totalShipsPlaced = view.getPlacedShips().size();
                 int maxShips = difficulty.getShipsAllowed();
                 boolean shipExists = checkShipExists(currentDragShipType);
                 
@@ -258,7 +261,8 @@ public class BoardPanel extends JPanel {
                     }
                 }
                 
-                System.out.println("DEBUG handleDrop: totalShipsPlaced=" + totalShipsPlaced + ", maxShips=" + maxShips + ", shipType=" + currentDragShipType + ", shipExists=" + shipExists + ", countOfThisType=" + countOfThisType);
+                Log.debug("handleDrop: totalShipsPlaced={}, maxShips={}", totalShipsPlaced, maxShips);
+                Log.debug("handleDrop: shipType={}, shipExists={}, countOfThisType={}", currentDragShipType, shipExists, countOfThisType);
                 
                 // Si viene del sidebar y no existe el barco, se agregará uno nuevo
                 boolean willAddNewShip = !shipExists;
@@ -268,7 +272,7 @@ public class BoardPanel extends JPanel {
                     // En EASY, si el barco ya existe, se puede crear un duplicado (excepto Destructor)
                     if (currentDragShipType.equals("DT")) {
                         // Destructor solo puede haber 1
-                        System.out.println("DEBUG handleDrop: BLOQUEANDO Destructor duplicado");
+                        Log.debug("handleDrop: BLOQUEANDO Destructor duplicado");
                         if (!showingModal) {
                             showingModal = true;
                             JOptionPane.showMessageDialog(
@@ -284,12 +288,12 @@ public class BoardPanel extends JPanel {
                     }
                     // Se puede crear duplicado, pero verificar límite
                     willAddNewShip = true; // Se agregará un nuevo barco (duplicado)
-                    System.out.println("DEBUG handleDrop: Permitir duplicado en EASY, willAddNewShip=true");
+                    Log.debug("handleDrop: Permitir duplicado en EASY, willAddNewShip=true");
                 }
                 
                 // Si se va a agregar un barco nuevo y ya hay maxShips, bloquear ANTES de placeShip
                 if (willAddNewShip && totalShipsPlaced >= maxShips) {
-                    System.out.println("DEBUG handleDrop: BLOQUEANDO - willAddNewShip=" + willAddNewShip + ", totalShipsPlaced=" + totalShipsPlaced + ", maxShips=" + maxShips);
+                    Log.debug("handleDrop: BLOQUEANDO - willAddNewShip={}, totalShipsPlaced={}, maxShips={}", willAddNewShip, totalShipsPlaced, maxShips);
                     // Solo mostrar modal si no se está mostrando uno ya (evitar modales infinitos)
                     if (!showingModal) {
                         showingModal = true;
@@ -307,7 +311,7 @@ public class BoardPanel extends JPanel {
                     return;
                 }
                 
-                System.out.println("DEBUG handleDrop: PERMITIENDO - willAddNewShip=" + willAddNewShip + ", totalShipsPlaced=" + totalShipsPlaced + ", maxShips=" + maxShips);
+                Log.debug("handleDrop: PERMITIENDO - willAddNewShip={}, totalShipsPlaced={}, maxShips={}", willAddNewShip, totalShipsPlaced, maxShips);
             }
         }
         
@@ -356,44 +360,73 @@ public class BoardPanel extends JPanel {
         }
     }
 
-    public void updateBoard(CellState[][] board) {
+    /**
+     * Muestra el tablero tocando solo las celdas que cambiaron. Cada celda invalida su propio
+     * rectángulo y el RepaintManager de Swing junta todo en un solo repintado por frame, así que
+     * no hace falta repintar el panel entero.
+     * @param enemyShips barcos enemigos del modo tutorial, ya copiados (por ejemplo de un BoardSnapshot)
+     */
+    public void updateBoard(CellState[][] board, java.util.List<model.Ship> enemyShips) {
         if (board == null) return;
         for (int i = 0; i < ROWS && i < board.length; i++) {
             for (int j = 0; j < COLS && j < board[i].length; j++) {
-                cells[i][j].setState(board[i][j]);
+                if (cells[i][j].getState() != board[i][j]) {
+                    cells[i][j].setState(board[i][j]);
+                }
             }
         }
         
         // En modo tutorial, cargar los barcos enemigos
         if (tutorialMode && gamePanel != null) {
-            loadEnemyShips();
+            loadEnemyShips(enemyShips);
         } else {
-            // En modo ARCADE, limpiar TODAS las imágenes, shipInfo y TransferHandler
+            // En modo ARCADE, limpiar las imágenes, shipInfo y TransferHandler que queden
             // para evitar interferencias con los disparos
+            boolean battle = gamePanel != null && !gamePanel.isPlacementPhase();
             for (int i = 0; i < ROWS; i++) {
                 for (int j = 0; j < COLS; j++) {
-                    cells[i][j].clearShipImage();
-                    cells[i][j].clearShipInfo();
+                    BoardCell cell = cells[i][j];
+                    cell.clearShipImage();
+                    if (cell.getShipInfo() != null) {
+                        cell.clearShipInfo();
+                    }
                     // Asegurarse de que no haya TransferHandler durante la batalla
-                    if (gamePanel != null && !gamePanel.getBattleShip().isPlacementPhase()) {
-                        cells[i][j].setTransferHandler(null);
+                    if (battle && cell.getTransferHandler() != null) {
+                        cell.setTransferHandler(null);
                     }
                 }
             }
         }
-        
-        repaint();
     }
     
+    /**
+     * Aplica solo lo que cambió en el tablero desde la última actualización, sin recorrer el
+     * estado completo. Una regeneración llega como un único cambio "limpiar salvo SUNK".
+     */
+    public void applyDelta(BoardDelta delta, java.util.List<model.Ship> enemyShips) {
+        if (delta == null || delta.isEmpty()) return;
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLS; j++) {
+                long cell = BitBoard.bit(i, j);
+                if ((delta.getChanged() & cell) != 0) {
+                    cells[i][j].setState(delta.stateAt(cell));
+                } else if (delta.isCleared() && cells[i][j].getState() != CellState.SUNK
+                        && cells[i][j].getState() != CellState.WATER) {
+                    cells[i][j].setState(CellState.WATER);
+                }
+            }
+        }
+
+        // En modo tutorial los barcos enemigos pudieron moverse con la regeneración
+        if (tutorialMode && gamePanel != null) {
+            loadEnemyShips(enemyShips);
+        }
+    }
+
     /**
      * Carga y muestra los barcos enemigos en el tablero (solo en modo tutorial)
      */
-    private void loadEnemyShips() {
-        if (gamePanel == null || gamePanel.getBattleShip() == null) return;
-        
-        logic.BattleShip battleShip = gamePanel.getBattleShip();
-        java.util.ArrayList<model.Ship> enemyShips = battleShip.getEnemyShipsList();
-        
+    private void loadEnemyShips(java.util.List<model.Ship> enemyShips) {
         if (enemyShips == null) return;
         
         int cellSize = getCellSize();
@@ -401,30 +434,9 @@ public class BoardPanel extends JPanel {
             cellSize = 420 / 8;
         }
         
-        // Obtener el enemyView para verificar qué celdas pueden mostrar barcos
-        model.CellState[][] enemyView = battleShip.getEnemyBoard();
-        
-        // Limpiar TODAS las imágenes de barcos primero, sin importar el estado
-        // Luego solo colocaremos barcos en celdas que tengan estado WATER o SHIP en el enemyView
-        for (int i = 0; i < ROWS; i++) {
-            for (int j = 0; j < COLS; j++) {
-                // Verificar el estado en el enemyView
-                model.CellState viewState = (enemyView != null && i < enemyView.length && j < enemyView[i].length) 
-                    ? enemyView[i][j] 
-                    : model.CellState.WATER;
-                
-                // Limpiar imagen de barco si la celda tiene estado especial (MISS, HIT, SUNK)
-                // O si no tiene estado WATER o SHIP en el enemyView
-                if (viewState != model.CellState.WATER && viewState != model.CellState.SHIP) {
-                    cells[i][j].clearShipImage();
-                    cells[i][j].clearShipInfo();
-                } else {
-                    // También limpiar si tiene estado WATER o SHIP, para luego colocar correctamente
-                    cells[i][j].clearShipImage();
-                    cells[i][j].clearShipInfo();
-                }
-            }
-        }
+        // Celdas que muestran una parte de barco en esta actualización; al final se limpian las
+        // demás, así una celda que ya tenía la misma imagen no se toca
+        long shown = 0L;
         
         // Cargar los barcos enemigos desde la lista
         for (model.Ship ship : enemyShips) {
@@ -442,13 +454,11 @@ public class BoardPanel extends JPanel {
                 int c = shipCol + (vertical ? 0 : i);
                 
                 if (r >= 0 && r < ROWS && c >= 0 && c < COLS) {
-                    // Verificar el estado en el enemyView - solo mostrar barco si es WATER o SHIP
+                    // Verificar el estado de la celda - solo mostrar barco si es WATER o SHIP
                     // NO mostrar en celdas con MISS, HIT, o SUNK
-                    model.CellState viewState = (enemyView != null && r < enemyView.length && c < enemyView[r].length) 
-                        ? enemyView[r][c] 
-                        : model.CellState.WATER;
+                    model.CellState viewState = cells[r][c].getState();
                     
-                    // Solo mostrar el barco si la celda en el enemyView es WATER o SHIP
+                    // Solo mostrar el barco si la celda es WATER o SHIP
                     // No mostrar en celdas con MISS, HIT, o SUNK
                     if (viewState != model.CellState.WATER && viewState != model.CellState.SHIP) {
                         // Esta celda tiene un estado especial (MISS, HIT, SUNK), no mostrar barco aquí
@@ -456,41 +466,11 @@ public class BoardPanel extends JPanel {
                     }
                     
                     int partNumber = i + 1;
-                    String imagePath = "/ships/" + shipType + "_" + partNumber + ".png";
-                    
-                    java.net.URL resource = getClass().getResource(imagePath);
-                    if (resource != null) {
-                        ImageIcon icon = new ImageIcon(resource);
-                        
-                        java.awt.image.BufferedImage originalBuffered = new java.awt.image.BufferedImage(
-                            icon.getIconWidth(), icon.getIconHeight(), 
-                            java.awt.image.BufferedImage.TYPE_INT_ARGB
-                        );
-                        java.awt.Graphics2D g = originalBuffered.createGraphics();
-                        g.drawImage(icon.getImage(), 0, 0, null);
-                        g.dispose();
-                        
-                        java.awt.image.BufferedImage scaled = new java.awt.image.BufferedImage(
-                            cellSize, cellSize, java.awt.image.BufferedImage.TYPE_INT_ARGB
-                        );
-                        java.awt.Graphics2D g2 = scaled.createGraphics();
-                        g2.setRenderingHint(java.awt.RenderingHints.KEY_INTERPOLATION, 
-                                           java.awt.RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                        g2.setRenderingHint(java.awt.RenderingHints.KEY_RENDERING, 
-                                           java.awt.RenderingHints.VALUE_RENDER_QUALITY);
-                        g2.drawImage(originalBuffered, 0, 0, cellSize, cellSize, null);
-                        g2.dispose();
-                        
-                        Image finalImage = scaled;
-                        if (!vertical) {
-                            finalImage = rotateImage90(scaled, cellSize);
-                            if (finalImage == null) {
-                                finalImage = scaled;
-                            }
-                        }
-                        
-                        cells[r][c].setShipImage(finalImage, shipType + "_" + partNumber);
+                    Image sprite = ShipSprites.get(shipType, partNumber, cellSize, vertical, getGraphicsConfiguration());
+                    if (sprite != null) {
+                        cells[r][c].setShipImage(sprite, shipType + "_" + partNumber);
                         cells[r][c].setShipInfo(shipType, size, shipRow, shipCol, vertical, i);
+                        shown |= BitBoard.bit(r, c);
                         
                         // Solo establecer estado SHIP si no tiene otro estado (HIT, MISS, SUNK)
                         CellState currentState = cells[r][c].getState();
@@ -501,6 +481,15 @@ public class BoardPanel extends JPanel {
                 }
             }
         }
+        
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLS; j++) {
+                if ((shown & BitBoard.bit(i, j)) == 0) {
+                    cells[i][j].clearShipImage();
+                    cells[i][j].clearShipInfo();
+                }
+            }
+        }
     }
 
     public void setTutorialMode(boolean tutorialMode) {
@@ -562,9 +551,9 @@ public class BoardPanel extends JPanel {
     }
 
     private void placeShip(String shipType, int size, int row, int col, boolean vertical) {
-        // Obtener la dificultad actual
-        logic.BattleShip battleShip = gamePanel != null ? gamePanel.getBattleShip() : null;
-        model.Difficulty difficulty = battleShip != null ? battleShip.getDifficulty() : null;
+        // Obtener la dificultad actual (de la última foto de la partida)
+        logic.BoardSnapshot view = gamePanel != null ? gamePanel.getView() : null;
+        model.Difficulty difficulty = view != null ? view.getDifficulty() : null;
         if (difficulty == null) {
             difficulty = model.Difficulty.NORMAL; // Por defecto
         }
@@ -574,8 +563,8 @@ public class BoardPanel extends JPanel {
         
         // Contar barcos totales colocados actualmente (no tipos únicos)
         int totalShipsPlaced = 0;
-        if (battleShip != null) {
-            totalShipsPlaced = battleShip.getCurrentTurnShipsCount();
+        if (view != null) {
+            totalShipsPlaced = view.getPlacedShips().size();
         } else {
             // Fallback: contar desde el tablero visual
             totalShipsPlaced = countShipsPlaced();
@@ -584,7 +573,8 @@ public class BoardPanel extends JPanel {
         int maxShips = difficulty.getShipsAllowed();
         
         // Debug: mostrar cuántos barcos hay
-        System.out.println("DEBUG placeShip: totalShipsPlaced=" + totalShipsPlaced + ", maxShips=" + maxShips + ", shipType=" + shipType + ", dragFromSidebar=" + dragFromSidebar + ", shipExists=" + shipExists);
+        Log.debug("placeShip: totalShipsPlaced={}, maxShips={}", totalShipsPlaced, maxShips);
+        Log.debug("placeShip: shipType={}, dragFromSidebar={}, shipExists={}", shipType, dragFromSidebar, shipExists);
         
         // Verificar límite ANTES de colocar
         // Si viene del sidebar y no existe el barco, se agregará uno nuevo (+1)
@@ -600,7 +590,7 @@ public class BoardPanel extends JPanel {
         // Si viene del tablero, es un movimiento y NO debe validarse aquí (ya se validó en handleDrop si era necesario)
         if (dragFromSidebar && willAddNewShip && totalShipsPlaced >= maxShips) {
             // Si se va a agregar un barco nuevo y ya hay maxShips, bloquear
-            System.out.println("DEBUG placeShip: BLOQUEANDO - willAddNewShip=" + willAddNewShip + ", totalShipsPlaced=" + totalShipsPlaced + ", maxShips=" + maxShips);
+            Log.debug("placeShip: BLOQUEANDO - willAddNewShip={}, totalShipsPlaced={}, maxShips={}", willAddNewShip, totalShipsPlaced, maxShips);
             // NO mostrar modal aquí - ya se mostró en handleDrop() para evitar modales infinitos
             // Solo retornar sin colocar
             return;
@@ -672,147 +662,40 @@ public class BoardPanel extends JPanel {
             
             if (r >= 0 && r < ROWS && c >= 0 && c < COLS) {
                 int partNumber = i + 1;
-                String imagePath = "/ships/" + shipType + "_" + partNumber + ".png";
-                
-                java.net.URL resource = getClass().getResource(imagePath);
-                if (resource != null) {
-                    ImageIcon icon = new ImageIcon(resource);
-                    
-                    java.awt.image.BufferedImage originalBuffered = new java.awt.image.BufferedImage(
-                        icon.getIconWidth(), icon.getIconHeight(), 
-                        java.awt.image.BufferedImage.TYPE_INT_ARGB
-                    );
-                    java.awt.Graphics2D g = originalBuffered.createGraphics();
-                    g.drawImage(icon.getImage(), 0, 0, null);
-                    g.dispose();
-                    
-                    java.awt.image.BufferedImage scaled = new java.awt.image.BufferedImage(
-                        cellSize, cellSize, java.awt.image.BufferedImage.TYPE_INT_ARGB
-                    );
-                    java.awt.Graphics2D g2 = scaled.createGraphics();
-                    g2.setRenderingHint(java.awt.RenderingHints.KEY_INTERPOLATION, 
-                                       java.awt.RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                    g2.setRenderingHint(java.awt.RenderingHints.KEY_RENDERING, 
-                                       java.awt.RenderingHints.VALUE_RENDER_QUALITY);
-                    g2.drawImage(originalBuffered, 0, 0, cellSize, cellSize, null);
-                    g2.dispose();
-                    
-                    Image finalImage = scaled;
-                    if (!vertical) {
-                        System.out.println("DEBUG ROTATE: Rotando imagen para barco horizontal - shipType=" + shipType + ", part=" + partNumber);
-                        finalImage = rotateImage90(scaled, cellSize);
-                        if (finalImage == null) {
-                            System.out.println("ERROR: rotateImage90 retornó null, usando imagen sin rotar");
-                            finalImage = scaled;
-                        } else {
-                            System.out.println("DEBUG ROTATE: Imagen rotada exitosamente");
-                        }
-                    }
-                    
-                    cells[r][c].setShipImage(finalImage, shipType + "_" + partNumber);
+                Image sprite = ShipSprites.get(shipType, partNumber, cellSize, vertical, getGraphicsConfiguration());
+                if (sprite != null) {
+                    cells[r][c].setShipImage(sprite, shipType + "_" + partNumber);
                     cells[r][c].setState(model.CellState.SHIP);
                     cells[r][c].setShipInfo(shipType, size, row, col, vertical, i);
                     
                     makeCellDraggable(cells[r][c], shipType, size);
-                } else {
-                    System.out.println("No se encontró imagen: " + imagePath);
                 }
             }
         }
         
         if (gamePanel != null) {
             // Si viene del tablero, es un movimiento - NO crear duplicado, solo mover
-            boolean createDuplicate = false;
-            boolean skipRemove = false; // Flag para indicar si ya se removió el barco
+            boolean fromSidebar = dragFromSidebar;
+            // Viene del sidebar: en modo EASY, si ya existe el barco, crear duplicado
+            boolean createDuplicate = fromSidebar && difficulty == model.Difficulty.EASY && shipExists;
+            // Solo se agrega un barco nuevo si viene del sidebar (no si solo se movió)
+            boolean addedNewShip = createDuplicate || (!shipExists && fromSidebar);
+            model.Difficulty placedDifficulty = difficulty;
+            java.util.function.Consumer<logic.BoardSnapshot> afterSave = saved -> afterShipSaved(
+                    saved, shipType, size, row, col, vertical, fromSidebar, addedNewShip, placedDifficulty, maxShips);
             
-            if (!dragFromSidebar) {
-                // Movimiento desde el tablero: El barco ya fue removido en removeShipAtPosition()
-                // NO debemos remover de nuevo, solo agregar en la nueva posición
-                skipRemove = true; // Ya se removió el barco específico
-                createDuplicate = false; // No es un duplicado, es un movimiento
-            } else {
-                // Viene del sidebar: determinar si se debe crear duplicado
-                if (difficulty == model.Difficulty.EASY && shipExists) {
-                    // En modo EASY, si viene del sidebar y ya existe el barco, crear duplicado
-                    createDuplicate = true;
-                }
-            }
-            
-            // Validar límite ANTES de guardar (para movimientos, esto no debería ser un problema)
-            int shipsBefore = battleShip != null ? battleShip.getCurrentTurnShipsCount() : countShipsPlaced();
-            
-            // Guardar el barco
-            if (skipRemove) {
-                // El barco ya fue removido, solo agregarlo
-                gamePanel.addShipToBattleShip(shipType, size, row, col, vertical);
+            // Guardar el barco en el hilo del motor; los labels se actualizan cuando vuelve la foto
+            if (!fromSidebar) {
+                // Movimiento desde el tablero: quitar el barco de su posición original y agregarlo en la nueva
+                boolean knownOrigin = draggedShipOriginalRow >= 0 && draggedShipOriginalCol >= 0;
+                gamePanel.moveShipInBattleShip(shipType, size,
+                        knownOrigin ? draggedShipOriginalRow : row,
+                        knownOrigin ? draggedShipOriginalCol : col,
+                        knownOrigin ? draggedShipOriginalVertical : vertical,
+                        row, col, vertical, afterSave);
             } else {
                 // Comportamiento normal: puede remover o no según createDuplicate
-                gamePanel.saveShipToBattleShip(shipType, size, row, col, vertical, createDuplicate);
-            }
-            
-            // Recontar barcos después de guardar
-            int shipsAfter = battleShip != null ? battleShip.getCurrentTurnShipsCount() : countShipsPlaced();
-            System.out.println("DEBUG placeShip: shipsBefore=" + shipsBefore + ", shipsAfter=" + shipsAfter + ", maxShips=" + maxShips + ", dragFromSidebar=" + dragFromSidebar + ", createDuplicate=" + createDuplicate);
-            
-            // Verificar límite después de guardar (doble verificación de seguridad)
-            // Solo verificar si se agregó un barco nuevo (no si solo se movió)
-            boolean addedNewShip = createDuplicate || (!shipExists && dragFromSidebar);
-            if (addedNewShip) {
-                // Se agregó un barco nuevo, verificar límite
-                if (shipsAfter > maxShips) {
-                    System.out.println("ERROR: Se excedió el límite de barcos! shipsAfter=" + shipsAfter + ", maxShips=" + maxShips);
-                    // Remover el barco que acabamos de agregar
-                    // Buscar y remover el último barco agregado de este tipo
-                    if (battleShip != null) {
-                        java.util.ArrayList<model.Ship> ships = battleShip.getCurrentTurnShips();
-                        if (ships != null) {
-                            // Remover el último barco de este tipo que se agregó
-                            for (int i = ships.size() - 1; i >= 0; i--) {
-                                model.Ship ship = ships.get(i);
-                                if (ship != null && ship.getCode().equals(shipType)) {
-                                    if (ship.getRow() == row && ship.getCol() == col && ship.isVertical() == vertical) {
-                                        battleShip.removeSpecificShip(ship);
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    // Remover del tablero visual
-                    removeShipFromBoardSafely(shipType);
-                    JOptionPane.showMessageDialog(
-                        this,
-                        "Error: Se excedió el límite de barcos permitidos (" + maxShips + ").\n" +
-                        "Barcos colocados: " + shipsAfter + "\n" +
-                        "El barco no se ha colocado.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                    return;
-                }
-            }
-            
-            // Actualizar labels según el tipo de operación
-            if (!dragFromSidebar) {
-                // Es un movimiento desde el tablero: NO mostrar el label, debe permanecer oculto
-                // El barco solo se está moviendo, no se está eliminando
-                gamePanel.hideShipLabel(shipType);
-            } else {
-                // Es una colocación nueva desde el sidebar
-                // En modo EASY, si aún no se han colocado 5 barcos, mostrar el barco de nuevo
-                // para permitir colocar un duplicado (excepto Destructor)
-                if (difficulty == model.Difficulty.EASY && battleShip != null) {
-                    // Si aún no se alcanzó el límite y no es Destructor, mostrar el barco de nuevo
-                    if (shipsAfter < maxShips && !shipType.equals("DT")) {
-                        gamePanel.showShipLabel(shipType);
-                    } else {
-                        // Si es Destructor o se alcanzó el límite, ocultar el barco
-                        gamePanel.hideShipLabel(shipType);
-                    }
-                } else {
-                    // En otros modos, ocultar el barco después de colocarlo
-                    gamePanel.hideShipLabel(shipType);
-                }
+                gamePanel.saveShipToBattleShip(shipType, size, row, col, vertical, createDuplicate, afterSave);
             }
         }
         
@@ -823,6 +706,64 @@ public class BoardPanel extends JPanel {
         repaint();
     }
 
+    /**
+     * Termina una colocación cuando el motor ya guardó el barco: verifica el límite y actualiza los labels
+     * @param saved foto con la flota guardada, o null si el motor no pudo guardarla
+     */
+    private void afterShipSaved(logic.BoardSnapshot saved, String shipType, int size, int row, int col, boolean vertical,
+                                boolean fromSidebar, boolean addedNewShip, model.Difficulty difficulty, int maxShips) {
+        if (saved == null) {
+            // El barco no quedó en la partida: sacarlo también de la pantalla
+            removeShipAtPosition(row, col, shipType, size, vertical);
+            gamePanel.showShipLabel(shipType);
+            return;
+        }
+        
+        // Recontar barcos después de guardar
+        int shipsAfter = saved.getPlacedShips().size();
+        Log.debug("placeShip: shipsAfter={}, maxShips={}, dragFromSidebar={}, addedNewShip={}",
+                shipsAfter, maxShips, fromSidebar, addedNewShip);
+        
+        // Verificar límite después de guardar (doble verificación de seguridad)
+        // Solo verificar si se agregó un barco nuevo (no si solo se movió)
+        if (addedNewShip && shipsAfter > maxShips) {
+            Log.error("Se excedió el límite de barcos! shipsAfter={}, maxShips={}", shipsAfter, maxShips);
+            // Remover el barco que acabamos de agregar, de la partida y del tablero visual
+            gamePanel.removeShipFromBattleShip(shipType, row, col, vertical);
+            removeShipAtPosition(row, col, shipType, size, vertical);
+            gamePanel.showShipLabel(shipType);
+            JOptionPane.showMessageDialog(
+                this,
+                "Error: Se excedió el límite de barcos permitidos (" + maxShips + ").\n" +
+                "Barcos colocados: " + shipsAfter + "\n" +
+                "El barco no se ha colocado.",
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+            );
+            return;
+        }
+        
+        // Actualizar labels según el tipo de operación
+        if (!fromSidebar) {
+            // Es un movimiento desde el tablero: NO mostrar el label, debe permanecer oculto
+            // El barco solo se está moviendo, no se está eliminando
+            gamePanel.hideShipLabel(shipType);
+        } else if (difficulty == model.Difficulty.EASY) {
+            // Es una colocación nueva desde el sidebar
+            // En modo EASY, si aún no se han colocado 5 barcos, mostrar el barco de nuevo
+            // para permitir colocar un duplicado (excepto Destructor)
+            if (shipsAfter < maxShips && !shipType.equals("DT")) {
+                gamePanel.showShipLabel(shipType);
+            } else {
+                // Si es Destructor o se alcanzó el límite, ocultar el barco
+                gamePanel.hideShipLabel(shipType);
+            }
+        } else {
+            // En otros modos, ocultar el barco después de colocarlo
+            gamePanel.hideShipLabel(shipType);
+        }
+    }
+
     private void removeShip(String shipType) {
         removeShipFromBoard(shipType);
     }
@@ -867,12 +808,12 @@ public class BoardPanel extends JPanel {
     }
 
     /**
-     * Remueve un barco específico en una posición dada (para mover barcos)
+     * Quita de la pantalla un barco específico en una posición dada (para mover barcos). La
+     * partida se actualiza aparte, en el hilo del motor.
      */
     private void removeShipAtPosition(int originalRow, int originalCol, String shipType, int size, boolean vertical) {
         // Buscar el barco que está en la posición ORIGEN (donde estaba antes de moverlo)
         java.util.Set<java.awt.Point> cellsToClear = new java.util.HashSet<>();
-        model.Ship shipToRemove = null;
         
         // Buscar el barco en la posición original
         for (int k = 0; k < size; k++) {
@@ -891,25 +832,6 @@ public class BoardPanel extends JPanel {
                                 cellsToClear.add(new java.awt.Point(shipR, shipC));
                             }
                         }
-                        // Buscar el barco en BattleShip para removerlo específicamente
-                        if (gamePanel != null) {
-                            logic.BattleShip bs = gamePanel.getBattleShip();
-                            if (bs != null) {
-                                java.util.ArrayList<model.Ship> ships = bs.getCurrentTurnShips();
-                                if (ships != null) {
-                                    for (model.Ship ship : ships) {
-                                        if (ship != null && ship.getCode().equals(shipType)) {
-                                            if (ship.getRow() == info.startRow && 
-                                                ship.getCol() == info.startCol && 
-                                                ship.isVertical() == info.vertical) {
-                                                shipToRemove = ship;
-                                                break;
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
                         break; // Ya encontramos el barco, salir
                     }
                 }
@@ -928,14 +850,6 @@ public class BoardPanel extends JPanel {
                 cells[r][c].removeMouseListener(ml);
             }
         }
-        
-        // Remover el barco específico de BattleShip
-        if (shipToRemove != null && gamePanel != null) {
-            logic.BattleShip bs = gamePanel.getBattleShip();
-            if (bs != null) {
-                bs.removeSpecificShip(shipToRemove);
-            }
-        }
     }
     
     private void removeShipWithoutClearingHandlers(String shipType) {
@@ -981,7 +895,7 @@ public class BoardPanel extends JPanel {
     }
 
     public void removeShipFromBoardSafely(String shipType) {
-        System.out.println("DEBUG removeShipFromBoardSafely: Removiendo barco " + shipType);
+        Log.debug("removeShipFromBoardSafely: Removiendo barco {}", shipType);
         for (int i = 0; i < ROWS; i++) {
             for (int j = 0; j < COLS; j++) {
                 if (cells[i][j].hasShip() && cells[i][j].getShipType().equals(shipType)) {
@@ -1031,7 +945,7 @@ public class BoardPanel extends JPanel {
             @Override
             public void mousePressed(java.awt.event.MouseEvent e) {
                 // Solo permitir drag durante la fase de colocación
-                if (gamePanel != null && gamePanel.getBattleShip().isPlacementPhase()) {
+                if (gamePanel != null && gamePanel.canPlaceShips()) {
                     // Obtener el tipo y tamaño del barco desde la celda
                     BoardCell.ShipInfo info = cell.getShipInfo();
                     if (info != null) {
@@ -1083,6 +997,14 @@ public class BoardPanel extends JPanel {
         return 420 / 8;
     }
 
+    /**
+     * Estado que muestra una celda, o null si está fuera del tablero
+     */
+    public CellState getCellState(int row, int col) {
+        if (row < 0 || row >= ROWS || col < 0 || col >= COLS) return null;
+        return cells[row][col].getState();
+    }
+
     public CellState[][] getBoardState() {
         CellState[][] board = new CellState[ROWS][COLS];
         for (int i = 0; i < ROWS; i++) {
@@ -1118,28 +1040,4 @@ public class BoardPanel extends JPanel {
         repaint();
     }
     
-
-    private Image rotateImage90(java.awt.image.BufferedImage image, int size) {
-        if (image == null) {
-            System.out.println("ERROR: rotateImage90 recibió imagen null");
-            return null;
-        }
-        
-        java.awt.image.BufferedImage buffered = new java.awt.image.BufferedImage(
-            size, size, java.awt.image.BufferedImage.TYPE_INT_ARGB
-        );
-        java.awt.Graphics2D g2d = buffered.createGraphics();
-        g2d.setRenderingHint(java.awt.RenderingHints.KEY_INTERPOLATION, 
-                             java.awt.RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2d.setRenderingHint(java.awt.RenderingHints.KEY_RENDERING, 
-                             java.awt.RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(java.awt.RenderingHints.KEY_ANTIALIASING,
-                             java.awt.RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.translate(0, size);
-        g2d.rotate(-Math.PI / 2);
-        g2d.drawImage(image, 0, 0, size, size, null);
-        g2d.dispose();
-        return buffered;
-    }
-    
 }
@@ -4,17 +4,30 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.net.URL;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import logic.BattleShip;
-import model.Ship;
+import logic.BoardSnapshot;
+import logic.EngineExecutor;
+import logic.Log;
+import logic.ShotSnapshot;
 import model.CellState;
 import model.Player;
+import model.Ship;
+import model.ShotResult;
 
 public class GamePanel extends JPanel {
 
     private static final int BOARD_SIZE = 420;
 
-    private final BattleShip battleShip;
+    // Dueño del BattleShip durante la partida: toda lectura o cambio corre en su hilo
+    private final EngineExecutor engine;
+    // Última foto de la partida que devolvió el motor; la pantalla decide y dibuja solo con esto
+    private BoardSnapshot view = BoardSnapshot.NONE;
+    // Acciones mandadas al motor que todavía no volvieron: mientras haya alguna se ignoran
+    // clicks, arrastres y botones (solo se usa en el EDT)
+    private int engineTasks = 0;
     private final BoardPanel boardPanel;
     private final JLabel turnLabel;
     private final JLabel placementInfoLabel;
@@ -26,7 +39,7 @@ public class GamePanel extends JPanel {
 
     public GamePanel(MainFrame frame, BattleShip battleShip) {
         this.mainFrame = frame;
-        this.battleShip = battleShip;
+        this.engine = new EngineExecutor(battleShip, SwingUtilities::invokeLater);
         setLayout(new BorderLayout());
 
         turnLabel = new JLabel("Turno de: -");
@@ -88,7 +101,7 @@ public class GamePanel extends JPanel {
             @Override
             public void eventDispatched(AWTEvent event) {
                 // Solo procesar eventos de drag durante la fase de colocación
-                if (event instanceof MouseEvent && battleShip.isPlacementPhase() && boardPanel.isDragging()) {
+                if (event instanceof MouseEvent && canPlaceShips() && boardPanel.isDragging()) {
                     MouseEvent me = (MouseEvent) event;
                     
                     // Convertir coordenadas de pantalla a coordenadas del BoardPanel
@@ -134,44 +147,116 @@ public class GamePanel extends JPanel {
         );
     }
     
+    /**
+     * Libera el listener global y el hilo del motor; llamar al descartar el panel
+     */
     public void cleanup() {
         if (globalMouseListener != null) {
             Toolkit.getDefaultToolkit().removeAWTEventListener(globalMouseListener);
         }
+        engine.close();
     }
     
     public BoardPanel getBoardPanel() {
         return boardPanel;
     }
-    
-    public BattleShip getBattleShip() {
-        return battleShip;
+
+    /**
+     * Última foto de la partida (turno, fase, dificultad y barcos ya colocados)
+     */
+    public BoardSnapshot getView() {
+        return view;
+    }
+
+    public boolean isPlacementPhase() {
+        return view.isPlacementPhase();
+    }
+
+    /**
+     * Se puede arrastrar y soltar barcos: fase de colocación y ninguna acción pendiente en el motor
+     */
+    public boolean canPlaceShips() {
+        return !engineBusy() && view.isPlacementPhase();
+    }
+
+    /**
+     * Corre la acción en el hilo del motor; al volver guarda la foto (si la hay) y sigue en el EDT.
+     * Mientras tanto la pantalla ignora las acciones del usuario.
+     */
+    private void runOnEngine(Function<BattleShip, BoardSnapshot> action, Consumer<BoardSnapshot> then) {
+        engineTasks++;
+        engine.submit(action, snapshot -> {
+            engineTasks--;
+            if (snapshot != null) {
+                view = snapshot;
+            }
+            then.accept(snapshot);
+        });
+    }
+
+    private boolean engineBusy() {
+        return engineTasks > 0;
     }
 
     private void handleCellClick(int row, int col) {
-        if (battleShip.isPlacementPhase()) {
+        if (engineBusy() || view.isPlacementPhase()) {
             return;
         }
 
         // Verificar si la casilla ya fue disparada antes de intentar disparar
-        CellState[][] currentEnemyBoard = battleShip.getEnemyBoard();
-        if (currentEnemyBoard != null && row >= 0 && row < currentEnemyBoard.length && 
-            col >= 0 && col < currentEnemyBoard[row].length) {
-            CellState currentState = currentEnemyBoard[row][col];
-            // Si la casilla no es WATER ni SHIP, ya fue disparada
-            if (currentState != CellState.WATER && currentState != CellState.SHIP) {
-                JOptionPane.showMessageDialog(
-                    this,
-                    "Ya has disparado en esta casilla.",
-                    "Casilla ya disparada",
-                    JOptionPane.WARNING_MESSAGE
-                );
-                return;
-            }
+        CellState currentState = boardPanel.getCellState(row, col);
+        // Si la casilla no es WATER ni SHIP, ya fue disparada
+        if (currentState != null && currentState != CellState.WATER && currentState != CellState.SHIP) {
+            JOptionPane.showMessageDialog(
+                this,
+                "Ya has disparado en esta casilla.",
+                "Casilla ya disparada",
+                JOptionPane.WARNING_MESSAGE
+            );
+            return;
         }
 
-        CellState result = battleShip.shoot(row, col);
-        if (result == null) return;
+        // El disparo (con la posible regeneración) corre en el hilo del motor
+        boolean withShips = isTutorial();
+        engineTasks++;
+        engine.submit(game -> {
+            ShotResult result = game.shoot(row, col);
+            if (result == null) return null;
+            ShotSnapshot shot = ShotSnapshot.capture(game, result, withShips);
+            if (shot.isGameOver()) {
+                recordVictory(game);
+            }
+            return shot;
+        }, shot -> showShot(shot, row, col));
+    }
+
+    /**
+     * Puntos e historial del ganador y del perdedor. Corre en el hilo del motor.
+     */
+    private static void recordVictory(BattleShip game) {
+        Player winner = game.getWinner();
+        Player loser = game.getEnemyPlayerPublic();
+        
+        // Actualizar puntos (ganador recibe 3 puntos según las especificaciones)
+        winner.addPoints(3);
+        
+        // Crear resultado del juego usando la dificultad, no el modo
+        String difficultyStr = game.getDifficulty() != null ? game.getDifficulty().toString() : "NORMAL";
+        String gameResult = model.GameLog.win(winner.getUsername(), loser.getUsername(), difficultyStr);
+        winner.addGameToHistory(gameResult);
+        loser.addGameToHistory(gameResult);
+    }
+
+    /**
+     * Muestra el resultado de un disparo (en el EDT)
+     */
+    private void showShot(ShotSnapshot shot, int row, int col) {
+        engineTasks--;
+        if (shot == null) {
+            return;
+        }
+        view = shot.getBoard();
+        CellState result = shot.getShot().getState();
 
         String message;
         String title;
@@ -179,12 +264,11 @@ public class GamePanel extends JPanel {
         boolean shouldChangeTurn = false;
         
         if (result == CellState.HIT) {
-            // Obtener el barco golpeado para mostrar su nombre
-            Ship hitShip = battleShip.getLastHitShip();
-            String shipName = hitShip != null ? logic.BattleShip.getShipName(hitShip.getCode()) : "";
+            // Nombre del barco golpeado
+            String shipName = logic.BattleShip.getShipName(shot.getShot().getShipCode());
             
             // Verificar si el tablero se regeneró o si fue un disparo a una parte ya golpeada
-            if (battleShip.wasLastShotRegenerated()) {
+            if (shot.getShot().isRegenerated()) {
                 message = "¡SE HA BOMBARDEADO UN " + shipName + "!\n" +
                           "El tablero enemigo se ha regenerado.\n" +
                           "¡Sigue tu turno!";
@@ -197,48 +281,30 @@ public class GamePanel extends JPanel {
             shouldChangeTurn = false;
 
         } else if (result == CellState.MISS) {
-            message = "Agua. Has fallado en (" + row + ", " + col + ")\nSigue el turno de " + battleShip.getNextTurnUsername();
+            message = "Agua. Has fallado en (" + row + ", " + col + ")\nSigue el turno de " + shot.getEnemyUsername();
             title = "Agua";
             messageType = JOptionPane.INFORMATION_MESSAGE;
             shouldChangeTurn = true;
         } else if (result == CellState.SUNK) {
             // Verificar si el juego terminó (todos los barcos hundidos)
-            if (battleShip.getWinner() != null) {
-                // El juego terminó - el jugador actual ganó
-                Player winner = battleShip.getWinner();
-                Player loser = battleShip.getEnemyPlayerPublic();
-                
-                // Actualizar puntos (ganador recibe 3 puntos según las especificaciones)
-                winner.addPoints(3);
-                
-                // Crear resultado del juego usando la dificultad, no el modo
-                String difficultyStr = battleShip.getDifficulty() != null ? battleShip.getDifficulty().toString() : "NORMAL";
-                String gameResult = model.GameLog.win(winner.getUsername(), loser.getUsername(), difficultyStr);
-                winner.addGameToHistory(gameResult);
-                loser.addGameToHistory(gameResult);
-                
-                message = "¡" + winner.getUsername() + " ha ganado!\n" +
+            if (shot.isGameOver()) {
+                // El juego terminó - el jugador actual ganó (puntos e historial ya guardados)
+                message = "¡" + shot.getWinnerUsername() + " ha ganado!\n" +
                           "Has hundido todos los barcos enemigos.\n" +
                           "Puntos obtenidos: 3";
                 title = "¡Victoria!";
                 messageType = JOptionPane.INFORMATION_MESSAGE;
-                shouldChangeTurn = false;
                 
                 // Mostrar mensaje de victoria
                 JOptionPane.showMessageDialog(this, message, title, messageType);
                 
                 // Resetear el juego y volver al menú
-                battleShip.resetGame();
-                clearGamePanel();
-                mainFrame.showMenu();
+                finishGame();
                 return; // Salir temprano, no continuar con el flujo normal
             } else {
                 // Solo un barco hundido, el juego continúa
-                // Obtener el barco hundido para mostrar su nombre
-                Ship sunkShip = battleShip.getLastHitShip();
-                String shipName = sunkShip != null ? logic.BattleShip.getShipName(sunkShip.getCode()) : "BARCO";
-                Player enemy = battleShip.getEnemyPlayerPublic();
-                String enemyName = enemy != null ? enemy.getUsername() : "Jugador";
+                String shipName = shot.getShot().getShipCode() != null ? logic.BattleShip.getShipName(shot.getShot().getShipCode()) : "BARCO";
+                String enemyName = shot.getEnemyUsername().isBlank() ? "Jugador" : shot.getEnemyUsername();
                 
                 message = "¡SE HUNDIO EL " + shipName + "!\n" +
                           "Del " + enemyName;
@@ -257,59 +323,72 @@ public class GamePanel extends JPanel {
         JOptionPane.showMessageDialog(this, message, title, messageType);
 
         // Actualizar el tablero después del disparo (después de regeneración si fue HIT)
-        SwingUtilities.invokeLater(() -> {
-            CellState[][] enemyBoard = battleShip.getEnemyBoard();
-            if (enemyBoard != null) {
-                boardPanel.updateBoard(enemyBoard);
-            }
-        });
+        BoardSnapshot board = shot.getBoard();
+        boardPanel.applyDelta(board.getDelta(), board.getEnemyShips());
 
         if (shouldChangeTurn) {
-            battleShip.nextTurn();
-            
-            SwingUtilities.invokeLater(() -> {
-                CellState[][] newEnemyBoard = battleShip.getEnemyBoard();
-                System.out.println("DEBUG: Después de nextTurn, currentTurn=" + battleShip.getCurrentTurnUsername());
-                System.out.println("DEBUG: newEnemyBoard=" + (newEnemyBoard != null ? "no null" : "null"));
+            boolean withShips = isTutorial();
+            runOnEngine(game -> {
+                game.nextTurn();
+                return BoardSnapshot.capture(game, withShips);
+            }, next -> {
+                if (next == null) return;
+                Log.debug("Después de nextTurn, currentTurn={}", next.getTurnUsername());
+                CellState[][] newEnemyBoard = next.getEnemyBoard();
                 if (newEnemyBoard != null) {
-                    boardPanel.updateBoard(newEnemyBoard);
+                    boardPanel.updateBoard(newEnemyBoard, next.getEnemyShips());
                 }
-                updateTurnLabel();
+                setTurnLabel(next.getTurnUsername());
             });
         } else {
-            updateTurnLabel();
+            setTurnLabel(board.getTurnUsername());
         }
     }
 
+    /**
+     * Resetea la partida en el hilo del motor y vuelve al menú
+     */
+    private void finishGame() {
+        runOnEngine(game -> {
+            game.resetGame();
+            return BoardSnapshot.capture(game, false);
+        }, ignored -> {
+            clearGamePanel();
+            mainFrame.showMenu();
+        });
+    }
+
+    private boolean isTutorial() {
+        return view.getMode() == model.Mode.TUTORIAL;
+    }
+
     private void handleContinue() {
-        if (battleShip.isPlacementPhase()) {
+        if (engineBusy()) return;
+        boolean withShips = isTutorial();
+        if (view.isPlacementPhase()) {
             if (areAllShipsPlacedOnBoard()) {
-                boolean wasPlacementPhase = battleShip.isPlacementPhase();
-                boolean bothReadyBefore = battleShip.areBothPlayersReady();
-                
-                battleShip.continueToNextTurn();
-                
-                boolean isPlacementPhaseNow = battleShip.isPlacementPhase();
-                boolean bothReadyAfter = battleShip.areBothPlayersReady();
-                
-                System.out.println("DEBUG: wasPlacementPhase=" + wasPlacementPhase + ", isPlacementPhaseNow=" + isPlacementPhaseNow);
-                System.out.println("DEBUG: bothReadyBefore=" + bothReadyBefore + ", bothReadyAfter=" + bothReadyAfter);
-                
-                if (!isPlacementPhaseNow) {
-                    System.out.println("DEBUG: Iniciando batalla");
-                    JOptionPane.showMessageDialog(
-                        this,
-                        "¡Comienza la batalla! Es el turno de " + battleShip.getCurrentTurnUsername(),
-                        "Fase de batalla iniciada",
-                        JOptionPane.INFORMATION_MESSAGE
-                    );
-                    switchToBattlePhase();
-                } else {
-                    System.out.println("DEBUG: Cambiando al siguiente jugador");
-                    switchToNextPlayer();
-                }
-                updateTurnLabel();
-                updatePlacementStatus();
+                runOnEngine(game -> {
+                    game.continueToNextTurn();
+                    return BoardSnapshot.capture(game, withShips);
+                }, next -> {
+                    if (next == null) return;
+                    Log.debug("continueToNextTurn: isPlacementPhase={}, turno={}", next.isPlacementPhase(), next.getTurnUsername());
+                    
+                    if (!next.isPlacementPhase()) {
+                        Log.debug("Iniciando batalla");
+                        JOptionPane.showMessageDialog(
+                            this,
+                            "¡Comienza la batalla! Es el turno de " + next.getTurnUsername(),
+                            "Fase de batalla iniciada",
+                            JOptionPane.INFORMATION_MESSAGE
+                        );
+                        switchToBattlePhase();
+                    } else {
+                        Log.debug("Cambiando al siguiente jugador");
+                        switchToNextPlayer();
+                    }
+                    updatePlacementStatus();
+                });
             } else {
                 JOptionPane.showMessageDialog(
                     this,
@@ -319,8 +398,10 @@ public class GamePanel extends JPanel {
                 );
             }
         } else {
-            battleShip.continueToNextTurn();
-            updateTurnLabel();
+            runOnEngine(game -> {
+                game.continueToNextTurn();
+                return BoardSnapshot.capture(game, withShips);
+            }, next -> updateTurnLabel());
         }
     }
 
@@ -341,12 +422,12 @@ public class GamePanel extends JPanel {
             btnExit.setEnabled(false);
         }
         
-        boolean isTutorial = battleShip.getMode() != null && battleShip.getMode() == model.Mode.TUTORIAL;
+        boolean isTutorial = isTutorial();
         boardPanel.setTutorialMode(isTutorial);
         
-        CellState[][] enemyBoard = battleShip.getEnemyBoard();
+        CellState[][] enemyBoard = view.getEnemyBoard();
         if (enemyBoard != null) {
-            boardPanel.updateBoard(enemyBoard);
+            boardPanel.updateBoard(enemyBoard, view.getEnemyShips());
         }
     }
 
@@ -354,13 +435,9 @@ public class GamePanel extends JPanel {
         // Ya no es necesario - los barcos se guardan directamente en el board con addShip()
     }
 
-    public void saveShipToBattleShip(String shipCode, int size, int row, int col, boolean vertical) {
-        // Método legacy: siempre remueve primero (mover barco)
-        saveShipToBattleShip(shipCode, size, row, col, vertical, false);
-    }
-    
     /**
-     * Guarda un barco en BattleShip, con opción de crear duplicado (no remover el anterior)
+     * Guarda un barco en BattleShip, con opción de crear duplicado (no remover el anterior).
+     * Corre en el hilo del motor; then recibe la foto con la flota ya guardada (null si falló).
      * @param shipCode Código del barco
      * @param size Tamaño del barco
      * @param row Fila
@@ -368,30 +445,66 @@ public class GamePanel extends JPanel {
      * @param vertical Si es vertical
      * @param createDuplicate Si es true, NO remueve el barco anterior (crea duplicado). Si es false, remueve el anterior (mueve).
      */
-    public void saveShipToBattleShip(String shipCode, int size, int row, int col, boolean vertical, boolean createDuplicate) {
-        if (!createDuplicate) {
-            // Remover el barco anterior (mover)
-            battleShip.removeShip(shipCode);
-        }
-        // Agregar el nuevo barco
-        battleShip.addShip(shipCode, size, row, col, vertical);
+    public void saveShipToBattleShip(String shipCode, int size, int row, int col, boolean vertical,
+                                     boolean createDuplicate, Consumer<BoardSnapshot> then) {
+        runOnEngine(game -> {
+            if (!createDuplicate) {
+                // Remover el barco anterior (mover)
+                game.removeShip(shipCode);
+            }
+            game.addShip(shipCode, size, row, col, vertical);
+            return BoardSnapshot.capture(game, false);
+        }, then);
     }
     
     /**
-     * Agrega un barco a BattleShip sin remover ninguno (para movimientos donde ya se removió)
+     * Mueve el barco que estaba en (fromRow, fromCol) a la nueva posición, sin tocar sus duplicados
      */
-    public void addShipToBattleShip(String shipCode, int size, int row, int col, boolean vertical) {
-        battleShip.addShip(shipCode, size, row, col, vertical);
+    public void moveShipInBattleShip(String shipCode, int size, int fromRow, int fromCol, boolean fromVertical,
+                                     int row, int col, boolean vertical, Consumer<BoardSnapshot> then) {
+        runOnEngine(game -> {
+            removeShipAt(game, shipCode, fromRow, fromCol, fromVertical);
+            game.addShip(shipCode, size, row, col, vertical);
+            return BoardSnapshot.capture(game, false);
+        }, then);
     }
 
     public void removeShipFromBattleShip(String shipCode) {
-        battleShip.removeShip(shipCode);
+        runOnEngine(game -> {
+            game.removeShip(shipCode);
+            return BoardSnapshot.capture(game, false);
+        }, ignored -> {
+        });
+    }
+
+    /**
+     * Remueve solo el barco en esa posición (por ejemplo el que se acaba de agregar)
+     */
+    public void removeShipFromBattleShip(String shipCode, int row, int col, boolean vertical) {
+        runOnEngine(game -> {
+            removeShipAt(game, shipCode, row, col, vertical);
+            return BoardSnapshot.capture(game, false);
+        }, ignored -> {
+        });
+    }
+
+    /**
+     * Busca el barco del jugador en colocación por posición y lo remueve. Corre en el hilo del motor.
+     */
+    private static void removeShipAt(BattleShip game, String shipCode, int row, int col, boolean vertical) {
+        for (Ship ship : game.getCurrentTurnShips()) {
+            if (ship != null && ship.getCode().equals(shipCode)
+                    && ship.getRow() == row && ship.getCol() == col && ship.isVertical() == vertical) {
+                game.removeSpecificShip(ship);
+                return;
+            }
+        }
     }
 
     private void switchToNextPlayer() {
         boardPanel.clearBoard();
         
-        if (battleShip.isPlacementPhase()) {
+        if (view.isPlacementPhase()) {
             showShipLabel("PA");
             showShipLabel("AZ");
             showShipLabel("SM");
@@ -400,10 +513,11 @@ public class GamePanel extends JPanel {
     }
 
     private boolean areAllShipsPlacedOnBoard() {
-        return battleShip.areAllShipsPlaced();
+        return view.areAllShipsPlaced();
     }
 
     private void handleSurrender() {
+        if (engineBusy()) return;
         int option = JOptionPane.showConfirmDialog(
             this,
             "¿Estás seguro de que quieres rendirte?",
@@ -411,35 +525,41 @@ public class GamePanel extends JPanel {
             JOptionPane.YES_NO_OPTION
         );
         if (option == JOptionPane.YES_OPTION) {
-            model.Player winner = battleShip.surrender();
-            if (winner != null) {
-                String winnerName = winner.getUsername();
-                String message = "¡" + winnerName + " ha ganado la partida!\n" +
-                               "Puntos obtenidos: 3\n" +
-                               "El historial ha sido guardado.";
-                JOptionPane.showMessageDialog(
-                    this,
-                    message,
-                    "Juego terminado",
-                    JOptionPane.INFORMATION_MESSAGE
-                );
-            } else {
-                JOptionPane.showMessageDialog(
-                    this,
-                    "Error al procesar la rendición. Por favor, inténtalo de nuevo.",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-                );
-            }
-            battleShip.resetGame();
-            clearGamePanel();
-            mainFrame.showMenu();
+            engineTasks++;
+            engine.submit(game -> {
+                model.Player winner = game.surrender();
+                return winner != null ? winner.getUsername() : null;
+            }, this::showSurrender);
+        }
+    }
+
+    private void showSurrender(String winnerName) {
+        engineTasks--;
+        if (winnerName != null) {
+            String message = "¡" + winnerName + " ha ganado la partida!\n" +
+                           "Puntos obtenidos: 3\n" +
+                           "El historial ha sido guardado.";
+            JOptionPane.showMessageDialog(
+                this,
+                message,
+                "Juego terminado",
+                JOptionPane.INFORMATION_MESSAGE
+            );
+        } else {
+            JOptionPane.showMessageDialog(
+                this,
+                "Error al procesar la rendición. Por favor, inténtalo de nuevo.",
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+            );
         }
+        finishGame();
     }
     
     private void handleExit() {
+        if (engineBusy()) return;
         // Solo permitir salir durante la fase de colocación
-        if (!battleShip.isPlacementPhase()) {
+        if (!view.isPlacementPhase()) {
             JOptionPane.showMessageDialog(
                 this,
                 "No puedes salir durante la batalla. Usa 'Rendirse' si quieres terminar la partida.",
@@ -458,9 +578,7 @@ public class GamePanel extends JPanel {
         );
         
         if (option == JOptionPane.YES_OPTION) {
-            battleShip.resetGame();
-            clearGamePanel();
-            mainFrame.showMenu();
+            finishGame();
         }
     }
 
@@ -483,13 +601,13 @@ public class GamePanel extends JPanel {
     }
 
     private void updatePlacementStatus() {
-        if (battleShip.getCurrentUser() == null || battleShip.getCurrentTurnUsername() == null || battleShip.getCurrentTurnUsername().isBlank()) {
+        if (view.getTurnUsername() == null || view.getTurnUsername().isBlank()) {
             turnLabel.setText("Turno de: -");
             placementInfoLabel.setText("");
             return;
         }
-        if (battleShip.isPlacementPhase()) {
-            turnLabel.setText("Coloca tus barcos - " + battleShip.getCurrentTurnUsername());
+        if (view.isPlacementPhase()) {
+            turnLabel.setText("Coloca tus barcos - " + view.getTurnUsername());
             updatePlacementInfoLabel();
         } else {
             updateTurnLabel();
@@ -498,9 +616,9 @@ public class GamePanel extends JPanel {
     }
     
     private void updatePlacementInfoLabel() {
-        if (battleShip.isPlacementPhase()) {
-            model.Mode mode = battleShip.getMode();
-            model.Difficulty difficulty = battleShip.getDifficulty();
+        if (view.isPlacementPhase()) {
+            model.Mode mode = view.getMode();
+            model.Difficulty difficulty = view.getDifficulty();
             
             String modeName = mode != null ? mode.name() : "TUTORIAL";
             int shipsRequired = difficulty != null ? difficulty.getShipsAllowed() : 4;
@@ -511,11 +629,34 @@ public class GamePanel extends JPanel {
         }
     }
 
-    public void startGame() {
-        boolean isTutorial = battleShip.getMode() != null && battleShip.getMode() == model.Mode.TUTORIAL;
+    /**
+     * Inicia la partida contra enemyUsername en el hilo del motor y, si se pudo, la muestra
+     * @param onStarted se corre en el EDT cuando la partida ya está en pantalla
+     */
+    public void startGame(String enemyUsername, Runnable onStarted) {
+        if (engineBusy()) return;
+        runOnEngine(game -> game.startMatch(enemyUsername)
+                ? BoardSnapshot.capture(game, game.getMode() == model.Mode.TUTORIAL)
+                : null, started -> {
+            if (started == null) {
+                JOptionPane.showMessageDialog(
+                    mainFrame,
+                    "Error al iniciar la partida. Por favor, intenta de nuevo.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+                return;
+            }
+            showStartedGame();
+            onStarted.run();
+        });
+    }
+
+    private void showStartedGame() {
+        boolean isTutorial = isTutorial();
         boardPanel.setTutorialMode(isTutorial);
         
-        if (battleShip.isPlacementPhase()) {
+        if (view.isPlacementPhase()) {
             boardPanel.clearBoard();
             showShipLabel("PA");
             showShipLabel("AZ");
@@ -538,16 +679,19 @@ public class GamePanel extends JPanel {
             if (btnExit != null) {
                 btnExit.setEnabled(false);
             }
-            CellState[][] enemyBoard = battleShip.getEnemyBoard();
+            CellState[][] enemyBoard = view.getEnemyBoard();
             if (enemyBoard != null) {
-                boardPanel.updateBoard(enemyBoard);
+                boardPanel.updateBoard(enemyBoard, view.getEnemyShips());
             }
         }
         updatePlacementStatus();
     }
 
     private void updateTurnLabel() {
-        String name = battleShip.getCurrentTurnUsername();
+        setTurnLabel(view.getTurnUsername());
+    }
+
+    private void setTurnLabel(String name) {
         turnLabel.setText(
                 (name == null || name.isBlank())
                         ? "Turno de: -"
@@ -596,7 +740,7 @@ public class GamePanel extends JPanel {
                         
                         dtde.dropComplete(true);
                     } catch (Exception e) {
-                        System.out.println("Error al devolver barco al sidebar: " + e.getMessage());
+                        Log.warn("Error al devolver barco al sidebar: {}", e.getMessage());
                         dtde.dropComplete(false);
                     }
                 }
@@ -670,7 +814,7 @@ public class GamePanel extends JPanel {
             @Override
             public void mousePressed(java.awt.event.MouseEvent e) {
                 // Solo permitir drag durante la fase de colocación
-                if (battleShip.isPlacementPhase()) {
+                if (canPlaceShips()) {
                     // Iniciar drag simulado
                     boardPanel.startSimulatedDrag(shipCode, shipSize);
                 }
@@ -1,6 +1,7 @@
 package ui;
 
 import logic.BattleShip;
+import logic.Log;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,12 +16,14 @@ public class MainFrame extends JFrame {
     public static final String REPORTS = "REPORTS";
     public static final String CONFIG = "CONFIG";
     public static final String PROFILE = "PROFILE";
+    public static final String REPLAY = "REPLAY";
     CardLayout cardLayout;
     JPanel mainPanel;
     private GamePanel gamePanel;
     private ReportsPanel reportsPanel;
     private ConfigPanel configPanel;
     private ProfilePanel profilePanel;
+    private ReplayPanel replayPanel;
     private LoginPanel loginPanel;
     private BattleShip game;
     private java.awt.KeyEventDispatcher keyDispatcher;
@@ -45,6 +48,8 @@ public class MainFrame extends JFrame {
         mainPanel.add(configPanel, CONFIG);
         profilePanel = new ProfilePanel(this, game);
         mainPanel.add(profilePanel, PROFILE);
+        replayPanel = new ReplayPanel(this);
+        mainPanel.add(replayPanel, REPLAY);
 
         add(mainPanel);
         
@@ -67,12 +72,12 @@ public class MainFrame extends JFrame {
             public boolean dispatchKeyEvent(KeyEvent e) {
                 if (e.getID() == KeyEvent.KEY_PRESSED && 
                     (e.getKeyCode() == KeyEvent.VK_R || Character.toLowerCase(e.getKeyChar()) == 'r')) {
-                    System.out.println("========== KeyEventDispatcher: TECLA R DETECTADA ==========");
+                    Log.debug("========== KeyEventDispatcher: TECLA R DETECTADA ==========");
                     if (gamePanel != null) {
                         gamePanel.getBoardPanel().rotateCurrentPreview();
                         return true;
                     } else {
-                        System.out.println(">>> gamePanel es null!");
+                        Log.debug(">>> gamePanel es null!");
                     }
                 }
                 return false;
@@ -95,11 +100,11 @@ public class MainFrame extends JFrame {
                 am.put("rotateShipGlobal", new javax.swing.AbstractAction() {
                     @Override
                     public void actionPerformed(java.awt.event.ActionEvent e) {
-                        System.out.println("========== KeyBinding ActionMap: TECLA R DETECTADA ==========");
+                        Log.debug("========== KeyBinding ActionMap: TECLA R DETECTADA ==========");
                         if (gamePanel != null) {
                             gamePanel.getBoardPanel().rotateCurrentPreview();
                         } else {
-                            System.out.println(">>> gamePanel es null en ActionMap!");
+                            Log.debug(">>> gamePanel es null en ActionMap!");
                         }
                     }
                 });
@@ -112,6 +117,7 @@ public class MainFrame extends JFrame {
         if (keyDispatcher != null) {
             java.awt.KeyboardFocusManager.getCurrentKeyboardFocusManager().removeKeyEventDispatcher(keyDispatcher);
         }
+        gamePanel.cleanup();
         super.dispose();
     }
 
@@ -126,9 +132,8 @@ public class MainFrame extends JFrame {
     }
 
     public void showGame(String enemyUsername) {
-        // La validación ya se hizo en MenuPanel, solo mostrar el juego
-        gamePanel.startGame();
-        cardLayout.show(mainPanel, GAME);
+        // La validación ya se hizo en MenuPanel; la partida se inicia en el hilo del motor
+        gamePanel.startGame(enemyUsername, () -> cardLayout.show(mainPanel, GAME));
     }
 
     public void showReports() {
@@ -143,4 +148,16 @@ public class MainFrame extends JFrame {
         cardLayout.show(mainPanel, PROFILE);
     }
 
+    /**
+     * Muestra el visor con el replay dado
+     * @return false si el replay no se pudo leer
+     */
+    public boolean showReplay(byte[] data) {
+        if (!replayPanel.load(data)) {
+            return false;
+        }
+        cardLayout.show(mainPanel, REPLAY);
+        return true;
+    }
+
 }
@@ -1,9 +1,16 @@
 package ui;
 
 import logic.BattleShip;
+import logic.Log;
+import replay.ReplayStore;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class MenuPanel extends JPanel {
 
@@ -11,7 +18,7 @@ public class MenuPanel extends JPanel {
 
     public MenuPanel(MainFrame frame, BattleShip game) {
         this.frame = frame;
-        setLayout(new GridLayout(7,1,10,10));
+        setLayout(new GridLayout(9,1,10,10));
 
         add(new JLabel("MENÚ PRINCIPAL", SwingConstants.CENTER));
 
@@ -19,13 +26,17 @@ public class MenuPanel extends JPanel {
         JButton btnConfig = new JButton("2. Configuración");
         JButton btnReports = new JButton("3. Reportes");
         JButton btnProfile = new JButton("4. Mi Perfil");
-        JButton btnLogout = new JButton("5. Cerrar Sesión");
-        JButton btnExit = new JButton("6. Salir");
+        JButton btnReplay = new JButton("5. Ver última partida");
+        JButton btnOpenReplay = new JButton("6. Abrir partida guardada");
+        JButton btnLogout = new JButton("7. Cerrar Sesión");
+        JButton btnExit = new JButton("8. Salir");
 
         add(btnPlay);
         add(btnConfig);
         add(btnReports);
         add(btnProfile);
+        add(btnReplay);
+        add(btnOpenReplay);
         add(btnLogout);
         add(btnExit);
         btnPlay.addActionListener(e -> {
@@ -55,17 +66,8 @@ public class MenuPanel extends JPanel {
                     return;
                 }
                 
-                // Intentar iniciar la partida
-                if(game.startMatch(enemyTrimmed)){
-                    frame.showGame(enemyTrimmed);
-                } else {
-                    JOptionPane.showMessageDialog(
-                        this,
-                        "Error al iniciar la partida. Por favor, intenta de nuevo.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                }
+                // Intentar iniciar la partida (si falla, la pantalla de juego avisa)
+                frame.showGame(enemyTrimmed);
             }
         });
 
@@ -75,6 +77,27 @@ public class MenuPanel extends JPanel {
 
         btnProfile.addActionListener(e -> frame.showProfile());
 
+        btnReplay.addActionListener(e -> {
+            byte[] replay = game.getReplay();
+            if (replay == null) {
+                JOptionPane.showMessageDialog(
+                    this,
+                    "Todavía no se ha jugado ninguna partida.",
+                    "Sin partidas",
+                    JOptionPane.INFORMATION_MESSAGE
+                );
+            } else if (!frame.showReplay(replay)) {
+                JOptionPane.showMessageDialog(
+                    this,
+                    "No se pudo abrir la partida grabada.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            }
+        });
+
+        btnOpenReplay.addActionListener(e -> openReplayFile());
+
         btnLogout.addActionListener(e -> {
             game.logout(); // Cerrar sesión en el juego
             frame.showLogin();
@@ -83,6 +106,44 @@ public class MenuPanel extends JPanel {
         btnExit.addActionListener(e -> exitApplication());
     }
     
+    /**
+     * Elige un archivo de replay (por defecto en la carpeta donde el servidor guarda las partidas) y lo abre en el visor
+     */
+    private void openReplayFile() {
+        JFileChooser chooser = new JFileChooser(replayDirectory());
+        chooser.setDialogTitle("Abrir partida guardada");
+        chooser.setFileFilter(new FileNameExtensionFilter("Partidas de BattleShip (*" + ReplayStore.EXTENSION + ")",
+                ReplayStore.EXTENSION.substring(1)));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        Path file = chooser.getSelectedFile().toPath();
+        byte[] replay;
+        try {
+            replay = Files.readAllBytes(file);
+        } catch (IOException e) {
+            Log.warn("No se pudo leer el replay {}: {}", file, e.getMessage());
+            replay = null;
+        }
+        if (replay == null || !frame.showReplay(replay)) {
+            JOptionPane.showMessageDialog(
+                this,
+                "No se pudo abrir la partida grabada " + file.getFileName() + ".",
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+            );
+        }
+    }
+
+    /**
+     * data/replays (-Dbattleship.data) si existe; si no, la carpeta del usuario
+     */
+    private static File replayDirectory() {
+        File dir = Path.of(System.getProperty("battleship.data", "data")).resolve("replays").toFile();
+        return dir.isDirectory() ? dir : null;
+    }
+
     private void exitApplication() {
         int option = JOptionPane.showConfirmDialog(
             this,
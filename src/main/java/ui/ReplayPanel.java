@@ -0,0 +1,155 @@
+package ui;
+
+import logic.GameEngine;
+import logic.Log;
+import model.BitBoard;
+import model.CellState;
+import replay.MatchReplay;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+
+/**
+ * Visor de replays: muestra los dos tableros de una partida grabada y permite moverse jugada a
+ * jugada o saltar a cualquier jugada con la barra. Cada tablero es un BoardCanvas en modo
+ * tutorial, para que se vean los barcos; al moverse solo se repintan las celdas que cambiaron.
+ */
+public class ReplayPanel extends JPanel {
+
+    private static final int BOARD_SIZE = 280;
+
+    private final MainFrame frame;
+    private final BoardCanvas[] boards = new BoardCanvas[2];
+    private final JLabel[] boardLabels = new JLabel[2];
+    private final JLabel moveLabel;
+    private final JSlider slider;
+    private MatchReplay replay;
+    private boolean updatingSlider = false;
+
+    public ReplayPanel(MainFrame frame) {
+        this.frame = frame;
+        setLayout(new BorderLayout());
+
+        moveLabel = new JLabel("Jugada: -");
+        moveLabel.setFont(new Font("Arial", Font.BOLD, 16));
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton btnFirst = new JButton("<<");
+        JButton btnPrevious = new JButton("<");
+        JButton btnNext = new JButton(">");
+        JButton btnLast = new JButton(">>");
+        JButton btnBack = new JButton("Volver");
+
+        btnFirst.addActionListener(e -> showMove(0));
+        btnPrevious.addActionListener(e -> showMove(currentMove() - 1));
+        btnNext.addActionListener(e -> showMove(currentMove() + 1));
+        btnLast.addActionListener(e -> showMove(Integer.MAX_VALUE));
+        btnBack.addActionListener(e -> {
+            replay = null;
+            frame.showMenu();
+        });
+
+        buttonPanel.add(btnFirst);
+        buttonPanel.add(btnPrevious);
+        buttonPanel.add(btnNext);
+        buttonPanel.add(btnLast);
+        buttonPanel.add(btnBack);
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(moveLabel, BorderLayout.WEST);
+        topPanel.add(buttonPanel, BorderLayout.EAST);
+        add(topPanel, BorderLayout.NORTH);
+
+        JPanel boardsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            boards[seat] = new BoardCanvas(BitBoard.SIZE, BitBoard.SIZE);
+            boards[seat].setPreferredSize(new Dimension(BOARD_SIZE, BOARD_SIZE));
+            boards[seat].setTutorialMode(true);
+            boardLabels[seat] = new JLabel("-", SwingConstants.CENTER);
+
+            JPanel column = new JPanel(new BorderLayout());
+            column.add(boardLabels[seat], BorderLayout.NORTH);
+            column.add(boards[seat], BorderLayout.CENTER);
+            boardsPanel.add(column);
+        }
+        add(boardsPanel, BorderLayout.CENTER);
+
+        slider = new JSlider(0, 0, 0);
+        slider.addChangeListener(e -> {
+            if (!updatingSlider) {
+                showMove(slider.getValue());
+            }
+        });
+        add(slider, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Abre un replay y muestra el estado antes del primer disparo
+     * @return false si el replay no se pudo leer
+     */
+    public boolean load(byte[] data) {
+        try {
+            replay = new MatchReplay(data);
+        } catch (IOException e) {
+            Log.error("No se pudo abrir el replay: {}", e.getMessage());
+            replay = null;
+            return false;
+        }
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            boardLabels[seat].setText("Flota de " + replay.getName(seat));
+        }
+        updatingSlider = true;
+        slider.setMaximum(replay.getMoveCount());
+        updatingSlider = false;
+        showMove(0);
+        return true;
+    }
+
+    private int currentMove() {
+        return replay != null ? replay.getMove() : 0;
+    }
+
+    private void showMove(int move) {
+        if (replay == null) return;
+        try {
+            replay.seek(move);
+        } catch (IOException e) {
+            Log.error("Replay dañado: {}", e.getMessage());
+        }
+
+        GameEngine engine = replay.getEngine();
+        for (int seat = GameEngine.PLAYER_ONE; seat <= GameEngine.PLAYER_TWO; seat++) {
+            boards[seat].updateBoard(boardView(engine.getBoard(seat)));
+            boards[seat].setShips(engine.getShips(seat));
+        }
+
+        String text = "Jugada: " + replay.getMove() + " / " + replay.getMoveCount();
+        int winner = engine.getWinner();
+        if (winner >= 0) {
+            text += " - Ganó " + replay.getName(winner);
+        }
+        moveLabel.setText(text);
+
+        updatingSlider = true;
+        slider.setValue(replay.getMove());
+        updatingSlider = false;
+    }
+
+    /**
+     * Disparos recibidos y, en las celdas sin disparar, los barcos
+     */
+    private static CellState[][] boardView(BitBoard board) {
+        CellState[][] view = new CellState[BitBoard.SIZE][BitBoard.SIZE];
+        for (int i = 0; i < BitBoard.SIZE; i++) {
+            for (int j = 0; j < BitBoard.SIZE; j++) {
+                CellState state = board.viewAt(i, j);
+                if (state == CellState.WATER && (board.getOccupied() & BitBoard.bit(i, j)) != 0) {
+                    state = CellState.SHIP;
+                }
+                view[i][j] = state;
+            }
+        }
+        return view;
+    }
+}
@@ -5,9 +5,7 @@ import model.Player;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.List;
 
 public class ReportsPanel extends JPanel {
 
@@ -18,6 +16,9 @@ public class ReportsPanel extends JPanel {
     private JTextArea lastGamesTextArea;
     private JTextArea rankingTextArea;
 
+    // Jugadores que se muestran en el ranking
+    private static final int RANKING_LIMIT = 100;
+
     public ReportsPanel(MainFrame frame, BattleShip game) {
         this.frame = frame;
         this.game = game;
@@ -179,17 +180,10 @@ public class ReportsPanel extends JPanel {
 
     private void refreshRankingContent() {
         if (rankingTextArea == null) return;
-        
-        // Obtener todos los jugadores (actualizado cada vez)
-        ArrayList<Player> players = game.getAllPlayers();
-
-        // Ordenar por puntos (de mayor a menor)
-        Collections.sort(players, new Comparator<Player>() {
-            @Override
-            public int compare(Player p1, Player p2) {
-                return Integer.compare(p2.getPoints(), p1.getPoints());
-            }
-        });
+
+        // Solo los primeros RANKING_LIMIT del índice ya ordenado (no se copia ni se ordena todo)
+        List<Player> players = game.getTopPlayers(RANKING_LIMIT);
+        int totalPlayers = game.getPlayerCount();
 
         StringBuilder content = new StringBuilder();
         content.append(String.format("%-5s %-20s %-10s %-50s\n", "Pos", "Usuario", "Puntos", "Últimos Juegos"));
@@ -197,36 +191,20 @@ public class ReportsPanel extends JPanel {
 
         int position = 1;
         for (Player player : players) {
-            String[] lastGames = player.getLastGames();
-            String gamesInfo = "";
-            if (lastGames != null && lastGames.length > 0) {
-                int gamesCount = 0;
-                for (String game : lastGames) {
-                    if (game != null && !game.trim().isEmpty()) {
-                        gamesCount++;
-                    }
-                }
-                gamesInfo = gamesCount + " juegos registrados";
-                if (gamesCount > 0 && lastGames[0] != null && !lastGames[0].trim().isEmpty()) {
-                    // Mostrar el último juego
-                    String lastGame = lastGames[0];
-                    if (lastGame.length() > 45) {
-                        lastGame = lastGame.substring(0, 42) + "...";
-                    }
-                    gamesInfo = lastGame;
-                }
-            } else {
-                gamesInfo = "Sin juegos";
-            }
-            
-            content.append(String.format("%-5d %-20s %-10d %-50s\n", 
-                position, 
-                player.getUsername(), 
-                player.getPoints(),
-                gamesInfo));
+            appendRankingRow(content, position, player);
             position++;
         }
 
+        if (totalPlayers > players.size()) {
+            content.append("... (").append(totalPlayers).append(" jugadores en total)\n");
+            // Mostrar también la posición del usuario actual si quedó fuera de la lista
+            Player currentUser = game.getCurrentUser();
+            int rank = currentUser != null ? game.getRank(currentUser) : -1;
+            if (rank > players.size()) {
+                appendRankingRow(content, rank, currentUser);
+            }
+        }
+
         if (players.isEmpty()) {
             content.append("No hay jugadores registrados.");
         }
@@ -235,6 +213,36 @@ public class ReportsPanel extends JPanel {
         rankingTextArea.setCaretPosition(0); // Scroll al inicio
     }
 
+    private void appendRankingRow(StringBuilder content, int position, Player player) {
+        String[] lastGames = player.getLastGames();
+        String gamesInfo = "";
+        if (lastGames != null && lastGames.length > 0) {
+            int gamesCount = 0;
+            for (String game : lastGames) {
+                if (game != null && !game.trim().isEmpty()) {
+                    gamesCount++;
+                }
+            }
+            gamesInfo = gamesCount + " juegos registrados";
+            if (gamesCount > 0 && lastGames[0] != null && !lastGames[0].trim().isEmpty()) {
+                // Mostrar el último juego
+                String lastGame = lastGames[0];
+                if (lastGame.length() > 45) {
+                    lastGame = lastGame.substring(0, 42) + "...";
+                }
+                gamesInfo = lastGame;
+            }
+        } else {
+            gamesInfo = "Sin juegos";
+        }
+
+        content.append(String.format("%-5d %-20s %-10d %-50s\n",
+            position,
+            player.getUsername(),
+            player.getPoints(),
+            gamesInfo));
+    }
+
     private void refreshLastGamesPanel() {
         refreshLastGamesContent();
     }
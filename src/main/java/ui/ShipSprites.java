@@ -0,0 +1,96 @@
+package ui;
+
+import logic.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caché de las imágenes de las partes de los barcos (/ships/XX_n.png) ya escaladas y rotadas.
+ *
+ * Cada sprite se arma una sola vez por (código, parte, tamaño de celda, orientación, escala HiDPI)
+ * y se dibuja a la resolución real de la pantalla. Los PNG se decodifican una vez y quedan en
+ * memoria (son pocos y chicos); los sprites escalados se descartan cuando cambia el tamaño de
+ * celda o la escala, porque los anteriores ya no sirven. Solo se usa desde el EDT.
+ */
+final class ShipSprites {
+
+    // PNG originales por ruta; null guardado si el recurso no existe
+    private static final Map<String, BufferedImage> SOURCES = new HashMap<>();
+    private static final Map<Key, Image> SPRITES = new HashMap<>();
+    private static int spriteCellSize = -1;
+    private static double spriteScale = -1;
+
+    private ShipSprites() {
+    }
+
+    /**
+     * Sprite de la parte (1-based) del barco, o null si no hay imagen para esa parte
+     * @param gc configuración de la pantalla donde se va a dibujar (null: escala 1)
+     */
+    static Image get(String shipCode, int part, int cellSize, boolean vertical, GraphicsConfiguration gc) {
+        double scale = gc != null ? gc.getDefaultTransform().getScaleX() : 1.0;
+        if (cellSize != spriteCellSize || scale != spriteScale) {
+            SPRITES.clear();
+            spriteCellSize = cellSize;
+            spriteScale = scale;
+        }
+
+        Key key = new Key(shipCode, part, vertical);
+        Image sprite = SPRITES.get(key);
+        if (sprite == null && !SPRITES.containsKey(key)) {
+            BufferedImage source = source("/ships/" + shipCode + "_" + part + ".png");
+            sprite = source != null ? render(source, (int) Math.ceil(cellSize * scale), vertical) : null;
+            SPRITES.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    private static BufferedImage source(String path) {
+        if (SOURCES.containsKey(path)) {
+            return SOURCES.get(path);
+        }
+        BufferedImage image = null;
+        URL resource = ShipSprites.class.getResource(path);
+        if (resource == null) {
+            Log.warn("No se encontró imagen: {}", path);
+        } else {
+            try {
+                image = ImageIO.read(resource);
+            } catch (IOException e) {
+                Log.error("No se pudo leer la imagen {}: {}", path, e.getMessage());
+            }
+        }
+        SOURCES.put(path, image);
+        return image;
+    }
+
+    /**
+     * Escala la imagen a size x size y la rota 90° a la izquierda si el barco es horizontal
+     */
+    private static BufferedImage render(BufferedImage source, int size, boolean vertical) {
+        BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        if (!vertical) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.translate(0, size);
+            g.rotate(-Math.PI / 2);
+        }
+        g.drawImage(source, 0, 0, size, size, null);
+        g.dispose();
+        return sprite;
+    }
+
+    /**
+     * El tamaño de celda y la escala son los mismos para todo el caché, así que no forman parte de la clave
+     */
+    private record Key(String shipCode, int part, boolean vertical) {
+    }
+}
@@ -0,0 +1,71 @@
+package logic;
+
+import model.Difficulty;
+import model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Colocación validada por el servidor: el tamaño sale del código y la flota respeta la dificultad
+ */
+class MatchSessionTest {
+
+    private static MatchSession match(Difficulty difficulty) {
+        AccountStore accounts = new AccountStore();
+        accounts.register(new Player("ana", "x"));
+        accounts.register(new Player("bob", "x"));
+        return new MatchManager(accounts, new SplittableRandom(1)).create("ana", "bob", difficulty);
+    }
+
+    @Test
+    void rejectsSizeZeroShip() {
+        MatchSession match = match(Difficulty.NORMAL);
+        assertFalse(match.placeShip(0, "DT", 0, 0, 0, false));
+        assertFalse(match.placeShip(0, "XX", 0, 0, 0, false));
+        assertFalse(match.ready(0));
+    }
+
+    @Test
+    void rejectsWrongSizeOrUnknownCode() {
+        MatchSession match = match(Difficulty.NORMAL);
+        assertFalse(match.placeShip(0, "PA", 1, 0, 0, false));
+        assertFalse(match.placeShip(0, "DT", 5, 0, 0, false));
+        assertFalse(match.placeShip(0, "ZZ", 2, 0, 0, false));
+        assertTrue(match.placeShip(0, "PA", 5, 0, 0, false));
+    }
+
+    @Test
+    void enforcesFleetMakeup() {
+        MatchSession normal = match(Difficulty.NORMAL);
+        assertTrue(normal.placeShip(0, "SM", 3, 0, 0, false));
+        assertFalse(normal.placeShip(0, "SM", 3, 1, 0, false));
+
+        // EASY: un solo barco repetido, y nunca el Destructor
+        MatchSession easy = match(Difficulty.EASY);
+        assertTrue(easy.placeShip(0, "DT", 2, 0, 0, false));
+        assertFalse(easy.placeShip(0, "DT", 2, 1, 0, false));
+        assertTrue(easy.placeShip(0, "SM", 3, 2, 0, false));
+        assertTrue(easy.placeShip(0, "SM", 3, 3, 0, false));
+        assertFalse(easy.placeShip(0, "SM", 3, 4, 0, false));
+        assertTrue(easy.placeShip(0, "PA", 5, 4, 0, false));
+        assertFalse(easy.placeShip(0, "PA", 5, 5, 0, false));
+        assertTrue(easy.placeShip(0, "AZ", 4, 5, 0, false));
+        assertTrue(easy.ready(0));
+    }
+
+    @Test
+    void fullFleetStartsTheBattle() {
+        MatchSession match = match(Difficulty.EXPERT);
+        for (int seat = 0; seat < 2; seat++) {
+            assertTrue(match.placeShip(seat, "PA", 5, 0, 0, false));
+            assertTrue(match.placeShip(seat, "DT", 2, 2, 0, true));
+            assertFalse(match.placeShip(seat, "SM", 3, 5, 0, false));
+            assertTrue(match.ready(seat));
+        }
+        assertFalse(match.isPlacementPhase());
+    }
+}
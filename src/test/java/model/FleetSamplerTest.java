@@ -0,0 +1,99 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el conteo del sampler contra la enumeración por fuerza bruta y revisa que el muestreo
+ * sea uniforme sobre todas las configuraciones posibles.
+ */
+class FleetSamplerTest {
+
+    // Barco de 2 hundido en (4,2)-(4,3): las celdas fijas que rodean al resto de la flota
+    private static final long FIXED = BitBoard.shipMask(2, 4, 2, false);
+
+    @Test
+    void countMatchesBruteForce() {
+        FleetSampler sampler = new FleetSampler();
+        for (int[] sizes : new int[][]{{3, 2}, {5, 3, 2}, {4, 3, 3}, {5, 4, 3, 2}}) {
+            assertEquals(brute(FIXED, sizes, 0), sampler.count(FIXED, sizes, sizes.length));
+            assertEquals(brute(0L, sizes, 0), sampler.count(0L, sizes, sizes.length));
+        }
+    }
+
+    @Test
+    void sampleIsUniform() {
+        int[] sizes = {3, 2};
+        long configs = brute(FIXED, sizes, 0);
+        int samples = 2_000_000;
+
+        FleetSampler sampler = new FleetSampler();
+        Random rand = new Random(5);
+        int[] out = new int[sizes.length];
+        Map<Long, Integer> seen = new HashMap<>();
+        for (int i = 0; i < samples; i++) {
+            assertTrue(sampler.sample(FIXED, sizes, sizes.length, rand, out));
+            long first = Placements.mask(sizes[0], out[0]);
+            long second = Placements.mask(sizes[1], out[1]);
+            assertEquals(0L, first & FIXED);
+            assertEquals(0L, second & (FIXED | first));
+            seen.merge(((long) out[0] << 32) | out[1], 1, Integer::sum);
+        }
+
+        // Cada configuración sale ~mean veces; ±35% son más de 5 desvíos estándar
+        assertEquals(configs, seen.size());
+        double mean = (double) samples / configs;
+        for (int hits : seen.values()) {
+            assertTrue(hits > mean * 0.65 && hits < mean * 1.35, "configuración con " + hits + " apariciones");
+        }
+    }
+
+    @Test
+    void countsAreSharedAcrossSamplersAndThreads() throws InterruptedException {
+        int[] sizes = {5, 4, 3, 3, 2};
+        long expected = new FleetSampler().count(FIXED, sizes, sizes.length);
+
+        long[] other = new long[1];
+        Thread thread = new Thread(() -> other[0] = new FleetSampler().count(FIXED, sizes, sizes.length));
+        thread.start();
+        thread.join();
+        assertEquals(expected, other[0]);
+
+        FleetSampler sampler = new FleetSampler();
+        int[] out = new int[sizes.length];
+        assertTrue(sampler.sample(FIXED, sizes, sizes.length, new Random(1), out));
+        long occupied = FIXED;
+        for (int k = 0; k < sizes.length; k++) {
+            long mask = Placements.mask(sizes[k], out[k]);
+            assertEquals(0L, mask & occupied);
+            occupied |= mask;
+        }
+    }
+
+    @Test
+    void impossibleFleetCannotBeSampled() {
+        long full = ~0L;
+        FleetSampler sampler = new FleetSampler();
+        assertEquals(0L, sampler.count(full, new int[]{2}, 1));
+        assertFalse(sampler.sample(full, new int[]{2}, 1, new Random(1), new int[1]));
+    }
+
+    private static long brute(long occupied, int[] sizes, int k) {
+        if (k == sizes.length) return 1;
+        long total = 0;
+        for (int i = 0; i < Placements.count(sizes[k]); i++) {
+            long mask = Placements.mask(sizes[k], i);
+            if ((mask & occupied) == 0) {
+                total += brute(occupied | mask, sizes, k + 1);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,123 @@
+package store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Journal de cuentas: lo escrito sobrevive a reabrir y un final cortado o dañado se descarta sin
+ * perder los registros anteriores.
+ */
+class PlayerJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopen() throws IOException {
+        Path file = dir.resolve("players.journal");
+        try (PlayerJournal journal = PlayerJournal.open(file, null)) {
+            journal.registered("ana", "a");
+            journal.registered("bob", "b");
+            journal.pointsChanged("ana", 6);
+            journal.gameAdded("bob", "bob perdió");
+            journal.renamed("bob", "beto");
+            journal.passwordChanged("ana", "nueva");
+        }
+
+        SnapshotState state = new SnapshotState();
+        PlayerJournal.open(file, state).close();
+        List<SnapshotState.Record> records = state.records();
+        assertEquals(2, records.size());
+        assertEquals("ana", records.get(0).username);
+        assertEquals("nueva", records.get(0).password);
+        assertEquals(6, records.get(0).points);
+        assertEquals("beto", records.get(1).username);
+        assertEquals("bob perdió", records.get(1).lastGames[0]);
+    }
+
+    @Test
+    void truncatedTailIsDropped() throws IOException {
+        Path file = dir.resolve("players.journal");
+        long validEnd = writeThreeRecords(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+        assertTailDropped(file, validEnd);
+    }
+
+    @Test
+    void corruptedTailIsDropped() throws IOException {
+        Path file = dir.resolve("players.journal");
+        long validEnd = writeThreeRecords(file);
+        // Un byte de los datos del último registro: el CRC ya no coincide
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, validEnd + 6);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, validEnd + 6);
+        }
+        assertTailDropped(file, validEnd);
+    }
+
+    @Test
+    void garbageAfterLastRecordIsDropped() throws IOException {
+        Path file = dir.resolve("players.journal");
+        try (PlayerJournal journal = PlayerJournal.open(file, null)) {
+            journal.registered("ana", "a");
+        }
+        long validEnd = Files.size(file);
+        Files.write(file, new byte[]{0x7F, 0x00, 0x00, 0x01, 9, 9}, StandardOpenOption.APPEND);
+
+        SnapshotState state = new SnapshotState();
+        PlayerJournal.open(file, state).close();
+        assertEquals(1, state.records().size());
+        assertEquals(validEnd, Files.size(file));
+    }
+
+    /**
+     * Registra ana y bob y le da puntos a bob
+     * @return dónde termina el segundo registro (el tercero es el que se daña)
+     */
+    private static long writeThreeRecords(Path file) throws IOException {
+        long validEnd;
+        try (PlayerJournal journal = PlayerJournal.open(file, null)) {
+            journal.registered("ana", "a");
+            journal.registered("bob", "b");
+            journal.sync();
+            validEnd = Files.size(file);
+            journal.pointsChanged("bob", 9);
+        }
+        return validEnd;
+    }
+
+    /**
+     * Al reabrir quedan los dos primeros registros, el archivo se trunca donde terminan y lo que
+     * se agregue después vuelve a leerse
+     */
+    private static void assertTailDropped(Path file, long validEnd) throws IOException {
+        SnapshotState state = new SnapshotState();
+        try (PlayerJournal journal = PlayerJournal.open(file, state)) {
+            assertEquals(validEnd, Files.size(file));
+            journal.gameAdded("ana", "ana ganó");
+        }
+        List<SnapshotState.Record> records = state.records();
+        assertEquals(2, records.size());
+        assertEquals(0, records.get(1).points);
+
+        SnapshotState reopened = new SnapshotState();
+        PlayerJournal.open(file, reopened).close();
+        assertEquals("ana ganó", reopened.records().get(0).lastGames[0]);
+        assertNull(reopened.records().get(1).lastGames[0]);
+    }
+}
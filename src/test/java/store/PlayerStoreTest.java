@@ -0,0 +1,91 @@
+package store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Carpeta de datos: compactar mientras se siguen agregando eventos no pierde ninguno
+ */
+class PlayerStoreTest {
+
+    private static final int PLAYERS = 50;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compactionDuringAppendsKeepsEverything() throws Exception {
+        int[] points = new int[PLAYERS];
+        String[] lastGame = new String[PLAYERS];
+        try (PlayerStore store = PlayerStore.open(dir, new SnapshotState())) {
+            for (int i = 0; i < PLAYERS; i++) {
+                store.registered("p" + i, "x");
+            }
+
+            AtomicBoolean stop = new AtomicBoolean();
+            Thread writer = new Thread(() -> {
+                for (int k = 0; !stop.get() || k < 20_000; k++) {
+                    int i = k % PLAYERS;
+                    points[i] = k;
+                    store.pointsChanged("p" + i, k);
+                    if (k % 7 == 0) {
+                        lastGame[i] = "partida " + k;
+                        store.gameAdded("p" + i, lastGame[i]);
+                    }
+                }
+            });
+            writer.start();
+            for (int c = 0; c < 5; c++) {
+                store.compact();
+            }
+            stop.set(true);
+            writer.join();
+
+            // Un renombre justo antes de la última compactación también debe quedar
+            store.renamed("p0", "cero");
+            store.compact();
+        }
+
+        SnapshotState state = new SnapshotState();
+        PlayerStore.open(dir, state).close();
+        List<SnapshotState.Record> records = state.records();
+        assertEquals(PLAYERS, records.size());
+        for (int i = 0; i < PLAYERS; i++) {
+            SnapshotState.Record record = records.get(i);
+            assertEquals(i == 0 ? "cero" : "p" + i, record.username);
+            assertEquals(points[i], record.points);
+            assertEquals(lastGame[i], record.lastGames[0]);
+        }
+    }
+
+    @Test
+    void compactionLeavesOnlyTheNewGeneration() throws IOException {
+        try (PlayerStore store = PlayerStore.open(dir, new SnapshotState())) {
+            store.registered("ana", "a");
+            store.compact();
+            store.registered("bob", "b");
+            store.compact();
+            store.deleted("ana");
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("players-2.journal", "players-2.snapshot"),
+                    files.map(f -> f.getFileName().toString()).sorted().toList());
+        }
+
+        SnapshotState state = new SnapshotState();
+        PlayerStore.open(dir, state).close();
+        assertEquals(1, state.records().size());
+        assertEquals("bob", state.records().get(0).username);
+        assertNull(state.records().get(0).lastGames[0]);
+    }
+}